@@ -0,0 +1,68 @@
+package io.atomicbits.scraml.benchmarks;
+
+import io.atomicbits.scraml.json.RamlDates;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and formatting the rfc3339 "created" and rfc2616 "If-Modified-Since" values of zoo.json with the
+ * DateTimeFormatter against {@link RamlDates}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateBenchmark {
+
+    private final String created = "2016-02-28T16:41:41.090Z";
+
+    private final String ifModifiedSince = "Sun, 28 Feb 2016 16:41:41 GMT";
+
+    private final OffsetDateTime dateTime = OffsetDateTime.parse(created);
+
+    @Benchmark
+    public OffsetDateTime parseRfc3339WithFormatter() {
+        return OffsetDateTime.parse(created, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+    @Benchmark
+    public OffsetDateTime parseRfc3339() {
+        return RamlDates.parseRfc3339(created);
+    }
+
+    @Benchmark
+    public OffsetDateTime parseRfc2616WithFormatter() {
+        return OffsetDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME);
+    }
+
+    @Benchmark
+    public OffsetDateTime parseRfc2616() {
+        return RamlDates.parseRfc2616(ifModifiedSince);
+    }
+
+    @Benchmark
+    public String formatRfc3339WithFormatter() {
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(dateTime);
+    }
+
+    @Benchmark
+    public String formatRfc3339() {
+        return RamlDates.formatRfc3339(dateTime);
+    }
+
+    @Benchmark
+    public String formatRfc2616WithFormatter() {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(dateTime);
+    }
+
+    @Benchmark
+    public String formatRfc2616() {
+        return RamlDates.formatRfc2616(dateTime);
+    }
+
+}
@@ -0,0 +1,85 @@
+package io.atomicbits.scraml.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.atomicbits.raml10.Animal;
+import io.atomicbits.raml10.Geometry;
+import io.atomicbits.raml10.ManyFields;
+import io.atomicbits.raml10.User;
+import io.atomicbits.raml10.Zoo;
+import io.atomicbits.scraml.json.ModelModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialization cost of the generated model classes, including the polymorphic Animal and Geometry hierarchies.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeserializationBenchmark {
+
+    /**
+     * Compares the bean (de)serializers with the streaming ones of the ModelModule.
+     */
+    @Param({"false", "true"})
+    public boolean modelModule;
+
+    private static final TypeReference<List<Animal>> ANIMAL_LIST = new TypeReference<List<Animal>>() {
+    };
+
+    private static final TypeReference<List<Geometry>> GEOMETRY_LIST = new TypeReference<List<Geometry>>() {
+    };
+
+    private ObjectMapper objectMapper;
+    private byte[] userJson;
+    private byte[] zooJson;
+    private byte[] manyFieldsJson;
+    private byte[] animalsJson;
+    private byte[] geometriesJson;
+
+    @Setup
+    public void setUp() {
+        objectMapper = ModelModule.beanMapper();
+        if (modelModule) {
+            ModelModule.registerOn(objectMapper);
+        }
+        userJson = Fixtures.load("user.json");
+        zooJson = Fixtures.load("zoo.json");
+        manyFieldsJson = Fixtures.load("many-fields.json");
+        animalsJson = Fixtures.load("animals.json");
+        geometriesJson = Fixtures.load("geometries.json");
+    }
+
+    @Benchmark
+    public User readUser() throws IOException {
+        return objectMapper.readValue(userJson, User.class);
+    }
+
+    @Benchmark
+    public Zoo readZoo() throws IOException {
+        return objectMapper.readValue(zooJson, Zoo.class);
+    }
+
+    @Benchmark
+    public ManyFields readManyFields() throws IOException {
+        return objectMapper.readValue(manyFieldsJson, ManyFields.class);
+    }
+
+    @Benchmark
+    public List<Animal> readAnimalList() throws IOException {
+        return objectMapper.readValue(animalsJson, ANIMAL_LIST);
+    }
+
+    @Benchmark
+    public List<Geometry> readGeometryList() throws IOException {
+        return objectMapper.readValue(geometriesJson, GEOMETRY_LIST);
+    }
+
+}
@@ -0,0 +1,34 @@
+package io.atomicbits.scraml.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Loads the JSON payloads that the benchmarks (de)serialize.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static byte[] load(String name) {
+        String resource = "/io/atomicbits/scraml/benchmarks/" + name;
+        try (InputStream inputStream = Fixtures.class.getResourceAsStream(resource)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("Fixture not found: " + resource);
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+            return outputStream.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
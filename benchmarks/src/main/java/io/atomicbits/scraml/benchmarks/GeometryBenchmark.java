@@ -0,0 +1,66 @@
+package io.atomicbits.scraml.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.atomicbits.raml10.Geometry;
+import io.atomicbits.raml10.dsl.javajackson.json.Json;
+import io.atomicbits.scraml.geojson.PackedGeometry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The generated Geometry classes (nested lists of boxed doubles) against {@link PackedGeometry} on a polygon with
+ * many positions.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeometryBenchmark {
+
+    @Param({"1000", "100000"})
+    public int positions;
+
+    private ObjectMapper objectMapper;
+    private byte[] polygonJson;
+    private Geometry geometry;
+    private PackedGeometry packedGeometry;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Json.getObjectMapper();
+        StringBuilder json = new StringBuilder("{\"type\":\"Polygon\",\"coordinates\":[[");
+        for (int i = 0; i < positions; i++) {
+            double angle = 2 * Math.PI * i / positions;
+            json.append('[').append(4.4 + Math.cos(angle)).append(',').append(51.2 + Math.sin(angle)).append("],");
+        }
+        json.append("[5.4,51.2]]]}");
+        polygonJson = json.toString().getBytes("UTF-8");
+        geometry = objectMapper.readValue(polygonJson, Geometry.class);
+        packedGeometry = objectMapper.readValue(polygonJson, PackedGeometry.class);
+    }
+
+    @Benchmark
+    public Geometry readBoxed() throws IOException {
+        return objectMapper.readValue(polygonJson, Geometry.class);
+    }
+
+    @Benchmark
+    public PackedGeometry readPacked() throws IOException {
+        return objectMapper.readValue(polygonJson, PackedGeometry.class);
+    }
+
+    @Benchmark
+    public byte[] writeBoxed() throws IOException {
+        return objectMapper.writeValueAsBytes(geometry);
+    }
+
+    @Benchmark
+    public byte[] writePacked() throws IOException {
+        return objectMapper.writeValueAsBytes(packedGeometry);
+    }
+
+}
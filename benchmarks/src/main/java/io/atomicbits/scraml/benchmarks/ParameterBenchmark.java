@@ -0,0 +1,67 @@
+package io.atomicbits.scraml.benchmarks;
+
+import io.atomicbits.scraml.client.UrlEncoding;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding the query string of a GET on rest/user with URLEncoder per name and value against {@link UrlEncoding} with
+ * cached names, which is how Requests encodes the query and form parameters of every request. The generated resources
+ * hand the client already formatted values, so the date is a string here too.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParameterBenchmark {
+
+    private static final String[] NAMES = {"age", "b-day", "firstName", "lastName", "organization[]"};
+
+    private final List<?>[] values = new List<?>[]{
+            Arrays.asList("51"),
+            Arrays.asList("1978-05-25"),
+            Arrays.asList("John"),
+            Arrays.asList("Doe"),
+            Arrays.asList("ESA", "NASA", "Jet Propulsion Laboratory")
+    };
+
+    @Benchmark
+    public String urlEncoder() throws UnsupportedEncodingException {
+        StringBuilder encoded = new StringBuilder();
+        for (int i = 0; i < NAMES.length; i++) {
+            for (Object value : values[i]) {
+                if (encoded.length() > 0) {
+                    encoded.append('&');
+                }
+                encoded.append(URLEncoder.encode(NAMES[i], "UTF-8"))
+                        .append('=')
+                        .append(URLEncoder.encode(value.toString(), "UTF-8").replace("+", "%20"));
+            }
+        }
+        return encoded.toString();
+    }
+
+    @Benchmark
+    public String urlEncoding() {
+        StringBuilder encoded = new StringBuilder(64);
+        for (int i = 0; i < NAMES.length; i++) {
+            String encodedName = UrlEncoding.encodeName(NAMES[i]);
+            for (Object value : values[i]) {
+                if (encoded.length() > 0) {
+                    encoded.append('&');
+                }
+                encoded.append(encodedName).append('=');
+                UrlEncoding.appendEncoded(encoded, value.toString());
+            }
+        }
+        return encoded.toString();
+    }
+
+}
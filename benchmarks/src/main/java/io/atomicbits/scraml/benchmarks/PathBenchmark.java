@@ -0,0 +1,42 @@
+package io.atomicbits.scraml.benchmarks;
+
+import io.atomicbits.scraml.client.PathTemplate;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Naming the endpoint of a request path by matching it against precompiled {@link PathTemplate}s, first match wins,
+ * as EndpointNamer.byTemplates does for every request the metrics, JFR, limiting and retry clients see. Run with
+ * -prof gc to check that matching allocates nothing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PathBenchmark {
+
+    private static final PathTemplate[] TEMPLATES = {
+            PathTemplate.compile("rest/animals"),
+            PathTemplate.compile("rest/zoo"),
+            PathTemplate.compile("rest/user"),
+            PathTemplate.compile("rest/user/{userid}"),
+            PathTemplate.compile("books")
+    };
+
+    @Param({"rest/user/foobar", "rest/user/john%20doe", "rest/unknown"})
+    public String path;
+
+    @Benchmark
+    public PathTemplate firstMatch() {
+        for (PathTemplate template : TEMPLATES) {
+            if (template.matches(path)) {
+                return template;
+            }
+        }
+        return null;
+    }
+
+}
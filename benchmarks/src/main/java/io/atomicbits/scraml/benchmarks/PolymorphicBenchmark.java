@@ -0,0 +1,71 @@
+package io.atomicbits.scraml.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.atomicbits.raml10.Animal;
+import io.atomicbits.raml10.Book;
+import io.atomicbits.raml10.Geometry;
+import io.atomicbits.scraml.json.DiscriminatorModule;
+import io.atomicbits.scraml.json.ModelModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson's polymorphic type handling against the discriminator-first deserializers, on lists that mix objects with
+ * the discriminator first and last.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PolymorphicBenchmark {
+
+    private static final TypeReference<List<Animal>> ANIMAL_LIST = new TypeReference<List<Animal>>() {
+    };
+
+    private static final TypeReference<List<Geometry>> GEOMETRY_LIST = new TypeReference<List<Geometry>>() {
+    };
+
+    private static final TypeReference<List<Book>> BOOK_LIST = new TypeReference<List<Book>>() {
+    };
+
+    @Param({"false", "true"})
+    public boolean discriminatorFirst;
+
+    private ObjectMapper objectMapper;
+    private byte[] animalsJson;
+    private byte[] geometriesJson;
+    private byte[] booksJson;
+
+    @Setup
+    public void setUp() {
+        objectMapper = ModelModule.beanMapper();
+        if (discriminatorFirst) {
+            DiscriminatorModule.registerOn(objectMapper);
+        }
+        animalsJson = Fixtures.load("animals.json");
+        geometriesJson = Fixtures.load("geometries.json");
+        booksJson = Fixtures.load("books.json");
+    }
+
+    @Benchmark
+    public List<Animal> readAnimals() throws IOException {
+        return objectMapper.readValue(animalsJson, ANIMAL_LIST);
+    }
+
+    @Benchmark
+    public List<Geometry> readGeometries() throws IOException {
+        return objectMapper.readValue(geometriesJson, GEOMETRY_LIST);
+    }
+
+    @Benchmark
+    public List<Book> readBooks() throws IOException {
+        return objectMapper.readValue(booksJson, BOOK_LIST);
+    }
+
+}
@@ -0,0 +1,73 @@
+package io.atomicbits.scraml.benchmarks;
+
+import io.atomicbits.raml10.RamlTestClient;
+import io.atomicbits.raml10.User;
+import io.atomicbits.raml10.dsl.javajackson.DateOnly;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import io.atomicbits.raml10.rest.user.UserResource;
+import io.atomicbits.raml10.rest.user.userid.UseridResource;
+import io.atomicbits.scraml.json.ModelModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Request building through the generated resource DSL, on its own and as a full round trip against a local stub.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestBenchmark {
+
+    private StubServer stubServer;
+    private RamlTestClient client;
+    private DateOnly birthday;
+    private List<String> organizations;
+
+    @Setup
+    public void setUp() throws IOException {
+        stubServer = new StubServer(Fixtures.load("user.json"));
+        ClientConfig config = new ClientConfig();
+        config.setRequestCharset(Charset.forName("UTF-8"));
+        // The generated default factory does not register the streaming codecs, the client factories of this project do.
+        ModelModule.registerShared();
+        client = new RamlTestClient("localhost", stubServer.getPort(), "http", null, config, new HashMap<>());
+        birthday = new DateOnly(LocalDate.parse("1978-05-25"));
+        organizations = Arrays.asList("ESA", "NASA");
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        stubServer.close();
+    }
+
+    @Benchmark
+    public UseridResource navigateToUserid() {
+        return client.rest.user.userid("foobar");
+    }
+
+    @Benchmark
+    public UseridResource navigateWithHeaders() {
+        return client.rest.setHeader("Accept", "*/*").user.setHeader("Accept", "foo/bar").userid("foobar");
+    }
+
+    @Benchmark
+    public Response<User> userResourceGet() throws InterruptedException, ExecutionException, TimeoutException {
+        UserResource userResource = client.rest.user;
+        return userResource.get(51L, birthday, "John", null, organizations).get(10, TimeUnit.SECONDS);
+    }
+
+}
@@ -0,0 +1,62 @@
+package io.atomicbits.scraml.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.atomicbits.raml10.ManyFields;
+import io.atomicbits.raml10.User;
+import io.atomicbits.raml10.Zoo;
+import io.atomicbits.scraml.json.ModelModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of the generated model classes through the shared object mapper.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    /**
+     * Compares the bean (de)serializers with the streaming ones of the ModelModule.
+     */
+    @Param({"false", "true"})
+    public boolean modelModule;
+
+    private ObjectMapper objectMapper;
+    private User user;
+    private Zoo zoo;
+    private ManyFields manyFields;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = ModelModule.beanMapper();
+        if (modelModule) {
+            ModelModule.registerOn(objectMapper);
+        }
+        user = objectMapper.readValue(Fixtures.load("user.json"), User.class);
+        zoo = objectMapper.readValue(Fixtures.load("zoo.json"), Zoo.class);
+        manyFields = objectMapper.readValue(Fixtures.load("many-fields.json"), ManyFields.class);
+    }
+
+    @Benchmark
+    public byte[] writeUser() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] writeZoo() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(zoo);
+    }
+
+    @Benchmark
+    public byte[] writeManyFields() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(manyFields);
+    }
+
+}
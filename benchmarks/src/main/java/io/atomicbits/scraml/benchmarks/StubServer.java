@@ -0,0 +1,51 @@
+package io.atomicbits.scraml.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal in-process HTTP server that answers every request with the same JSON body, so that round-trip benchmarks
+ * measure the client and not a mocking framework.
+ */
+final class StubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    StubServer(final byte[] responseBody) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        executor = Executors.newFixedThreadPool(4);
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            try (InputStream requestBody = exchange.getRequestBody()) {
+                byte[] drain = new byte[4096];
+                while (requestBody.read(drain) != -1) {
+                    // discard
+                }
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(200, responseBody.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(responseBody);
+            }
+        });
+        server.start();
+    }
+
+    int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+}
@@ -0,0 +1,49 @@
+package io.atomicbits.scraml.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import io.atomicbits.raml10.Animal;
+import io.atomicbits.raml10.dsl.javajackson.json.Json;
+import io.atomicbits.scraml.json.JsonCodecs;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a short List&lt;Animal&gt; body the way typed responses were decoded, resolving the canonical type name
+ * on every call, against a cached {@link JsonCodecs} reader.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TypeResolutionBenchmark {
+
+    private static final String ANIMAL_LIST = "java.util.List<io.atomicbits.raml10.Animal>";
+
+    private final String body = "[{\"_type\":\"Dog\",\"canBark\":true,\"gender\":\"female\",\"name\":\"Ziva\"}]";
+
+    private final byte[] bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+
+    @Benchmark
+    public List<Animal> resolvedPerCall() throws IOException {
+        JavaType type = TypeFactory.defaultInstance().constructFromCanonical(ANIMAL_LIST);
+        return Json.getObjectMapper().readValue(body, type);
+    }
+
+    @Benchmark
+    public List<Animal> cachedReader() throws IOException {
+        return JsonCodecs.reader(ANIMAL_LIST).readValue(body);
+    }
+
+    @Benchmark
+    public List<Animal> cachedReaderFromBytes() throws IOException {
+        return JsonCodecs.reader(ANIMAL_LIST).readValue(bodyBytes);
+    }
+
+}
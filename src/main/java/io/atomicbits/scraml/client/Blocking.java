@@ -0,0 +1,55 @@
+package io.atomicbits.scraml.client;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Synchronous calls on top of the CompletableFuture-based resource methods, without the checked exceptions of
+ * Future.get:
+ * <pre>
+ *     Response&lt;List&lt;Animal&gt;&gt; animals = Blocking.await(client.rest.animals.get());
+ * </pre>
+ * With a blocking client (see JdkHttpClientFactory.blocking()) the future is already complete and await returns right
+ * away. Waiting is interruptible and parks the thread, it does not pin the carrier of a virtual thread.
+ */
+public final class Blocking {
+
+    private Blocking() {
+    }
+
+    /**
+     * Waits for the call and returns its result. A failed call rethrows its cause: runtime exceptions and errors as
+     * they are, IOExceptions as UncheckedIOException. An interrupted wait cancels the call, keeps the interrupt flag
+     * set and throws CancellationException. The request timeout of the client config bounds the wait.
+     */
+    public static <T> T await(CompletableFuture<T> call) {
+        try {
+            return call.get();
+        } catch (InterruptedException e) {
+            call.cancel(true);
+            Thread.currentThread().interrupt();
+            CancellationException cancelled = new CancellationException("Interrupted while waiting for the response");
+            cancelled.initCause(e);
+            throw cancelled;
+        } catch (ExecutionException e) {
+            throw unchecked(e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    private static RuntimeException unchecked(Throwable failure) {
+        if (failure instanceof RuntimeException) {
+            return (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure instanceof IOException) {
+            return new UncheckedIOException((IOException) failure);
+        }
+        return new IllegalStateException(failure);
+    }
+
+}
@@ -0,0 +1,152 @@
+package io.atomicbits.scraml.client;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads a string as bytes in the given charset, encoding it straight into the reader's buffer, so that a request body
+ * rendered to a string is not also held as one big byte array while it is sent. UTF-8 takes a fast path that encodes
+ * char by char; other charsets go through a CharsetEncoder. Like String.getBytes, malformed and unmappable chars are
+ * replaced.
+ */
+public final class EncodingInputStream extends InputStream {
+
+    private static final int SCRATCH_SIZE = 16;
+
+    private final String value;
+    private final CharsetEncoder encoder;
+    private final CharBuffer chars;
+    private final ByteBuffer scratch = ByteBuffer.allocate(SCRATCH_SIZE);
+    private int index;
+    private boolean flushed;
+
+    public EncodingInputStream(String value, Charset charset) {
+        this.value = value;
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            this.encoder = null;
+            this.chars = null;
+        } else {
+            this.encoder =
+                    charset.newEncoder()
+                            .onMalformedInput(CodingErrorAction.REPLACE)
+                            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.chars = CharBuffer.wrap(value);
+        }
+        scratch.flip();
+    }
+
+    /**
+     * The number of bytes the value encodes to. For UTF-8 and single-byte charsets it is computed without encoding,
+     * for other charsets the value is encoded once without keeping the bytes.
+     */
+    public static long encodedLength(String value, Charset charset) {
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return Requests.utf8Length(value);
+        }
+        CharsetEncoder encoder = charset.newEncoder();
+        if (encoder.maxBytesPerChar() == 1.0f) {
+            return value.codePointCount(0, value.length()); // a surrogate pair is replaced by a single byte
+        }
+        EncodingInputStream in = new EncodingInputStream(value, charset);
+        byte[] discard = new byte[8 * 1024];
+        long length = 0;
+        for (int n = in.read(discard, 0, discard.length); n >= 0; n = in.read(discard, 0, discard.length)) {
+            length += n;
+        }
+        return length;
+    }
+
+    @Override
+    public int read() {
+        byte[] one = new byte[1];
+        return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        int read = drainScratch(bytes, offset, length);
+        if (read < length) {
+            read += encode(bytes, offset + read, length - read);
+        }
+        if (read == 0) {
+            // Too little room to encode the next char directly, or the end.
+            scratch.clear();
+            scratch.limit(encode(scratch.array(), 0, SCRATCH_SIZE));
+            read = drainScratch(bytes, offset, length);
+        }
+        return read == 0 ? -1 : read;
+    }
+
+    private int drainScratch(byte[] bytes, int offset, int length) {
+        int n = Math.min(scratch.remaining(), length);
+        scratch.get(bytes, offset, n);
+        return n;
+    }
+
+    private int encode(byte[] bytes, int offset, int length) {
+        return encoder == null ? encodeUtf8(bytes, offset, length) : encodeCharset(bytes, offset, length);
+    }
+
+    private int encodeUtf8(byte[] bytes, int offset, int length) {
+        int position = offset;
+        int end = offset + length;
+        int valueLength = value.length();
+        while (index < valueLength && position < end) {
+            char c = value.charAt(index);
+            if (c < 0x80) {
+                bytes[position++] = (byte) c;
+                index++;
+                continue;
+            }
+            if (end - position < 4) {
+                break;
+            }
+            if (c < 0x800) {
+                bytes[position++] = (byte) (0xC0 | (c >> 6));
+                bytes[position++] = (byte) (0x80 | (c & 0x3F));
+                index++;
+            } else if (Character.isSurrogate(c)) {
+                char low = index + 1 < valueLength ? value.charAt(index + 1) : 0;
+                if (Character.isHighSurrogate(c) && Character.isLowSurrogate(low)) {
+                    int codePoint = Character.toCodePoint(c, low);
+                    bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                    index += 2;
+                } else {
+                    bytes[position++] = '?';
+                    index++;
+                }
+            } else {
+                bytes[position++] = (byte) (0xE0 | (c >> 12));
+                bytes[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[position++] = (byte) (0x80 | (c & 0x3F));
+                index++;
+            }
+        }
+        return position - offset;
+    }
+
+    private int encodeCharset(byte[] bytes, int offset, int length) {
+        if (flushed) {
+            return 0;
+        }
+        ByteBuffer target = ByteBuffer.wrap(bytes, offset, length);
+        CoderResult result = encoder.encode(chars, target, true);
+        if (result.isUnderflow()) {
+            flushed = encoder.flush(target).isUnderflow();
+        }
+        return target.position() - offset;
+    }
+
+}
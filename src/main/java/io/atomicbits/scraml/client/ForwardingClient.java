@@ -0,0 +1,77 @@
+package io.atomicbits.scraml.client;
+
+import io.atomicbits.raml10.dsl.javajackson.BinaryData;
+import io.atomicbits.raml10.dsl.javajackson.Client;
+import io.atomicbits.raml10.dsl.javajackson.RequestBuilder;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Client that forwards all calls to a delegate client. Decorators extend it and only override the calls they act on.
+ */
+public abstract class ForwardingClient implements Client {
+
+    private final Client delegate;
+
+    protected ForwardingClient(Client delegate) {
+        this.delegate = delegate;
+    }
+
+    protected Client getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public ClientConfig getConfig() {
+        return delegate.getConfig();
+    }
+
+    @Override
+    public Map<String, String> getDefaultHeaders() {
+        return delegate.getDefaultHeaders();
+    }
+
+    @Override
+    public String getHost() {
+        return delegate.getHost();
+    }
+
+    @Override
+    public int getPort() {
+        return delegate.getPort();
+    }
+
+    @Override
+    public String getProtocol() {
+        return delegate.getProtocol();
+    }
+
+    @Override
+    public String getPrefix() {
+        return delegate.getPrefix();
+    }
+
+    @Override
+    public CompletableFuture<Response<String>> callToStringResponse(RequestBuilder request, String body) {
+        return delegate.callToStringResponse(request, body);
+    }
+
+    @Override
+    public CompletableFuture<Response<BinaryData>> callToBinaryResponse(RequestBuilder request, String body) {
+        return delegate.callToBinaryResponse(request, body);
+    }
+
+    @Override
+    public <R> CompletableFuture<Response<R>> callToTypeResponse(RequestBuilder request, String body, String canonicalResponseType) {
+        return delegate.callToTypeResponse(request, body, canonicalResponseType);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+}
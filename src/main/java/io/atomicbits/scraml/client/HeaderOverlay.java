@@ -0,0 +1,70 @@
+package io.atomicbits.scraml.client;
+
+import io.atomicbits.raml10.dsl.javajackson.BinaryRequest;
+import io.atomicbits.raml10.dsl.javajackson.BodyPart;
+import io.atomicbits.raml10.dsl.javajackson.HeaderMap;
+import io.atomicbits.raml10.dsl.javajackson.HttpParam;
+import io.atomicbits.raml10.dsl.javajackson.Method;
+import io.atomicbits.raml10.dsl.javajackson.RequestBuilder;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A request that reads as the original one, except for its own header map: a copy of the original headers with some
+ * headers set on top. See {@link Requests#withHeaders(RequestBuilder, Map)}.
+ */
+final class HeaderOverlay extends RequestBuilder {
+
+    private final RequestBuilder original;
+    private final HeaderMap headerMap;
+
+    HeaderOverlay(RequestBuilder original, Map<String, String> headers) {
+        this.original = original;
+        this.headerMap = new HeaderMap();
+        for (Map.Entry<String, List<String>> header : original.getHeaderMap().getHeaders().entrySet()) {
+            if (header.getValue() != null && !header.getValue().isEmpty()) {
+                headerMap.setHeader(header.getKey(), String.join(", ", header.getValue()));
+            }
+        }
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            headerMap.setHeader(header.getKey(), header.getValue());
+        }
+    }
+
+    @Override
+    public String getRelativePath() {
+        return original.getRelativePath();
+    }
+
+    @Override
+    public Map<String, HttpParam> getQueryParameters() {
+        return original.getQueryParameters();
+    }
+
+    @Override
+    public Map<String, HttpParam> getFormParameters() {
+        return original.getFormParameters();
+    }
+
+    @Override
+    public HeaderMap getHeaderMap() {
+        return headerMap;
+    }
+
+    @Override
+    public Method getMethod() {
+        return original.getMethod();
+    }
+
+    @Override
+    public BinaryRequest getBinaryRequest() {
+        return original.getBinaryRequest();
+    }
+
+    @Override
+    public List<BodyPart> getMultipartParams() {
+        return original.getMultipartParams();
+    }
+
+}
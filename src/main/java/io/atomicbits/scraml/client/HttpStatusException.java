@@ -0,0 +1,30 @@
+package io.atomicbits.scraml.client;
+
+import java.io.IOException;
+
+/**
+ * Signals a response without a 2xx status where only a successful response can be consumed, such as a streamed body.
+ */
+public class HttpStatusException extends IOException {
+
+    private final int status;
+    private final String body;
+
+    public HttpStatusException(int status, String body) {
+        super("Unexpected response status " + status);
+        this.status = status;
+        this.body = body;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * The (possibly truncated) body of the response.
+     */
+    public String getBody() {
+        return body;
+    }
+
+}
@@ -0,0 +1,163 @@
+package io.atomicbits.scraml.client;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.scraml.json.BinaryFormat;
+import io.atomicbits.scraml.json.JsonCodecs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * A response that keeps its body as it was received and decodes it only when it is asked for, at most once. Callers
+ * that only look at the status and headers never pay for decoding.
+ * <p>
+ * As with {@link Responses#typed}, only the body of a successful response is decoded into the response type; any
+ * other response has a null body, and its string body is only decoded when getStringBody is called. A body that
+ * cannot be decoded makes getBody throw an UncheckedIOException, each time it is called, instead of failing the call.
+ */
+public class LazyResponse<T> extends Response<T> {
+
+    private final byte[] bytes;
+    private final Charset charset;
+    private final String canonicalType;
+    private final BinaryFormat format;
+
+    private volatile String stringBody;
+    private volatile boolean decoded;
+    private LongConsumer decodeListener;
+    private T body;
+    private IOException failure;
+
+    private LazyResponse(byte[] bytes,
+                         Charset charset,
+                         String stringBody,
+                         String canonicalType,
+                         BinaryFormat format,
+                         int status,
+                         Map<String, List<String>> headers) {
+        super(null, null, status, headers);
+        this.bytes = bytes;
+        this.charset = charset;
+        this.stringBody = stringBody;
+        this.canonicalType = canonicalType;
+        this.format = format;
+    }
+
+    /**
+     * A response with a body of the given canonical type (as passed to Client.callToTypeResponse), or with the string
+     * body as its body when the type is null.
+     */
+    public static <T> LazyResponse<T> ofBytes(byte[] bytes,
+                                              Charset charset,
+                                              String canonicalType,
+                                              int status,
+                                              Map<String, List<String>> headers) {
+        return new LazyResponse<>(bytes, charset, null, canonicalType, null, status, headers);
+    }
+
+    /**
+     * A response whose string body is already decoded, with a body of the given canonical type.
+     */
+    public static <T> LazyResponse<T> ofString(String stringBody,
+                                               String canonicalType,
+                                               int status,
+                                               Map<String, List<String>> headers) {
+        return new LazyResponse<>(null, null, stringBody, canonicalType, null, status, headers);
+    }
+
+    /**
+     * A response with a Smile or CBOR body of the given canonical type. It has no string body.
+     */
+    public static <T> LazyResponse<T> ofBinary(byte[] bytes,
+                                               BinaryFormat format,
+                                               String canonicalType,
+                                               int status,
+                                               Map<String, List<String>> headers) {
+        return new LazyResponse<>(bytes, null, null, canonicalType, format, status, headers);
+    }
+
+    /**
+     * Has the listener called with the nanoseconds spent decoding the body into the response type, on the thread that
+     * first asks for it, e.g. to time decoding apart from the request. It is not called when the body was decoded
+     * already, is never asked for, or is not decoded because the response is not a success. Listeners added by
+     * stacked clients are all called, in the order they were added.
+     */
+    public synchronized void onDecode(LongConsumer listener) {
+        decodeListener = decodeListener == null ? listener : decodeListener.andThen(listener);
+    }
+
+    /**
+     * The size of the body in bytes as it was received, without decoding it. A response made from a string body counts
+     * the UTF-8 length of that string.
+     */
+    public long getBodyLength() {
+        if (bytes != null) {
+            return bytes.length;
+        }
+        return stringBody == null ? -1L : Requests.utf8Length(stringBody);
+    }
+
+    @Override
+    public String getStringBody() {
+        String decodedString = stringBody;
+        if (decodedString == null && bytes != null && format == null) {
+            synchronized (this) {
+                if (stringBody == null) {
+                    stringBody = new String(bytes, charset);
+                }
+                decodedString = stringBody;
+            }
+        }
+        return decodedString;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T getBody() {
+        if (canonicalType == null) {
+            return (T) getStringBody();
+        }
+        if (!decoded) {
+            synchronized (this) {
+                if (!decoded) {
+                    long decodeStart = System.nanoTime();
+                    decode();
+                    decoded = true;
+                    LongConsumer listener = decodeListener;
+                    if (listener != null && Responses.isSuccess(getStatus())) {
+                        listener.accept(System.nanoTime() - decodeStart);
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+        return body;
+    }
+
+    private void decode() {
+        if (!Responses.isSuccess(getStatus())) {
+            return;
+        }
+        ObjectReader reader = format != null ? format.reader(canonicalType) : JsonCodecs.reader(canonicalType);
+        try {
+            if (bytes != null && (format != null || StandardCharsets.UTF_8.equals(charset))) {
+                // Jackson decodes UTF-8 itself, the body never becomes a string unless asked for.
+                body = bytes.length == 0 ? null : reader.readValue(bytes);
+            } else {
+                String string = getStringBody();
+                body = string == null || string.isEmpty() ? null : reader.readValue(string);
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+package io.atomicbits.scraml.client;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable, precompiled RAML path such as "rest/user/{userid}", matched against the relative path of a request to
+ * name its endpoint, see EndpointNamer. The static segments are split and percent-encoded once, when the template is
+ * compiled, so matching a path allocates nothing. Compile a template once and keep it in a static field.
+ */
+public final class PathTemplate {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final String template;
+    private final String[] literals;
+    private final List<String> variables;
+
+    private PathTemplate(String template, String[] literals, List<String> variables) {
+        this.template = template;
+        this.literals = literals;
+        this.variables = Collections.unmodifiableList(variables);
+    }
+
+    /**
+     * Compiles a path with "{name}" variables. The literal parts are taken to be unencoded, each of their segments is
+     * percent-encoded here.
+     */
+    public static PathTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int index = 0;
+        while (index < template.length()) {
+            int open = template.indexOf('{', index);
+            if (open < 0) {
+                appendLiteral(literal, template.substring(index));
+                break;
+            }
+            int close = template.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed variable in path template '" + template + "'");
+            }
+            if (close == open + 1) {
+                throw new IllegalArgumentException("Unnamed variable in path template '" + template + "'");
+            }
+            appendLiteral(literal, template.substring(index, open));
+            literals.add(literal.toString());
+            literal.setLength(0);
+            variables.add(template.substring(open + 1, close));
+            index = close + 1;
+        }
+        literals.add(literal.toString());
+        return new PathTemplate(template, literals.toArray(new String[0]), variables);
+    }
+
+    /**
+     * The variable names in the order in which they appear in the path.
+     */
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Whether the given encoded path is an expansion of this template. Every variable matches one or more characters
+     * within a single path segment.
+     */
+    public boolean matches(String path) {
+        if (!path.startsWith(literals[0])) {
+            return false;
+        }
+        int index = literals[0].length();
+        for (int i = 1; i < literals.length; i++) {
+            String literal = literals[i];
+            int end;
+            if (i == literals.length - 1) {
+                end = path.length() - literal.length();
+                if (end <= index || !path.endsWith(literal)) {
+                    return false;
+                }
+            } else {
+                end = literal.isEmpty() ? index + 1 : path.indexOf(literal, index + 1);
+                if (end < 0) {
+                    return false;
+                }
+            }
+            int slash = path.indexOf('/', index);
+            if (slash >= 0 && slash < end) {
+                return false;
+            }
+            index = end + literal.length();
+        }
+        return index == path.length();
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    private static void appendLiteral(StringBuilder buffer, String literal) {
+        int start = 0;
+        for (int slash = literal.indexOf('/'); slash >= 0; slash = literal.indexOf('/', start)) {
+            encodeSegment(buffer, literal.substring(start, slash));
+            buffer.append('/');
+            start = slash + 1;
+        }
+        encodeSegment(buffer, literal.substring(start));
+    }
+
+    /**
+     * Percent-encodes everything but the RFC 3986 unreserved characters. Segments that need no encoding, the usual
+     * case, are appended as they are.
+     */
+    private static void encodeSegment(StringBuilder buffer, String segment) {
+        int length = segment.length();
+        int first = 0;
+        while (first < length && isUnreserved(segment.charAt(first))) {
+            first++;
+        }
+        if (first == length) {
+            buffer.append(segment);
+            return;
+        }
+        buffer.append(segment, 0, first);
+        byte[] bytes = segment.substring(first).getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            char c = (char) (b & 0xFF);
+            if (isUnreserved(c)) {
+                buffer.append(c);
+            } else {
+                buffer.append('%').append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            }
+        }
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+}
@@ -0,0 +1,177 @@
+package io.atomicbits.scraml.client;
+
+import io.atomicbits.raml10.dsl.javajackson.Client;
+import io.atomicbits.raml10.dsl.javajackson.HttpParam;
+import io.atomicbits.raml10.dsl.javajackson.RepeatedHttpParam;
+import io.atomicbits.raml10.dsl.javajackson.RequestBuilder;
+import io.atomicbits.raml10.dsl.javajackson.SingleHttpParam;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Turns a generated RequestBuilder into the URL, query string, form body and headers that go on the wire. Shared by
+ * the client implementations and decorators in this package, so that they all agree on what a request looks like.
+ */
+public final class Requests {
+
+    private Requests() {
+    }
+
+    public static String baseUrl(Client client) {
+        StringBuilder baseUrl = new StringBuilder();
+        baseUrl.append(client.getProtocol()).append("://").append(client.getHost()).append(":").append(client.getPort());
+        String prefix = client.getPrefix();
+        if (prefix != null && !prefix.isEmpty()) {
+            if (!prefix.startsWith("/")) {
+                baseUrl.append("/");
+            }
+            baseUrl.append(prefix.endsWith("/") ? prefix.substring(0, prefix.length() - 1) : prefix);
+        }
+        return baseUrl.toString();
+    }
+
+    /**
+     * The full request URL, including the query string.
+     */
+    public static String url(Client client, RequestBuilder request) {
+        return url(baseUrl(client), request);
+    }
+
+    /**
+     * The full request URL on top of a base URL that the caller computed once with {@link #baseUrl(Client)}.
+     */
+    public static String url(String baseUrl, RequestBuilder request) {
+        String relativePath = request.getRelativePath();
+        StringBuilder url = new StringBuilder(baseUrl.length() + relativePath.length() + 64);
+        url.append(baseUrl).append("/").append(relativePath);
+        String queryString = queryString(request);
+        if (!queryString.isEmpty()) {
+            url.append("?").append(queryString);
+        }
+        return url.toString();
+    }
+
+    public static String queryString(RequestBuilder request) {
+        return encodeParameters(request.getQueryParameters());
+    }
+
+    /**
+     * The application/x-www-form-urlencoded body of the request, empty when there are no form parameters.
+     */
+    public static String formBody(RequestBuilder request) {
+        return encodeParameters(request.getFormParameters());
+    }
+
+    /**
+     * The default headers of the client, overridden by the headers that were set on the request.
+     */
+    public static Map<String, List<String>> headers(Client client, RequestBuilder request) {
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Map.Entry<String, String> defaultHeader : client.getDefaultHeaders().entrySet()) {
+            List<String> values = new ArrayList<>();
+            values.add(defaultHeader.getValue());
+            headers.put(defaultHeader.getKey(), values);
+        }
+        for (Map.Entry<String, List<String>> header : request.getHeaderMap().getHeaders().entrySet()) {
+            headers.put(header.getKey(), new ArrayList<>(header.getValue()));
+        }
+        return headers;
+    }
+
+    /**
+     * A copy of the request with the given headers set on top of its own. Decorators that add headers use it instead
+     * of changing the caller's builder, which the caller may reuse and which a hedged retry may send twice at once.
+     * Headers with several values are copied as one comma-separated value.
+     */
+    public static RequestBuilder withHeaders(RequestBuilder request, Map<String, String> headers) {
+        return new HeaderOverlay(request, headers);
+    }
+
+    /**
+     * The first value of the given header as it will be sent, or null if the header is absent.
+     */
+    public static String header(Client client, RequestBuilder request, String name) {
+        for (Map.Entry<String, List<String>> header : request.getHeaderMap().getHeaders().entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name)) {
+                List<String> values = header.getValue();
+                return values == null || values.isEmpty() ? null : values.get(0);
+            }
+        }
+        for (Map.Entry<String, String> defaultHeader : client.getDefaultHeaders().entrySet()) {
+            if (defaultHeader.getKey().equalsIgnoreCase(name)) {
+                return defaultHeader.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The number of bytes of the request body (the given body or else the form body) in UTF-8, without encoding it.
+     */
+    public static long bodyLength(RequestBuilder request, String body) {
+        return utf8Length(body != null ? body : formBody(request));
+    }
+
+    static long utf8Length(String value) {
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    length += 4;
+                    i++;
+                } else {
+                    length++; // encoded as '?', like String.getBytes does
+                }
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    public static String encode(String value) {
+        return UrlEncoding.encode(value);
+    }
+
+    private static String encodeParameters(Map<String, HttpParam> parameters) {
+        if (parameters.isEmpty()) {
+            return "";
+        }
+        StringBuilder encoded = new StringBuilder(64);
+        for (Map.Entry<String, HttpParam> parameter : parameters.entrySet()) {
+            HttpParam value = parameter.getValue();
+            if (value == null) {
+                continue;
+            }
+            String encodedName = UrlEncoding.encodeName(parameter.getKey());
+            if (value.isSingle()) {
+                appendParameter(encoded, encodedName, ((SingleHttpParam) value).getParameter());
+            } else {
+                for (String single : ((RepeatedHttpParam) value).getParameters()) {
+                    appendParameter(encoded, encodedName, single);
+                }
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static void appendParameter(StringBuilder encoded, String encodedName, String value) {
+        if (value == null) {
+            return;
+        }
+        if (encoded.length() > 0) {
+            encoded.append('&');
+        }
+        encoded.append(encodedName).append('=');
+        UrlEncoding.appendEncoded(encoded, value);
+    }
+
+}
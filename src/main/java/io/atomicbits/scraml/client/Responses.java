@@ -0,0 +1,111 @@
+package io.atomicbits.scraml.client;
+
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.scraml.json.JsonCodecs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Locale;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes string responses into the typed responses of the generated resource methods.
+ */
+public final class Responses {
+
+    private Responses() {
+    }
+
+    public static boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    /**
+     * The first value of the given response header, or null if the header is absent.
+     */
+    public static String header(Response<?> response, String name) {
+        if (response.getHeaders() != null) {
+            for (Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+                if (name.equalsIgnoreCase(header.getKey()) && header.getValue() != null && !header.getValue().isEmpty()) {
+                    return header.getValue().get(0);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The charset parameter of the response Content-Type, or the given default if there is none.
+     */
+    public static Charset charset(Response<?> response, Charset defaultCharset) {
+        String contentType = header(response, "Content-Type");
+        if (contentType != null) {
+            for (String parameter : contentType.split(";")) {
+                String trimmed = parameter.trim();
+                if (trimmed.toLowerCase(Locale.ENGLISH).startsWith("charset=")) {
+                    return Charset.forName(trimmed.substring("charset=".length()).replace("\"", ""));
+                }
+            }
+        }
+        return defaultCharset;
+    }
+
+    /**
+     * The Content-Length of the response, -1 if it is absent or invalid.
+     */
+    public static long contentLength(Response<?> response) {
+        String contentLength = header(response, "Content-Length");
+        if (contentLength == null) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * The size of the response body in bytes: its Content-Length or else the length of its body as received, -1 if
+     * neither is known. A {@link LazyResponse} is measured without decoding its body, any other response by the UTF-8
+     * length of its string body.
+     */
+    public static long bodyLength(Response<?> response) {
+        long contentLength = contentLength(response);
+        if (contentLength >= 0) {
+            return contentLength;
+        }
+        if (response instanceof LazyResponse) {
+            return ((LazyResponse<?>) response).getBodyLength();
+        }
+        String stringBody = response.getStringBody();
+        return stringBody == null ? -1L : Requests.utf8Length(stringBody);
+    }
+
+    /**
+     * Decodes the body of a successful response into the given canonical type (as passed to
+     * Client.callToTypeResponse). The body of any other response is left null, its string body is kept.
+     */
+    public static <R> Response<R> typed(Response<String> response, String canonicalResponseType) {
+        R typedBody = null;
+        String stringBody = response.getStringBody();
+        if (isSuccess(response.getStatus()) && stringBody != null && !stringBody.isEmpty()) {
+            try {
+                typedBody = JsonCodecs.reader(canonicalResponseType).readValue(stringBody);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return new Response<>(stringBody, typedBody, response.getStatus(), response.getHeaders());
+    }
+
+    /**
+     * Like {@link #typed}, but the body is only decoded when it is first asked for, see {@link LazyResponse}.
+     */
+    public static <R> Response<R> lazy(Response<String> response, String canonicalResponseType) {
+        return LazyResponse.ofString(response.getStringBody(), canonicalResponseType, response.getStatus(), response.getHeaders());
+    }
+
+}
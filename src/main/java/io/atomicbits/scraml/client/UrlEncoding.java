@@ -0,0 +1,98 @@
+package io.atomicbits.scraml.client;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Percent-encoding of query and form parameters without going through URLEncoder. The output is the same as
+ * URLEncoder.encode(value, "UTF-8") with spaces as "%20": letters, digits and ".-*_" are kept, everything else is
+ * encoded as UTF-8 bytes.
+ */
+public final class UrlEncoding {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private static final int MAX_CACHED_NAMES = 1024;
+
+    private static final ConcurrentMap<String, String> ENCODED_NAMES = new ConcurrentHashMap<>();
+
+    private UrlEncoding() {
+    }
+
+    public static String encode(String value) {
+        if (isSafe(value)) {
+            return value;
+        }
+        StringBuilder encoded = new StringBuilder(value.length() + 16);
+        appendEncoded(encoded, value);
+        return encoded.toString();
+    }
+
+    /**
+     * Encodes a parameter name. Parameter names come from the RAML definition, so there are few of them and they are
+     * encoded once and cached, e.g. "organization[]" becomes "organization%5B%5D".
+     */
+    public static String encodeName(String name) {
+        String encoded = ENCODED_NAMES.get(name);
+        if (encoded == null) {
+            encoded = encode(name);
+            if (ENCODED_NAMES.size() < MAX_CACHED_NAMES) {
+                ENCODED_NAMES.putIfAbsent(name, encoded);
+            }
+        }
+        return encoded;
+    }
+
+    public static void appendEncoded(StringBuilder buffer, String value) {
+        int length = value.length();
+        int first = 0;
+        while (first < length && isSafe(value.charAt(first))) {
+            first++;
+        }
+        if (first == length) {
+            buffer.append(value);
+            return;
+        }
+        buffer.append(value, 0, first);
+        int index = first;
+        while (index < length) {
+            char c = value.charAt(index);
+            if (isSafe(c)) {
+                buffer.append(c);
+                index++;
+            } else if (c < 0x80) {
+                appendByte(buffer, c);
+                index++;
+            } else {
+                int end = index + 1;
+                while (end < length && value.charAt(end) >= 0x80) {
+                    end++;
+                }
+                for (byte b : value.substring(index, end).getBytes(StandardCharsets.UTF_8)) {
+                    appendByte(buffer, b & 0xFF);
+                }
+                index = end;
+            }
+        }
+    }
+
+    static boolean isSafe(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!isSafe(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSafe(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '*' || c == '_';
+    }
+
+    private static void appendByte(StringBuilder buffer, int b) {
+        buffer.append('%').append(HEX[b >> 4]).append(HEX[b & 0xF]);
+    }
+
+}
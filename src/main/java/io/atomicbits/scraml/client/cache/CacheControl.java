@@ -0,0 +1,117 @@
+package io.atomicbits.scraml.client.cache;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The parts of the Cache-Control, Expires, Date and Age response headers that matter to a private client cache.
+ * Freshness follows RFC 7234 section 4.2 without heuristics: a response that has neither a max-age nor an Expires
+ * header is stale as soon as it arrives.
+ */
+final class CacheControl {
+
+    private final boolean noStore;
+    private final boolean noCache;
+    private final long maxAgeSeconds;
+    private final String expires;
+    private final Long date;
+    private final long ageSeconds;
+
+    private CacheControl(boolean noStore, boolean noCache, long maxAgeSeconds, String expires, Long date, long ageSeconds) {
+        this.noStore = noStore;
+        this.noCache = noCache;
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.expires = expires;
+        this.date = date;
+        this.ageSeconds = ageSeconds;
+    }
+
+    static CacheControl of(Map<String, List<String>> headers) {
+        boolean noStore = false;
+        boolean noCache = false;
+        long maxAge = -1L;
+        List<String> values = headers.get("Cache-Control");
+        if (values != null) {
+            for (String value : values) {
+                for (String directive : value.split(",")) {
+                    String trimmed = directive.trim().toLowerCase(Locale.ENGLISH);
+                    if (trimmed.equals("no-store")) {
+                        noStore = true;
+                    } else if (trimmed.equals("no-cache")) {
+                        noCache = true;
+                    } else if (trimmed.startsWith("max-age=")) {
+                        try {
+                            maxAge = Math.max(0L, Long.parseLong(trimmed.substring("max-age=".length()).replace("\"", "")));
+                        } catch (NumberFormatException e) {
+                            maxAge = 0L; // an invalid max-age means the response is stale
+                        }
+                    }
+                }
+            }
+        }
+        long age = 0L;
+        String ageValue = first(headers, "Age");
+        if (ageValue != null) {
+            try {
+                age = Math.max(0L, Long.parseLong(ageValue.trim()));
+            } catch (NumberFormatException e) {
+                age = 0L;
+            }
+        }
+        return new CacheControl(noStore, noCache, maxAge, first(headers, "Expires"), httpDate(first(headers, "Date")), age);
+    }
+
+    boolean isNoStore() {
+        return noStore;
+    }
+
+    /**
+     * The freshness lifetime of the response in milliseconds: its max-age, or else the time from its Date to its
+     * Expires. An Expires that is not a valid date has passed already.
+     */
+    long freshnessMillis(long receivedAt) {
+        if (noCache) {
+            return 0L;
+        }
+        if (maxAgeSeconds >= 0L) {
+            return maxAgeSeconds * 1000L;
+        }
+        if (expires == null) {
+            return 0L;
+        }
+        Long expiresAt = httpDate(expires);
+        return expiresAt == null ? 0L : Math.max(0L, expiresAt - (date != null ? date : receivedAt));
+    }
+
+    /**
+     * The time at which a response sent at requestedAt and received at receivedAt becomes stale: its freshness less
+     * the age it already had on arrival, taken from its Age header or the time since its Date, whichever is larger,
+     * plus the time the request took.
+     */
+    long expiresAt(long requestedAt, long receivedAt) {
+        long apparentAge = date == null ? 0L : Math.max(0L, receivedAt - date);
+        long correctedAge = ageSeconds * 1000L + (receivedAt - requestedAt);
+        return receivedAt + freshnessMillis(receivedAt) - Math.max(apparentAge, correctedAge);
+    }
+
+    private static String first(Map<String, List<String>> headers, String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    private static Long httpDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+}
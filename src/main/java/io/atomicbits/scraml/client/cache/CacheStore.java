@@ -0,0 +1,19 @@
+package io.atomicbits.scraml.client.cache;
+
+/**
+ * Storage of cached responses. Implementations must be thread-safe and decide for themselves which entries to evict.
+ */
+public interface CacheStore {
+
+    /**
+     * @return the cached response for the given key, or null when there is none.
+     */
+    CachedResponse get(String key);
+
+    void put(String key, CachedResponse response);
+
+    void remove(String key);
+
+    int size();
+
+}
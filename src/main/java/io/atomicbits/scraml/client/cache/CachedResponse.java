@@ -0,0 +1,129 @@
+package io.atomicbits.scraml.client.cache;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A cached response: status, headers, the raw body and the validators to revalidate it with. The body is kept as
+ * bytes and decoded again on every hit, so callers never share mutable model instances.
+ */
+public final class CachedResponse {
+
+    private final int status;
+    private final Map<String, List<String>> headers;
+    private final ByteBuffer body;
+    private final String etag;
+    private final String lastModified;
+    private final long expiresAt;
+    private final Map<String, String> varyValues;
+
+    CachedResponse(int status,
+                   Map<String, List<String>> headers,
+                   ByteBuffer body,
+                   String etag,
+                   String lastModified,
+                   long expiresAt,
+                   Map<String, String> varyValues) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.expiresAt = expiresAt;
+        this.varyValues = varyValues;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    public byte[] getBody() {
+        ByteBuffer view = body.duplicate();
+        byte[] bytes = new byte[view.remaining()];
+        view.get(bytes);
+        return bytes;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isFresh(long now) {
+        return now < expiresAt;
+    }
+
+    public boolean canRevalidate() {
+        return etag != null || lastModified != null;
+    }
+
+    /**
+     * The request headers named by the Vary header of the response, with the values they had on the request that
+     * got it (null if absent).
+     */
+    public Map<String, String> getVaryValues() {
+        return varyValues;
+    }
+
+    /**
+     * Whether this response may answer a request with the given headers, i.e. whether the request has the same
+     * values for the headers that the response varies on.
+     */
+    public boolean matches(Map<String, List<String>> requestHeaders) {
+        for (Map.Entry<String, String> vary : varyValues.entrySet()) {
+            if (!Objects.equals(vary.getValue(), headerValue(requestHeaders, vary.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The values of a header joined as one, or null if the header is absent.
+     */
+    static String headerValue(Map<String, List<String>> headers, String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : String.join(", ", values);
+    }
+
+    /**
+     * The number of bytes this entry accounts for in a size bounded store.
+     */
+    public int getWeight() {
+        return body.remaining();
+    }
+
+    /**
+     * A copy of this entry with the headers and validators of the response that revalidated it.
+     */
+    CachedResponse revalidated(Map<String, List<String>> newHeaders, String newEtag, String newLastModified, long newExpiresAt) {
+        return new CachedResponse(status, newHeaders, body, newEtag, newLastModified, newExpiresAt, varyValues);
+    }
+
+    /**
+     * A copy of this entry with its body in native memory, outside of the garbage collected heap.
+     */
+    CachedResponse offHeap() {
+        if (body.isDirect()) {
+            return this;
+        }
+        ByteBuffer direct = ByteBuffer.allocateDirect(body.remaining());
+        direct.put(body.duplicate());
+        direct.flip();
+        return new CachedResponse(status, headers, direct.asReadOnlyBuffer(), etag, lastModified, expiresAt, varyValues);
+    }
+
+}
@@ -0,0 +1,197 @@
+package io.atomicbits.scraml.client.cache;
+
+import io.atomicbits.raml10.dsl.javajackson.Client;
+import io.atomicbits.raml10.dsl.javajackson.Method;
+import io.atomicbits.raml10.dsl.javajackson.RequestBuilder;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.scraml.client.ForwardingClient;
+import io.atomicbits.scraml.client.Requests;
+import io.atomicbits.scraml.client.Responses;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Client that caches the responses of GET requests per URL and Accept header.
+ * <ul>
+ * <li>A response is served from the cache without going on the wire while it is fresh: for its Cache-Control max-age,
+ * or else until its Expires, less the age it already had when it arrived (its Age header or the time since its Date).
+ * A response with neither is not fresh, there is no heuristic freshness.</li>
+ * <li>A stale response that has an ETag or Last-Modified header is revalidated with a conditional request
+ * (If-None-Match / If-Modified-Since). A 304 answer is served from the cache, and its headers, such as a new ETag,
+ * Date or Cache-Control, replace the stored ones.</li>
+ * <li>Responses marked no-store are never cached, no-cache responses are revalidated on every request.</li>
+ * </ul>
+ * Responses are cached per URL, Accept and Authorization header, so a response cached for one credential is never
+ * served for another. A response is only served for a request that has the same values for the headers named in its
+ * Vary header; a Vary: * response is not cached. Only one variant is kept per URL, Accept and Authorization: a
+ * response for other values of its Vary headers replaces the one stored before it, so requests that alternate between
+ * variants go on the wire each time. Binary responses are not cached. Which entries are kept is up to the
+ * {@link CacheStore}.
+ * <p>
+ * The conditional headers go on a copy of the request, the caller's request builder is left as it is.
+ */
+public class CachingClient extends ForwardingClient {
+
+    private static final int NOT_MODIFIED = 304;
+
+    private final CacheStore store;
+    private final String baseUrl;
+
+    public CachingClient(Client delegate, CacheStore store) {
+        super(delegate);
+        this.store = store;
+        this.baseUrl = Requests.baseUrl(delegate);
+    }
+
+    @Override
+    public CompletableFuture<Response<String>> callToStringResponse(RequestBuilder request, String body) {
+        if (!isCacheable(request, body)) {
+            return super.callToStringResponse(request, body);
+        }
+        return callThroughCache(request);
+    }
+
+    @Override
+    public <R> CompletableFuture<Response<R>> callToTypeResponse(RequestBuilder request, String body, String canonicalResponseType) {
+        if (!isCacheable(request, body)) {
+            return super.callToTypeResponse(request, body, canonicalResponseType);
+        }
+        return callThroughCache(request).thenApply(response -> Responses.lazy(response, canonicalResponseType));
+    }
+
+    private boolean isCacheable(RequestBuilder request, String body) {
+        return request.getMethod() == Method.GET && body == null && request.getBinaryRequest() == null;
+    }
+
+    private CompletableFuture<Response<String>> callThroughCache(RequestBuilder request) {
+        Map<String, List<String>> requestHeaders = Requests.headers(this, request);
+        String key = Requests.url(baseUrl, request) +
+                "\n" + CachedResponse.headerValue(requestHeaders, "Accept") +
+                "\n" + CachedResponse.headerValue(requestHeaders, "Authorization");
+        CachedResponse stored = store.get(key);
+        // Another variant of the same resource does not answer this request, nor can it be revalidated for it.
+        CachedResponse cached = stored != null && stored.matches(requestHeaders) ? stored : null;
+        if (cached != null && cached.isFresh(System.currentTimeMillis())) {
+            return CompletableFuture.completedFuture(toResponse(cached));
+        }
+        RequestBuilder sent = request;
+        if (cached != null && cached.canRevalidate()) {
+            Map<String, String> conditional = new HashMap<>();
+            if (cached.getEtag() != null) {
+                conditional.put("If-None-Match", cached.getEtag());
+            }
+            if (cached.getLastModified() != null) {
+                conditional.put("If-Modified-Since", cached.getLastModified());
+            }
+            sent = Requests.withHeaders(request, conditional);
+        }
+        long requestedAt = System.currentTimeMillis();
+        return super.callToStringResponse(sent, null).thenApply(response -> {
+            long receivedAt = System.currentTimeMillis();
+            if (response.getStatus() == NOT_MODIFIED && cached != null) {
+                CachedResponse revalidated = revalidate(cached, response, requestedAt, receivedAt);
+                store.put(key, revalidated);
+                return toResponse(revalidated);
+            }
+            update(key, response, requestedAt, receivedAt, requestHeaders);
+            return response;
+        });
+    }
+
+    /**
+     * The cached response with the headers of the 304 that confirmed it in place of its own.
+     */
+    private CachedResponse revalidate(CachedResponse cached, Response<?> notModified, long requestedAt, long receivedAt) {
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(cached.getHeaders());
+        // The stored Date and Age tell the age of the first response, not of this one.
+        headers.remove("Date");
+        headers.remove("Age");
+        for (Map.Entry<String, List<String>> header : headers(notModified).entrySet()) {
+            if (!header.getKey().equalsIgnoreCase("Content-Length") && !header.getKey().equalsIgnoreCase("Transfer-Encoding")) {
+                headers.put(header.getKey(), header.getValue());
+            }
+        }
+        long expiresAt = CacheControl.of(headers).expiresAt(requestedAt, receivedAt);
+        return cached.revalidated(headers, first(headers, "ETag"), first(headers, "Last-Modified"), expiresAt);
+    }
+
+    private void update(String key,
+                        Response<String> response,
+                        long requestedAt,
+                        long receivedAt,
+                        Map<String, List<String>> requestHeaders) {
+        Map<String, List<String>> headers = headers(response);
+        CacheControl cacheControl = CacheControl.of(headers);
+        if (cacheControl.isNoStore() || response.getStatus() != 200 || response.getStringBody() == null) {
+            store.remove(key);
+            return;
+        }
+        Map<String, String> varyValues = varyValues(headers, requestHeaders);
+        if (varyValues == null) {
+            store.remove(key); // Vary: * never matches a later request
+            return;
+        }
+        String etag = first(headers, "ETag");
+        String lastModified = first(headers, "Last-Modified");
+        long expiresAt = cacheControl.expiresAt(requestedAt, receivedAt);
+        if (expiresAt <= receivedAt && etag == null && lastModified == null) {
+            store.remove(key); // it could never be served from the cache
+            return;
+        }
+        ByteBuffer body = ByteBuffer.wrap(response.getStringBody().getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer();
+        store.put(key, new CachedResponse(response.getStatus(), headers, body, etag, lastModified, expiresAt, varyValues));
+    }
+
+    /**
+     * The request headers named by the Vary header of the response with their values, or null for Vary: *.
+     */
+    private Map<String, String> varyValues(Map<String, List<String>> responseHeaders, Map<String, List<String>> requestHeaders) {
+        List<String> vary = responseHeaders.get("Vary");
+        if (vary == null || vary.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> varyValues = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (String value : vary) {
+            for (String name : value.split(",")) {
+                String trimmed = name.trim();
+                if (trimmed.equals("*")) {
+                    return null;
+                }
+                if (!trimmed.isEmpty()) {
+                    varyValues.put(trimmed, CachedResponse.headerValue(requestHeaders, trimmed));
+                }
+            }
+        }
+        return varyValues;
+    }
+
+    private Response<String> toResponse(CachedResponse cached) {
+        String stringBody = new String(cached.getBody(), StandardCharsets.UTF_8);
+        return new Response<>(stringBody, stringBody, cached.getStatus(), cached.getHeaders());
+    }
+
+    private Map<String, List<String>> headers(Response<?> response) {
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (response.getHeaders() != null) {
+            for (Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+                headers.put(header.getKey(), new ArrayList<>(header.getValue()));
+            }
+        }
+        return headers;
+    }
+
+    private String first(Map<String, List<String>> headers, String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+}
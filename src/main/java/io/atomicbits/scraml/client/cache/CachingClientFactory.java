@@ -0,0 +1,42 @@
+package io.atomicbits.scraml.client.cache;
+
+import io.atomicbits.raml10.dsl.javajackson.Client;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientFactory;
+import io.atomicbits.raml10.dsl.javajackson.client.ning.Ning19ClientFactory;
+import io.atomicbits.scraml.json.ModelModule;
+
+import java.util.Map;
+
+/**
+ * Opts a generated client into response caching, see {@link CachingClient}:
+ * <pre>
+ *     new RamlTestClient(host, port, "http", null, config, defaultHeaders, new CachingClientFactory(new LruCacheStore(64 * 1024 * 1024)));
+ * </pre>
+ */
+public class CachingClientFactory implements ClientFactory {
+
+    private final ClientFactory delegate;
+    private final CacheStore store;
+
+    public CachingClientFactory(CacheStore store) {
+        this(new Ning19ClientFactory(), store);
+    }
+
+    public CachingClientFactory(ClientFactory delegate, CacheStore store) {
+        this.delegate = delegate;
+        this.store = store;
+    }
+
+    @Override
+    public Client createClient(String host,
+                               Integer port,
+                               String protocol,
+                               String prefix,
+                               ClientConfig config,
+                               Map<String, String> defaultHeaders) {
+        ModelModule.registerShared();
+        return new CachingClient(delegate.createClient(host, port, protocol, prefix, config, defaultHeaders), store);
+    }
+
+}
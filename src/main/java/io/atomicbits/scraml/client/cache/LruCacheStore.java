@@ -0,0 +1,74 @@
+package io.atomicbits.scraml.client.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache store that is bounded by the total size of the cached bodies and evicts the least recently used entries
+ * first. With offHeap enabled, the bodies are kept in direct buffers so that large caches do not add to the heap
+ * that the garbage collector has to scan; only the small entry metadata stays on the heap.
+ */
+public class LruCacheStore implements CacheStore {
+
+    private final long maxBytes;
+    private final boolean offHeap;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes = 0L;
+
+    public LruCacheStore(long maxBytes) {
+        this(maxBytes, false);
+    }
+
+    public LruCacheStore(long maxBytes, boolean offHeap) {
+        if (maxBytes <= 0L) {
+            throw new IllegalArgumentException("The maximum cache size must be positive, got " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        this.offHeap = offHeap;
+    }
+
+    @Override
+    public synchronized CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    @Override
+    public void put(String key, CachedResponse response) {
+        if (response.getWeight() > maxBytes) {
+            remove(key); // never fits, and the old entry is outdated
+            return;
+        }
+        CachedResponse stored = offHeap ? response.offHeap() : response;
+        synchronized (this) {
+            CachedResponse previous = entries.put(key, stored);
+            if (previous != null) {
+                bytes -= previous.getWeight();
+            }
+            bytes += stored.getWeight();
+            Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().getValue().getWeight();
+                eldest.remove();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+        CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.getWeight();
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+}
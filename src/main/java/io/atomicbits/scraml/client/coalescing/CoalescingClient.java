@@ -0,0 +1,107 @@
+package io.atomicbits.scraml.client.coalescing;
+
+import io.atomicbits.raml10.dsl.javajackson.BinaryData;
+import io.atomicbits.raml10.dsl.javajackson.Client;
+import io.atomicbits.raml10.dsl.javajackson.Method;
+import io.atomicbits.raml10.dsl.javajackson.RequestBuilder;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.scraml.client.ForwardingClient;
+import io.atomicbits.scraml.client.Requests;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Client that lets identical GET requests that are in flight at the same time share a single call on the wire.
+ * <p>
+ * Two GET requests are identical when they have the same URL (path and query string), the same headers and the same
+ * response type. All headers count, default and request headers alike, so requests with different credentials
+ * (Authorization, Cookie) or other custom headers never share a response. The first request goes out, the others wait for its response. Once the response is in, the
+ * next identical request goes out again, so callers never receive a response that was complete before they asked.
+ * Every caller gets its own future, cancelling it does not affect the other callers.
+ */
+public class CoalescingClient extends ForwardingClient {
+
+    private final ConcurrentMap<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final String baseUrl;
+
+    public CoalescingClient(Client delegate) {
+        super(delegate);
+        this.baseUrl = Requests.baseUrl(delegate);
+    }
+
+    @Override
+    public CompletableFuture<Response<String>> callToStringResponse(RequestBuilder request, String body) {
+        if (!isCoalescable(request, body)) {
+            return super.callToStringResponse(request, body);
+        }
+        return coalesce(key(request, "string"), () -> super.callToStringResponse(request, body));
+    }
+
+    @Override
+    public CompletableFuture<Response<BinaryData>> callToBinaryResponse(RequestBuilder request, String body) {
+        if (!isCoalescable(request, body)) {
+            return super.callToBinaryResponse(request, body);
+        }
+        return coalesce(key(request, "binary"), () -> super.callToBinaryResponse(request, body));
+    }
+
+    @Override
+    public <R> CompletableFuture<Response<R>> callToTypeResponse(RequestBuilder request, String body, String canonicalResponseType) {
+        if (!isCoalescable(request, body)) {
+            return super.callToTypeResponse(request, body, canonicalResponseType);
+        }
+        return coalesce(key(request, canonicalResponseType), () -> super.callToTypeResponse(request, body, canonicalResponseType));
+    }
+
+    /**
+     * The number of distinct requests that are currently on the wire.
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private boolean isCoalescable(RequestBuilder request, String body) {
+        return request.getMethod() == Method.GET && body == null && request.getBinaryRequest() == null;
+    }
+
+    private String key(RequestBuilder request, String responseType) {
+        StringBuilder key = new StringBuilder(128).append(Requests.url(baseUrl, request)).append('\n').append(responseType);
+        // The header names are sorted case-insensitively, so the same headers always give the same key.
+        for (Map.Entry<String, List<String>> header : Requests.headers(this, request).entrySet()) {
+            key.append('\n').append(header.getKey().toLowerCase(Locale.ENGLISH)).append(':').append(header.getValue());
+        }
+        return key.toString();
+    }
+
+    private <T> CompletableFuture<Response<T>> coalesce(String key, Supplier<CompletableFuture<Response<T>>> call) {
+        CompletableFuture<Response<T>> shared = new CompletableFuture<>();
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Response<T>> existing = (CompletableFuture<Response<T>>) inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            return existing.copy();
+        }
+        CompletableFuture<Response<T>> response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            response = new CompletableFuture<>();
+            response.completeExceptionally(e);
+        }
+        response.whenComplete((result, throwable) -> {
+            inFlight.remove(key, shared);
+            if (throwable != null) {
+                shared.completeExceptionally(throwable);
+            } else {
+                shared.complete(result);
+            }
+        });
+        return shared.copy();
+    }
+
+}
@@ -0,0 +1,40 @@
+package io.atomicbits.scraml.client.coalescing;
+
+import io.atomicbits.raml10.dsl.javajackson.Client;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientFactory;
+import io.atomicbits.raml10.dsl.javajackson.client.ning.Ning19ClientFactory;
+import io.atomicbits.scraml.json.ModelModule;
+
+import java.util.Map;
+
+/**
+ * Opts a generated client into GET request coalescing, see {@link CoalescingClient}:
+ * <pre>
+ *     new RamlTestClient(host, port, "http", null, config, defaultHeaders, new CoalescingClientFactory());
+ * </pre>
+ */
+public class CoalescingClientFactory implements ClientFactory {
+
+    private final ClientFactory delegate;
+
+    public CoalescingClientFactory() {
+        this(new Ning19ClientFactory());
+    }
+
+    public CoalescingClientFactory(ClientFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Client createClient(String host,
+                               Integer port,
+                               String protocol,
+                               String prefix,
+                               ClientConfig config,
+                               Map<String, String> defaultHeaders) {
+        ModelModule.registerShared();
+        return new CoalescingClient(delegate.createClient(host, port, protocol, prefix, config, defaultHeaders));
+    }
+
+}
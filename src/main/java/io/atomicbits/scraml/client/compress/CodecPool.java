@@ -0,0 +1,285 @@
+package io.atomicbits.scraml.client.compress;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Compressing and decompressing streams on pooled {@link Deflater}s and {@link Inflater}s. A Deflater holds about
+ * 256KB of native memory and an Inflater about 40KB, which is expensive to allocate per request and only released
+ * when they are ended or finalized, so a pool keeps up to maxPooled of each kind and resets them between uses.
+ * <p>
+ * The codec returns to the pool when its stream is closed; a stream that is never closed only leaves its codec to the
+ * garbage collector. The gzip framing is written and checked here, as GZIPOutputStream and GZIPInputStream always
+ * allocate their own codec.
+ */
+public final class CodecPool {
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private static final CodecPool SHARED = new CodecPool(Deflater.DEFAULT_COMPRESSION, 64);
+
+    private final int level;
+    private final Queue<Deflater> deflaters;
+    private final Queue<Deflater> rawDeflaters;
+    private final Queue<Inflater> inflaters;
+    private final Queue<Inflater> rawInflaters;
+
+    public CodecPool(int level, int maxPooled) {
+        this.level = level;
+        this.deflaters = new ArrayBlockingQueue<>(maxPooled);
+        this.rawDeflaters = new ArrayBlockingQueue<>(maxPooled);
+        this.inflaters = new ArrayBlockingQueue<>(maxPooled);
+        this.rawInflaters = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    /**
+     * A pool at the default compression level, shared by all clients.
+     */
+    public static CodecPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Compresses everything written to the returned stream into the target. Closing the stream finishes the
+     * compressed data and closes the target.
+     */
+    public OutputStream compress(OutputStream target, ContentCoding coding) throws IOException {
+        if (coding == ContentCoding.GZIP) {
+            target.write(GZIP_HEADER);
+            return new PooledDeflaterOutputStream(target, true);
+        }
+        return new PooledDeflaterOutputStream(target, false);
+    }
+
+    /**
+     * Decompresses the source. For deflate, both the zlib format of the spec and the raw deflate data some servers
+     * send are accepted. Closing the stream closes the source.
+     */
+    public InputStream decompress(InputStream source, ContentCoding coding) throws IOException {
+        if (coding == ContentCoding.GZIP) {
+            readGzipHeader(source);
+            return new PooledInflaterInputStream(source, true, true);
+        }
+        PushbackInputStream pushback = new PushbackInputStream(source, 2);
+        int first = pushback.read();
+        int second = pushback.read();
+        if (second >= 0) {
+            pushback.unread(second);
+        }
+        if (first >= 0) {
+            pushback.unread(first);
+        }
+        boolean zlib = first >= 0 && second >= 0 && (first & 0x0f) == Deflater.DEFLATED && ((first << 8) | second) % 31 == 0;
+        return new PooledInflaterInputStream(pushback, !zlib, false);
+    }
+
+    private Deflater borrowDeflater(boolean raw) {
+        Deflater deflater = (raw ? rawDeflaters : deflaters).poll();
+        return deflater != null ? deflater : new Deflater(level, raw);
+    }
+
+    private void release(Deflater deflater, boolean raw) {
+        deflater.reset();
+        if (!(raw ? rawDeflaters : deflaters).offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    private Inflater borrowInflater(boolean raw) {
+        Inflater inflater = (raw ? rawInflaters : inflaters).poll();
+        return inflater != null ? inflater : new Inflater(raw);
+    }
+
+    private void release(Inflater inflater, boolean raw) {
+        inflater.reset();
+        if (!(raw ? rawInflaters : inflaters).offer(inflater)) {
+            inflater.end();
+        }
+    }
+
+    private static void readGzipHeader(InputStream in) throws IOException {
+        if (readShort(in) != GZIP_MAGIC) {
+            throw new ZipException("Not in gzip format");
+        }
+        if (readByte(in) != Deflater.DEFLATED) {
+            throw new ZipException("Unsupported gzip compression method");
+        }
+        int flags = readByte(in);
+        skip(in, 6); // modification time, extra flags and operating system
+        if ((flags & FEXTRA) != 0) {
+            skip(in, readShort(in));
+        }
+        if ((flags & FNAME) != 0) {
+            skipString(in);
+        }
+        if ((flags & FCOMMENT) != 0) {
+            skipString(in);
+        }
+        if ((flags & FHCRC) != 0) {
+            skip(in, 2);
+        }
+    }
+
+    private static int readByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException("Unexpected end of gzip data");
+        }
+        return b;
+    }
+
+    private static int readShort(InputStream in) throws IOException {
+        return readByte(in) | (readByte(in) << 8);
+    }
+
+    private static void skip(InputStream in, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            readByte(in);
+        }
+    }
+
+    private static void skipString(InputStream in) throws IOException {
+        while (readByte(in) != 0) {
+            // skip up to and including the terminating zero
+        }
+    }
+
+    private class PooledDeflaterOutputStream extends DeflaterOutputStream {
+
+        private final boolean gzip;
+        private final CRC32 crc;
+        private boolean closed;
+
+        PooledDeflaterOutputStream(OutputStream target, boolean gzip) {
+            super(target, borrowDeflater(gzip), BUFFER_SIZE);
+            this.gzip = gzip;
+            this.crc = gzip ? new CRC32() : null;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            super.write(bytes, offset, length);
+            if (gzip) {
+                crc.update(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                finish();
+                if (gzip) {
+                    writeInt((int) crc.getValue());
+                    writeInt(def.getTotalIn());
+                }
+                out.close();
+            } finally {
+                release(def, gzip);
+            }
+        }
+
+        private void writeInt(int value) throws IOException {
+            out.write(value & 0xff);
+            out.write((value >> 8) & 0xff);
+            out.write((value >> 16) & 0xff);
+            out.write((value >> 24) & 0xff);
+        }
+
+    }
+
+    private class PooledInflaterInputStream extends InflaterInputStream {
+
+        private final boolean raw;
+        private final CRC32 crc;
+        private boolean closed;
+        private boolean ended;
+
+        PooledInflaterInputStream(InputStream source, boolean raw, boolean gzip) {
+            super(source, borrowInflater(raw), BUFFER_SIZE);
+            this.raw = raw;
+            this.crc = gzip ? new CRC32() : null;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (ended) {
+                return -1;
+            }
+            int n = super.read(bytes, offset, length);
+            if (n > 0 && crc != null) {
+                crc.update(bytes, offset, n);
+            }
+            if (n < 0 || inf.finished()) {
+                ended = true;
+                if (crc != null) {
+                    readGzipTrailer();
+                }
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                in.close();
+            } finally {
+                release(inf, raw);
+            }
+        }
+
+        /**
+         * Checks the CRC and size of the gzip trailer. Its first bytes may already have been read into the inflater
+         * buffer, the rest is read from the source.
+         */
+        private void readGzipTrailer() throws IOException {
+            if (!inf.finished()) {
+                throw new EOFException("Unexpected end of gzip data");
+            }
+            InputStream trailer = new FilterInputStream(in) {
+                private int remaining = inf.getRemaining();
+
+                @Override
+                public int read() throws IOException {
+                    return remaining > 0 ? buf[len - remaining--] & 0xff : super.read();
+                }
+            };
+            long expectedCrc = readInt(trailer) & 0xffffffffL;
+            long expectedSize = readInt(trailer) & 0xffffffffL;
+            if (expectedCrc != crc.getValue() || expectedSize != (inf.getBytesWritten() & 0xffffffffL)) {
+                throw new ZipException("Corrupt gzip trailer");
+            }
+        }
+
+        private int readInt(InputStream in) throws IOException {
+            return readShort(in) | (readShort(in) << 16);
+        }
+
+    }
+
+}
@@ -0,0 +1,102 @@
+package io.atomicbits.scraml.client.compress;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Which responses a client asks to be compressed and which request bodies it compresses. Request bodies are only
+ * compressed for the configured media types (matched without their parameters) and from a minimum size, as small
+ * bodies do not gain enough to pay for the work. Immutable, the with methods return an adapted copy.
+ * <pre>
+ *     Compression compression =
+ *             Compression.defaults().withRequestCompression(ContentCoding.GZIP, 1024, "application/vnd-v1.0+json");
+ * </pre>
+ */
+public final class Compression {
+
+    private static final Compression NONE = new Compression(false, Collections.emptyMap(), 0, CodecPool.shared());
+    private static final Compression DEFAULTS = new Compression(true, Collections.emptyMap(), 0, CodecPool.shared());
+
+    private final boolean decompressingResponses;
+    private final Map<String, ContentCoding> requestCodings;
+    private final int minRequestSize;
+    private final CodecPool codecPool;
+
+    private Compression(boolean decompressingResponses,
+                        Map<String, ContentCoding> requestCodings,
+                        int minRequestSize,
+                        CodecPool codecPool) {
+        this.decompressingResponses = decompressingResponses;
+        this.requestCodings = requestCodings;
+        this.minRequestSize = minRequestSize;
+        this.codecPool = codecPool;
+    }
+
+    /**
+     * No compression at all, the behaviour of the generated client.
+     */
+    public static Compression none() {
+        return NONE;
+    }
+
+    /**
+     * Accepts gzip and deflate compressed responses, sends request bodies as they are.
+     */
+    public static Compression defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Compresses request bodies of the given media types with the given coding once they are at least minSize
+     * characters long.
+     */
+    public Compression withRequestCompression(ContentCoding coding, int minSize, String... mediaTypes) {
+        Map<String, ContentCoding> codings = new HashMap<>(requestCodings);
+        for (String mediaType : mediaTypes) {
+            codings.put(mediaType(mediaType), coding);
+        }
+        return new Compression(decompressingResponses, Collections.unmodifiableMap(codings), minSize, codecPool);
+    }
+
+    public Compression withResponseDecompression(boolean decompressingResponses) {
+        return new Compression(decompressingResponses, requestCodings, minRequestSize, codecPool);
+    }
+
+    public Compression withCodecPool(CodecPool codecPool) {
+        return new Compression(decompressingResponses, requestCodings, minRequestSize, codecPool);
+    }
+
+    public boolean isDecompressingResponses() {
+        return decompressingResponses;
+    }
+
+    public CodecPool getCodecPool() {
+        return codecPool;
+    }
+
+    /**
+     * The Accept-Encoding header value to send, null when responses are not decompressed.
+     */
+    public String getAcceptEncoding() {
+        return decompressingResponses ? "gzip, deflate" : null;
+    }
+
+    /**
+     * The coding for a request body of the given Content-Type and length, null to send it as it is.
+     */
+    public ContentCoding requestCoding(String contentType, int length) {
+        if (contentType == null || length < minRequestSize || requestCodings.isEmpty()) {
+            return null;
+        }
+        return requestCodings.get(mediaType(contentType));
+    }
+
+    private static String mediaType(String contentType) {
+        int semicolon = contentType.indexOf(';');
+        String mediaType = semicolon < 0 ? contentType : contentType.substring(0, semicolon);
+        return mediaType.trim().toLowerCase(Locale.ENGLISH);
+    }
+
+}
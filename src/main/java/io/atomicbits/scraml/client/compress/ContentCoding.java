@@ -0,0 +1,42 @@
+package io.atomicbits.scraml.client.compress;
+
+import java.util.Locale;
+
+/**
+ * The HTTP content codings the clients can compress and decompress.
+ */
+public enum ContentCoding {
+
+    GZIP("gzip"),
+    DEFLATE("deflate");
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * The coding's token in Content-Encoding and Accept-Encoding headers.
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * The coding of a Content-Encoding header value, null for identity or a coding that is not supported.
+     */
+    public static ContentCoding of(String contentEncoding) {
+        if (contentEncoding == null) {
+            return null;
+        }
+        String token = contentEncoding.trim().toLowerCase(Locale.ENGLISH);
+        if (token.equals("gzip") || token.equals("x-gzip")) {
+            return GZIP;
+        } else if (token.equals("deflate")) {
+            return DEFLATE;
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,42 @@
+package io.atomicbits.scraml.client.jdk;
+
+import io.atomicbits.raml10.dsl.javajackson.BinaryData;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary response body that was received as a whole.
+ */
+class BytesBinaryData extends BinaryData {
+
+    private final byte[] bytes;
+
+    BytesBinaryData(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    @Override
+    public byte[] asBytes() throws IOException {
+        return bytes;
+    }
+
+    @Override
+    public InputStream asStream() throws IOException {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    @Override
+    public String asString() throws IOException {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String asString(String charset) throws IOException {
+        return new String(bytes, Charset.forName(charset));
+    }
+
+}
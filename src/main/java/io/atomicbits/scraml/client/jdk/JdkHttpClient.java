@@ -0,0 +1,441 @@
+package io.atomicbits.scraml.client.jdk;
+
+import io.atomicbits.raml10.dsl.javajackson.BinaryData;
+import io.atomicbits.raml10.dsl.javajackson.BinaryRequest;
+import io.atomicbits.raml10.dsl.javajackson.ByteArrayBinaryRequest;
+import io.atomicbits.raml10.dsl.javajackson.Client;
+import io.atomicbits.raml10.dsl.javajackson.FileBinaryRequest;
+import io.atomicbits.raml10.dsl.javajackson.InputStreamBinaryRequest;
+import io.atomicbits.raml10.dsl.javajackson.RequestBuilder;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.raml10.dsl.javajackson.StringBinaryRequest;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import io.atomicbits.scraml.client.EncodingInputStream;
+import io.atomicbits.scraml.client.HttpStatusException;
+import io.atomicbits.scraml.client.LazyResponse;
+import io.atomicbits.scraml.client.Requests;
+import io.atomicbits.scraml.client.Responses;
+import io.atomicbits.scraml.client.compress.ContentCoding;
+import io.atomicbits.scraml.client.compress.Compression;
+import io.atomicbits.scraml.upload.MultipartBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Client implementation on top of java.net.http.HttpClient. It negotiates HTTP/2 (h2c upgrade over http, ALPN over
+ * https) and falls back to HTTP/1.1 when the server does not support it. With HTTP/2 all concurrent requests to the
+ * same host are multiplexed over a single connection.
+ * <p>
+ * A blocking client sends every request on the calling thread and returns an already completed future, so the
+ * response is decoded on the caller's thread and no callbacks are chained. Use it from threads that may block, in
+ * particular virtual threads: HttpClient.send parks the calling thread without pinning its carrier.
+ * <p>
+ * Response bodies are kept as received and only decoded when they are asked for, see {@link LazyResponse}.
+ * <p>
+ * With a {@link Compression} the client asks for compressed responses and decompresses them on pooled inflaters, and
+ * deflates string request bodies of the configured media types as they are encoded. The headers of a decompressed
+ * response are left as they came over the wire.
+ */
+public class JdkHttpClient implements Client {
+
+    /**
+     * The headers that HttpRequest.Builder refuses on Java 11, they are left out of the request. Later releases only
+     * restrict the first five.
+     */
+    private static final Set<String> RESTRICTED_HEADERS =
+            new HashSet<>(Arrays.asList("connection", "content-length", "expect", "host", "upgrade",
+                    "date", "from", "origin", "referer", "via", "warning"));
+
+    /**
+     * At most this many bytes of an unsuccessful streamed response are kept for its HttpStatusException.
+     */
+    private static final int MAX_ERROR_BODY = 64 * 1024;
+
+    /**
+     * String bodies from this many chars on are encoded while they are sent instead of into one array up front.
+     */
+    private static final int STREAMED_BODY_LENGTH = 16 * 1024;
+
+    private final String host;
+    private final int port;
+    private final String protocol;
+    private final String prefix;
+    private final ClientConfig config;
+    private final Map<String, String> defaultHeaders;
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final boolean blocking;
+    private final Compression compression;
+
+    public JdkHttpClient(String host,
+                         int port,
+                         String protocol,
+                         String prefix,
+                         ClientConfig config,
+                         Map<String, String> defaultHeaders) {
+        this(host, port, protocol, prefix, config, defaultHeaders, HttpClient.Version.HTTP_2);
+    }
+
+    public JdkHttpClient(String host,
+                         int port,
+                         String protocol,
+                         String prefix,
+                         ClientConfig config,
+                         Map<String, String> defaultHeaders,
+                         HttpClient.Version version) {
+        this(host, port, protocol, prefix, config, defaultHeaders, version, false);
+    }
+
+    public JdkHttpClient(String host,
+                         int port,
+                         String protocol,
+                         String prefix,
+                         ClientConfig config,
+                         Map<String, String> defaultHeaders,
+                         HttpClient.Version version,
+                         boolean blocking) {
+        this(host, port, protocol, prefix, config, defaultHeaders, version, blocking, Compression.none());
+    }
+
+    public JdkHttpClient(String host,
+                         int port,
+                         String protocol,
+                         String prefix,
+                         ClientConfig config,
+                         Map<String, String> defaultHeaders,
+                         HttpClient.Version version,
+                         boolean blocking,
+                         Compression compression) {
+        this.host = host;
+        this.port = port;
+        this.protocol = protocol;
+        this.prefix = prefix;
+        this.config = config;
+        this.defaultHeaders = defaultHeaders;
+        this.baseUrl = Requests.baseUrl(this);
+        this.httpClient =
+                HttpClient.newBuilder()
+                        .version(version)
+                        .connectTimeout(Duration.ofMillis(config.getConnectTimeout()))
+                        .followRedirects(HttpClient.Redirect.NEVER)
+                        .build();
+        this.blocking = blocking;
+        this.compression = compression;
+    }
+
+    public boolean isBlocking() {
+        return blocking;
+    }
+
+    public Compression getCompression() {
+        return compression;
+    }
+
+    @Override
+    public ClientConfig getConfig() {
+        return config;
+    }
+
+    @Override
+    public Map<String, String> getDefaultHeaders() {
+        return defaultHeaders;
+    }
+
+    @Override
+    public String getHost() {
+        return host;
+    }
+
+    @Override
+    public int getPort() {
+        return port;
+    }
+
+    @Override
+    public String getProtocol() {
+        return protocol;
+    }
+
+    @Override
+    public String getPrefix() {
+        return prefix;
+    }
+
+    @Override
+    public CompletableFuture<Response<String>> callToStringResponse(RequestBuilder request, String body) {
+        return callToResponse(request, body, response -> lazyResponse(response, null));
+    }
+
+    @Override
+    public CompletableFuture<Response<BinaryData>> callToBinaryResponse(RequestBuilder request, String body) {
+        return callToResponse(request, body, response ->
+                new Response<>(null, new BytesBinaryData(decodedBody(response)), response.statusCode(), response.headers().map())
+        );
+    }
+
+    @Override
+    public <R> CompletableFuture<Response<R>> callToTypeResponse(RequestBuilder request, String body, String canonicalResponseType) {
+        return callToResponse(request, body, response -> lazyResponse(response, canonicalResponseType));
+    }
+
+    @Override
+    public void close() {
+        // The JDK HttpClient releases its connections and threads once it is no longer referenced.
+    }
+
+    private <T> CompletableFuture<Response<T>> callToResponse(RequestBuilder request,
+                                                              String body,
+                                                              Function<HttpResponse<byte[]>, Response<T>> transformer) {
+        HttpRequest httpRequest;
+        try {
+            httpRequest = buildRequest(request, body);
+        } catch (IOException | RuntimeException e) {
+            return failed(e);
+        }
+        if (!blocking) {
+            return httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray()).thenApply(transformer);
+        }
+        try {
+            HttpResponse<byte[]> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+            return CompletableFuture.completedFuture(transformer.apply(response));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failed(e);
+        } catch (IOException | RuntimeException e) {
+            return failed(e);
+        }
+    }
+
+    /**
+     * Sends a GET for a path relative to the base URL, e.g. rest/animals, with the default headers and the given
+     * headers on top of them. See {@link #stream(HttpRequest)}.
+     */
+    InputStream stream(String relativePath, Map<String, String> headers) throws IOException, InterruptedException {
+        HttpRequest.Builder builder =
+                HttpRequest.newBuilder(URI.create(baseUrl + "/" + relativePath))
+                        .GET()
+                        .timeout(Duration.ofMillis(config.getRequestTimeout()));
+        Map<String, String> allHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        allHeaders.putAll(defaultHeaders);
+        allHeaders.putAll(headers);
+        for (Map.Entry<String, String> header : allHeaders.entrySet()) {
+            if (!RESTRICTED_HEADERS.contains(header.getKey().toLowerCase(Locale.ENGLISH))) {
+                builder.header(header.getKey(), header.getValue());
+            }
+        }
+        if (compression.isDecompressingResponses() && !allHeaders.containsKey("Accept-Encoding")) {
+            builder.header("Accept-Encoding", compression.getAcceptEncoding());
+        }
+        return stream(builder.build());
+    }
+
+    InputStream stream(RequestBuilder request) throws IOException, InterruptedException {
+        return stream(buildRequest(request, null));
+    }
+
+    /**
+     * Sends the request on the calling thread and returns the body as it comes in from the connection, decompressed
+     * while it is read. A response without a 2xx status fails with an {@link HttpStatusException}.
+     */
+    private InputStream stream(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        InputStream body = response.body();
+        ContentCoding contentCoding = ContentCoding.of(response.headers().firstValue("Content-Encoding").orElse(null));
+        if (contentCoding != null && compression.isDecompressingResponses()) {
+            body = compression.getCodecPool().decompress(body, contentCoding);
+        }
+        if (!Responses.isSuccess(response.statusCode())) {
+            try (InputStream errorBody = body) {
+                throw new HttpStatusException(response.statusCode(), new String(errorBody.readNBytes(MAX_ERROR_BODY), StandardCharsets.UTF_8));
+            }
+        }
+        return body;
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable failure) {
+        CompletableFuture<T> failed = new CompletableFuture<>();
+        failed.completeExceptionally(failure);
+        return failed;
+    }
+
+    private HttpRequest buildRequest(RequestBuilder request, String body) throws IOException {
+        HttpRequest.BodyPublisher bodyPublisher;
+        boolean textBody = true;
+        String contentType = null;
+        ContentCoding contentCoding = null;
+        String formBody = Requests.formBody(request);
+        if (request.getBinaryRequest() != null) {
+            bodyPublisher = binaryBody(request.getBinaryRequest());
+            textBody = false;
+        } else if (body != null) {
+            contentCoding = compression.requestCoding(Requests.header(this, request, "Content-Type"), body.length());
+            bodyPublisher =
+                    contentCoding == null
+                            ? stringBody(body)
+                            : compressedBody(body, contentCoding);
+        } else if (!formBody.isEmpty()) {
+            bodyPublisher = HttpRequest.BodyPublishers.ofString(formBody, config.getRequestCharset());
+        } else if (!request.getMultipartParams().isEmpty()) {
+            MultipartBody multipart = MultipartBody.of(request.getMultipartParams(), config.getRequestCharset());
+            bodyPublisher = multipartBody(multipart);
+            contentType = multipart.getContentType();
+            textBody = false;
+        } else {
+            bodyPublisher = HttpRequest.BodyPublishers.noBody();
+            textBody = false;
+        }
+
+        HttpRequest.Builder builder =
+                HttpRequest.newBuilder(URI.create(Requests.url(baseUrl, request)))
+                        .method(request.getMethod().name(), bodyPublisher)
+                        .timeout(Duration.ofMillis(config.getRequestTimeout()));
+
+        for (Map.Entry<String, List<String>> header : Requests.headers(this, request).entrySet()) {
+            if (RESTRICTED_HEADERS.contains(header.getKey().toLowerCase(Locale.ENGLISH))) {
+                continue;
+            }
+            if (contentType != null && "content-type".equalsIgnoreCase(header.getKey())) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                if (textBody && "content-type".equalsIgnoreCase(header.getKey()) && !value.contains("charset")) {
+                    value = value + "; charset=" + config.getRequestCharset().name();
+                }
+                builder.header(header.getKey(), value);
+            }
+        }
+        if (contentType != null) {
+            builder.header("Content-Type", contentType);
+        }
+        if (contentCoding != null) {
+            builder.header("Content-Encoding", contentCoding.getToken());
+        }
+        if (compression.isDecompressingResponses() && Requests.header(this, request, "Accept-Encoding") == null) {
+            builder.header("Accept-Encoding", compression.getAcceptEncoding());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Streams the parts as the request is written, in chunks, with the Content-Length computed from the part sizes.
+     */
+    private static HttpRequest.BodyPublisher multipartBody(MultipartBody multipart) {
+        HttpRequest.BodyPublisher stream = HttpRequest.BodyPublishers.ofInputStream(() -> Channels.newInputStream(multipart.open()));
+        long contentLength = multipart.getContentLength();
+        return contentLength < 0 ? stream : HttpRequest.BodyPublishers.fromPublisher(stream, contentLength);
+    }
+
+    private HttpRequest.BodyPublisher binaryBody(BinaryRequest binaryRequest) throws FileNotFoundException {
+        if (binaryRequest instanceof FileBinaryRequest) {
+            return HttpRequest.BodyPublishers.ofFile(((FileBinaryRequest) binaryRequest).getFile().toPath());
+        } else if (binaryRequest instanceof InputStreamBinaryRequest) {
+            InputStreamBinaryRequest inputStreamRequest = (InputStreamBinaryRequest) binaryRequest;
+            return HttpRequest.BodyPublishers.ofInputStream(inputStreamRequest::getInputStream);
+        } else if (binaryRequest instanceof ByteArrayBinaryRequest) {
+            return HttpRequest.BodyPublishers.ofByteArray(((ByteArrayBinaryRequest) binaryRequest).getBytes());
+        } else if (binaryRequest instanceof StringBinaryRequest) {
+            return HttpRequest.BodyPublishers.ofString(((StringBinaryRequest) binaryRequest).getString(), config.getRequestCharset());
+        } else {
+            throw new IllegalArgumentException("Unknown binary request type: " + binaryRequest.getClass().getName());
+        }
+    }
+
+    /**
+     * Large bodies are encoded in the request charset chunk by chunk, straight into the buffers the transport sends,
+     * with the Content-Length computed up front.
+     */
+    private HttpRequest.BodyPublisher stringBody(String body) {
+        Charset charset = config.getRequestCharset();
+        if (body.length() < STREAMED_BODY_LENGTH) {
+            return HttpRequest.BodyPublishers.ofString(body, charset);
+        }
+        HttpRequest.BodyPublisher encoded = HttpRequest.BodyPublishers.ofInputStream(() -> new EncodingInputStream(body, charset));
+        return HttpRequest.BodyPublishers.fromPublisher(encoded, EncodingInputStream.encodedLength(body, charset));
+    }
+
+    /**
+     * Encodes the body in the request charset straight into the compressor, without an uncompressed copy in between,
+     * and sends the compressed bytes from the array they were written to.
+     */
+    private HttpRequest.BodyPublisher compressedBody(String body, ContentCoding contentCoding) throws IOException {
+        CompressedBytes compressed = new CompressedBytes(Math.max(64, body.length() / 4));
+        try (OutputStream out = compression.getCodecPool().compress(compressed, contentCoding)) {
+            new EncodingInputStream(body, config.getRequestCharset()).transferTo(out);
+        }
+        return compressed.toBodyPublisher();
+    }
+
+    private byte[] decodedBody(HttpResponse<byte[]> response) {
+        byte[] body = response.body();
+        ContentCoding contentCoding = ContentCoding.of(response.headers().firstValue("Content-Encoding").orElse(null));
+        if (body == null || body.length == 0 || contentCoding == null || !compression.isDecompressingResponses()) {
+            return body;
+        }
+        try (InputStream decompressed = compression.getCodecPool().decompress(new ByteArrayInputStream(body), contentCoding)) {
+            return decompressed.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Keeps the received bytes, they are only decoded when the body or string body is asked for, see
+     * {@link LazyResponse}.
+     */
+    private <T> Response<T> lazyResponse(HttpResponse<byte[]> response, String canonicalType) {
+        return LazyResponse.ofBytes(decodedBody(response), responseCharset(response), canonicalType, response.statusCode(), response.headers().map());
+    }
+
+    private Charset responseCharset(HttpResponse<byte[]> response) {
+        return response.headers().firstValue("Content-Type")
+                .map(contentType -> {
+                    for (String parameter : contentType.split(";")) {
+                        String trimmed = parameter.trim();
+                        if (trimmed.toLowerCase(Locale.ENGLISH).startsWith("charset=")) {
+                            return Charset.forName(trimmed.substring("charset=".length()).replace("\"", ""));
+                        }
+                    }
+                    return null;
+                })
+                .orElse(config.getResponseCharset());
+    }
+
+    /**
+     * Hands its array to the transport instead of copying it.
+     */
+    private static class CompressedBytes extends ByteArrayOutputStream {
+
+        CompressedBytes(int size) {
+            super(size);
+        }
+
+        HttpRequest.BodyPublisher toBodyPublisher() {
+            return HttpRequest.BodyPublishers.ofByteArray(buf, 0, count);
+        }
+
+    }
+
+}
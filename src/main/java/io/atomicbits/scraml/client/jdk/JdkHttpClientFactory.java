@@ -0,0 +1,63 @@
+package io.atomicbits.scraml.client.jdk;
+
+import io.atomicbits.raml10.dsl.javajackson.Client;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientFactory;
+import io.atomicbits.scraml.client.compress.Compression;
+import io.atomicbits.scraml.json.ModelModule;
+
+import java.net.http.HttpClient;
+import java.util.Map;
+
+/**
+ * Plugs the {@link JdkHttpClient} into a generated client, e.g.
+ * <pre>
+ *     new RamlTestClient(host, port, "http", null, config, defaultHeaders, new JdkHttpClientFactory());
+ * </pre>
+ * or, for callers on virtual threads, with {@link #blocking()} and {@link io.atomicbits.scraml.client.Blocking#await}:
+ * <pre>
+ *     RamlTestClient client = new RamlTestClient(host, port, "http", null, config, defaultHeaders, JdkHttpClientFactory.blocking());
+ *     Response&lt;User&gt; user = Blocking.await(client.rest.user.get(51L, null, "John", null, null));
+ * </pre>
+ * Compression is opted into with {@link #withCompression}, as the generated ClientConfig has no setting for it.
+ */
+public class JdkHttpClientFactory implements ClientFactory {
+
+    private final boolean blocking;
+    private final Compression compression;
+
+    public JdkHttpClientFactory() {
+        this(false, Compression.none());
+    }
+
+    private JdkHttpClientFactory(boolean blocking, Compression compression) {
+        this.blocking = blocking;
+        this.compression = compression;
+    }
+
+    /**
+     * A factory for clients that send requests on the calling thread, see {@link JdkHttpClient}.
+     */
+    public static JdkHttpClientFactory blocking() {
+        return new JdkHttpClientFactory(true, Compression.none());
+    }
+
+    /**
+     * A factory for clients that compress as configured, see {@link JdkHttpClient}.
+     */
+    public JdkHttpClientFactory withCompression(Compression compression) {
+        return new JdkHttpClientFactory(blocking, compression);
+    }
+
+    @Override
+    public Client createClient(String host,
+                               Integer port,
+                               String protocol,
+                               String prefix,
+                               ClientConfig config,
+                               Map<String, String> defaultHeaders) {
+        ModelModule.registerShared();
+        return new JdkHttpClient(host, port, protocol, prefix, config, defaultHeaders, HttpClient.Version.HTTP_2, blocking, compression);
+    }
+
+}
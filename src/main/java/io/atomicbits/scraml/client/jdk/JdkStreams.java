@@ -0,0 +1,89 @@
+package io.atomicbits.scraml.client.jdk;
+
+import io.atomicbits.raml10.dsl.javajackson.RequestBuilder;
+import io.atomicbits.scraml.client.HttpStatusException;
+import io.atomicbits.scraml.client.Requests;
+import io.atomicbits.scraml.stream.FlowPublishers;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+/**
+ * Streams response bodies as Flow.Publishers with back-pressure, e.g. the Animal[] of /rest/animals:
+ * <pre>
+ *     JdkHttpClient client = new JdkHttpClient("localhost", 8281, "http", null, new ClientConfig(), new HashMap&lt;&gt;());
+ *     JdkStreams streams = new JdkStreams(client, Executors.newCachedThreadPool());
+ *     Flow.Publisher&lt;Animal&gt; animals = streams.elements("rest/animals", Animal.class);
+ * </pre>
+ * The requests are built by the given {@link JdkHttpClient}, so they go to its base URL and prefix with its default
+ * headers, request timeout and compression. A path is relative to the base URL and requested with a GET.
+ * <p>
+ * The request goes out when the subscriber first requests elements. The body is read through the InputStream of the
+ * JDK client, which only pulls data from the connection as it is consumed, so the socket reads pause while the
+ * subscriber has no outstanding demand. A response without a 2xx status fails the publisher with an
+ * {@link HttpStatusException}.
+ */
+public class JdkStreams {
+
+    private static final String ACCEPT = "Accept";
+
+    private final JdkHttpClient client;
+    private final Executor executor;
+
+    /**
+     * @param executor runs the blocking reads and the subscriber signals.
+     */
+    public JdkStreams(JdkHttpClient client, Executor executor) {
+        this.client = client;
+        this.executor = executor;
+    }
+
+    public <T> Flow.Publisher<T> elements(String relativePath, Class<T> elementType) {
+        return elements(relativePath, Collections.emptyMap(), elementType);
+    }
+
+    public <T> Flow.Publisher<T> elements(String relativePath, Map<String, String> headers, Class<T> elementType) {
+        Map<String, String> sent = withAccept(headers, "application/json");
+        return FlowPublishers.elements(() -> client.stream(relativePath, sent), elementType, executor);
+    }
+
+    public <T> Flow.Publisher<T> elements(RequestBuilder request, Class<T> elementType) {
+        RequestBuilder sent = withAccept(request, "application/json");
+        return FlowPublishers.elements(() -> client.stream(sent), elementType, executor);
+    }
+
+    public Flow.Publisher<ByteBuffer> byteBuffers(String relativePath) {
+        return byteBuffers(relativePath, Collections.emptyMap());
+    }
+
+    public Flow.Publisher<ByteBuffer> byteBuffers(String relativePath, Map<String, String> headers) {
+        Map<String, String> sent = withAccept(headers, "application/octet-stream");
+        return FlowPublishers.byteBuffers(() -> client.stream(relativePath, sent), executor);
+    }
+
+    public Flow.Publisher<ByteBuffer> byteBuffers(RequestBuilder request) {
+        RequestBuilder sent = withAccept(request, "application/octet-stream");
+        return FlowPublishers.byteBuffers(() -> client.stream(sent), executor);
+    }
+
+    private Map<String, String> withAccept(Map<String, String> headers, String accept) {
+        Map<String, String> sent = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        sent.putAll(headers);
+        if (!sent.containsKey(ACCEPT) && client.getDefaultHeaders().keySet().stream().noneMatch(ACCEPT::equalsIgnoreCase)) {
+            sent.put(ACCEPT, accept);
+        }
+        return sent;
+    }
+
+    private RequestBuilder withAccept(RequestBuilder request, String accept) {
+        if (Requests.header(client, request, ACCEPT) != null) {
+            return request;
+        }
+        return Requests.withHeaders(request, Collections.singletonMap(ACCEPT, accept));
+    }
+
+}
@@ -0,0 +1,40 @@
+package io.atomicbits.scraml.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A JFR event per typed response body that is decoded after its {@link RequestEvent}, because the underlying client
+ * hands out a LazyResponse that decodes the body when it is first asked for. The event is committed on the thread
+ * that asks for it, with its stack trace.
+ */
+@Name(DecodeEvent.NAME)
+@Label("Scraml Response Decode")
+@Category({"Scraml", "HTTP Client"})
+@Description("Decoding the body of a response of a scraml-generated client")
+public class DecodeEvent extends Event {
+
+    public static final String NAME = "io.atomicbits.scraml.Decode";
+
+    @Label("Path")
+    @Description("The relative request path")
+    public String path;
+
+    @Label("Endpoint")
+    @Description("The path with its variables, e.g. rest/user/{userid}, as named by the EndpointNamer")
+    public String endpoint;
+
+    @Label("Response Type")
+    @Description("The canonical type the body is decoded into")
+    public String responseType;
+
+    @Label("Decode Time")
+    @Description("Time spent decoding the response body")
+    @Timespan
+    public long decodeDuration;
+
+}
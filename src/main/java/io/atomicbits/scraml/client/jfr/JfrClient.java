@@ -0,0 +1,120 @@
+package io.atomicbits.scraml.client.jfr;
+
+import io.atomicbits.raml10.dsl.javajackson.BinaryData;
+import io.atomicbits.raml10.dsl.javajackson.Client;
+import io.atomicbits.raml10.dsl.javajackson.RequestBuilder;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.scraml.client.ForwardingClient;
+import io.atomicbits.scraml.client.LazyResponse;
+import io.atomicbits.scraml.client.Requests;
+import io.atomicbits.scraml.client.Responses;
+import io.atomicbits.scraml.client.metrics.EndpointNamer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Client that emits a {@link RequestEvent} for every request while a JFR recording with the event enabled is
+ * running. When it is not, calls go straight to the underlying client: the only cost is the isEnabled() check on an
+ * event instance that the JIT does not allocate.
+ * <p>
+ * Typed calls go to the underlying client's typed call as they are. When it hands out a {@link LazyResponse}, a
+ * {@link DecodeEvent} is emitted once the body is decoded.
+ */
+public class JfrClient extends ForwardingClient {
+
+    private final EndpointNamer endpointNamer;
+
+    public JfrClient(Client delegate) {
+        this(delegate, EndpointNamer.byPath());
+    }
+
+    public JfrClient(Client delegate, EndpointNamer endpointNamer) {
+        super(delegate);
+        this.endpointNamer = endpointNamer;
+    }
+
+    @Override
+    public CompletableFuture<Response<String>> callToStringResponse(RequestBuilder request, String body) {
+        RequestEvent event = new RequestEvent();
+        if (!event.isEnabled()) {
+            return super.callToStringResponse(request, body);
+        }
+        begin(event, request, body);
+        return super.callToStringResponse(request, body).handle((response, failure) -> {
+            end(event, response, failure);
+            return rethrowOr(response, failure);
+        });
+    }
+
+    @Override
+    public CompletableFuture<Response<BinaryData>> callToBinaryResponse(RequestBuilder request, String body) {
+        RequestEvent event = new RequestEvent();
+        if (!event.isEnabled()) {
+            return super.callToBinaryResponse(request, body);
+        }
+        begin(event, request, body);
+        return super.callToBinaryResponse(request, body).handle((response, failure) -> {
+            end(event, response, failure);
+            return rethrowOr(response, failure);
+        });
+    }
+
+    @Override
+    public <R> CompletableFuture<Response<R>> callToTypeResponse(RequestBuilder request, String body, String canonicalResponseType) {
+        RequestEvent event = new RequestEvent();
+        if (!event.isEnabled()) {
+            return super.callToTypeResponse(request, body, canonicalResponseType);
+        }
+        begin(event, request, body);
+        return super.<R>callToTypeResponse(request, body, canonicalResponseType).handle((response, failure) -> {
+            end(event, response, failure);
+            if (response instanceof LazyResponse) {
+                ((LazyResponse<?>) response).onDecode(nanos -> decoded(event, canonicalResponseType, nanos));
+            }
+            return rethrowOr(response, failure);
+        });
+    }
+
+    private void begin(RequestEvent event, RequestBuilder request, String body) {
+        event.begin();
+        event.method = request.getMethod().name();
+        event.path = request.getRelativePath();
+        event.endpoint = endpointNamer.name(request);
+        event.requestMediaType = Requests.header(this, request, "Content-Type");
+        event.bytesOut = Requests.bodyLength(request, body);
+    }
+
+    private static void decoded(RequestEvent requestEvent, String responseType, long nanos) {
+        DecodeEvent event = new DecodeEvent();
+        if (event.isEnabled()) {
+            event.path = requestEvent.path;
+            event.endpoint = requestEvent.endpoint;
+            event.responseType = responseType;
+            event.decodeDuration = nanos;
+            event.commit();
+        }
+    }
+
+    private static void end(RequestEvent event, Response<?> response, Throwable failure) {
+        event.end();
+        if (response != null) {
+            event.status = response.getStatus();
+            event.responseMediaType = Responses.header(response, "Content-Type");
+            event.bytesIn = Responses.bodyLength(response);
+        }
+        if (failure != null) {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            event.failure = cause.toString();
+        }
+        event.commit();
+    }
+
+    private static <T> T rethrowOr(T response, Throwable failure) {
+        if (failure == null) {
+            return response;
+        }
+        throw failure instanceof CompletionException ? (CompletionException) failure : new CompletionException(failure);
+    }
+
+}
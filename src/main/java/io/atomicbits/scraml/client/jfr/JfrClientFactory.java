@@ -0,0 +1,48 @@
+package io.atomicbits.scraml.client.jfr;
+
+import io.atomicbits.raml10.dsl.javajackson.Client;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientFactory;
+import io.atomicbits.raml10.dsl.javajackson.client.ning.Ning19ClientFactory;
+import io.atomicbits.scraml.client.metrics.EndpointNamer;
+import io.atomicbits.scraml.json.ModelModule;
+
+import java.util.Map;
+
+/**
+ * Opts a generated client into JFR request events, see {@link JfrClient}:
+ * <pre>
+ *     new RamlTestClient(host, port, "http", null, config, defaultHeaders, new JfrClientFactory());
+ * </pre>
+ * and record them with e.g. -XX:StartFlightRecording. The {@link RequestEvent} is enabled in the default settings.
+ */
+public class JfrClientFactory implements ClientFactory {
+
+    private final ClientFactory delegate;
+    private final EndpointNamer endpointNamer;
+
+    public JfrClientFactory() {
+        this(new Ning19ClientFactory(), EndpointNamer.byPath());
+    }
+
+    public JfrClientFactory(EndpointNamer endpointNamer) {
+        this(new Ning19ClientFactory(), endpointNamer);
+    }
+
+    public JfrClientFactory(ClientFactory delegate, EndpointNamer endpointNamer) {
+        this.delegate = delegate;
+        this.endpointNamer = endpointNamer;
+    }
+
+    @Override
+    public Client createClient(String host,
+                               Integer port,
+                               String protocol,
+                               String prefix,
+                               ClientConfig config,
+                               Map<String, String> defaultHeaders) {
+        ModelModule.registerShared();
+        return new JfrClient(delegate.createClient(host, port, protocol, prefix, config, defaultHeaders), endpointNamer);
+    }
+
+}
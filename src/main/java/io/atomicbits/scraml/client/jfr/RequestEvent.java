@@ -0,0 +1,57 @@
+package io.atomicbits.scraml.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event per request of a generated client. Its duration covers the call to the underlying client, including the
+ * decoding of a typed response when that client decodes it before completing the call; a body that is decoded later
+ * gets its own {@link DecodeEvent}. The event is committed on the thread that completes the request, so the stack
+ * trace would only show the HTTP client internals and is left out.
+ */
+@Name(RequestEvent.NAME)
+@Label("Scraml Request")
+@Category({"Scraml", "HTTP Client"})
+@Description("A request made by a scraml-generated client")
+@StackTrace(false)
+public class RequestEvent extends Event {
+
+    public static final String NAME = "io.atomicbits.scraml.Request";
+
+    @Label("Method")
+    public String method;
+
+    @Label("Path")
+    @Description("The relative request path")
+    public String path;
+
+    @Label("Endpoint")
+    @Description("The path with its variables, e.g. rest/user/{userid}, as named by the EndpointNamer")
+    public String endpoint;
+
+    @Label("Request Media Type")
+    public String requestMediaType;
+
+    @Label("Response Media Type")
+    public String responseMediaType;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Bytes Out")
+    @DataAmount
+    public long bytesOut;
+
+    @Label("Bytes In")
+    @DataAmount
+    public long bytesIn;
+
+    @Label("Failure")
+    public String failure;
+
+}
@@ -0,0 +1,19 @@
+package io.atomicbits.scraml.client.limit;
+
+/**
+ * The algorithm that decides how many requests may be in flight at the same time.
+ */
+public interface Limit {
+
+    int getLimit();
+
+    /**
+     * Called when a request completes.
+     *
+     * @param rttNanos the time the request took.
+     * @param inFlight the number of requests that were in flight when it started, itself included.
+     * @param dropped  whether the request timed out or the server shed it (429, 503), a sign of overload.
+     */
+    void onSample(long rttNanos, int inFlight, boolean dropped);
+
+}
@@ -0,0 +1,28 @@
+package io.atomicbits.scraml.client.limit;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Signals a request that was not sent because its endpoint was at its concurrency limit, either right away or after
+ * waiting in the queue for the maximum time.
+ */
+public class LimitExceededException extends RejectedExecutionException {
+
+    private final String endpoint;
+    private final int limit;
+
+    public LimitExceededException(String endpoint, int limit, String reason) {
+        super(reason + ": " + endpoint + " is at its limit of " + limit + " requests in flight");
+        this.endpoint = endpoint;
+        this.limit = limit;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+}
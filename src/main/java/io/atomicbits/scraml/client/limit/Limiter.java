@@ -0,0 +1,135 @@
+package io.atomicbits.scraml.client.limit;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits requests to one endpoint up to the current value of its {@link Limit}. Requests beyond the limit either fail
+ * right away or wait in a bounded FIFO queue for at most a maximum time, and fail with a
+ * {@link LimitExceededException} when none is available by then.
+ */
+public final class Limiter {
+
+    private final String endpoint;
+    private final Limit limit;
+    private final long maxWaitNanos;
+    private final int maxQueued;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<CompletableFuture<Permit>> waiters = new ConcurrentLinkedQueue<>();
+
+    Limiter(String endpoint, Limit limit, Duration maxWait, int maxQueued) {
+        this.endpoint = endpoint;
+        this.limit = limit;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * A permit once the request may go out, or a failed future with a {@link LimitExceededException}.
+     */
+    public CompletableFuture<Permit> acquire() {
+        if (tryAcquire()) {
+            return CompletableFuture.completedFuture(new Permit());
+        }
+        if (maxQueued == 0 || maxWaitNanos <= 0) {
+            return rejected("Rejected");
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            return rejected("Queue full");
+        }
+        CompletableFuture<Permit> waiter = new CompletableFuture<>();
+        waiters.add(waiter);
+        CompletableFuture.delayedExecutor(maxWaitNanos, TimeUnit.NANOSECONDS).execute(() -> {
+            if (waiters.remove(waiter)) {
+                queued.decrementAndGet();
+                waiter.completeExceptionally(new LimitExceededException(endpoint, limit.getLimit(), "Timed out in queue"));
+            }
+        });
+        drain();
+        return waiter;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    private boolean tryAcquire() {
+        for (; ; ) {
+            int current = inFlight.get();
+            if (current >= limit.getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Hands free permits to queued requests. Runs after every release and after every enqueue, so that a release that
+     * raced with an enqueue cannot leave a waiter behind.
+     */
+    private void drain() {
+        while (!waiters.isEmpty() && tryAcquire()) {
+            CompletableFuture<Permit> waiter = waiters.poll();
+            if (waiter == null) {
+                inFlight.decrementAndGet();
+                return;
+            }
+            queued.decrementAndGet();
+            if (!waiter.complete(new Permit())) {
+                // cancelled by the caller in the meantime
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private CompletableFuture<Permit> rejected(String reason) {
+        CompletableFuture<Permit> rejected = new CompletableFuture<>();
+        rejected.completeExceptionally(new LimitExceededException(endpoint, limit.getLimit(), reason));
+        return rejected;
+    }
+
+    /**
+     * The right to have one request in flight. Release it when the request completes, or ignore it when the request
+     * failed for a reason that says nothing about the load on the server. Only the first call counts.
+     */
+    public final class Permit {
+
+        private final long startedAt = System.nanoTime();
+        private final int inFlightAtStart = inFlight.get();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        public void release(boolean dropped) {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+                limit.onSample(System.nanoTime() - startedAt, inFlightAtStart, dropped);
+                drain();
+            }
+        }
+
+        public void ignore() {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+                drain();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,97 @@
+package io.atomicbits.scraml.client.limit;
+
+import io.atomicbits.raml10.dsl.javajackson.BinaryData;
+import io.atomicbits.raml10.dsl.javajackson.Client;
+import io.atomicbits.raml10.dsl.javajackson.RequestBuilder;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.scraml.client.ForwardingClient;
+import io.atomicbits.scraml.client.metrics.EndpointNamer;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Client that limits the number of requests in flight per endpoint, e.g. "GET rest/user/{userid}" and
+ * "GET rest/animals" each get their own {@link Limiter} with their own adaptive {@link Limit}. A request that times
+ * out or gets a 429 or 503 response counts as dropped.
+ */
+public class LimitingClient extends ForwardingClient {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    private final EndpointNamer endpointNamer;
+    private final Supplier<? extends Limit> limits;
+    private final Duration maxWait;
+    private final int maxQueued;
+    private final ConcurrentMap<String, Limiter> limiters = new ConcurrentHashMap<>();
+
+    /**
+     * @param limits    creates the limit of each endpoint, e.g. VegasLimit::new.
+     * @param maxWait   how long a request may wait for a permit, Duration.ZERO to fail fast.
+     * @param maxQueued how many requests per endpoint may wait at the same time.
+     */
+    public LimitingClient(Client delegate, EndpointNamer endpointNamer, Supplier<? extends Limit> limits, Duration maxWait, int maxQueued) {
+        super(delegate);
+        this.endpointNamer = endpointNamer;
+        this.limits = limits;
+        this.maxWait = maxWait;
+        this.maxQueued = maxQueued;
+    }
+
+    @Override
+    public CompletableFuture<Response<String>> callToStringResponse(RequestBuilder request, String body) {
+        return limited(request, () -> super.callToStringResponse(request, body));
+    }
+
+    @Override
+    public CompletableFuture<Response<BinaryData>> callToBinaryResponse(RequestBuilder request, String body) {
+        return limited(request, () -> super.callToBinaryResponse(request, body));
+    }
+
+    @Override
+    public <R> CompletableFuture<Response<R>> callToTypeResponse(RequestBuilder request, String body, String canonicalResponseType) {
+        return limited(request, () -> super.callToTypeResponse(request, body, canonicalResponseType));
+    }
+
+    /**
+     * The limiter of the given endpoint, null if no request went to it yet.
+     */
+    public Limiter getLimiter(String endpoint) {
+        return limiters.get(endpoint);
+    }
+
+    private <T> CompletableFuture<Response<T>> limited(RequestBuilder request, Supplier<CompletableFuture<Response<T>>> call) {
+        String endpoint = endpointNamer.name(request);
+        Limiter limiter = limiters.computeIfAbsent(endpoint, name -> new Limiter(name, limits.get(), maxWait, maxQueued));
+        return limiter.acquire().thenCompose(permit -> {
+            CompletableFuture<Response<T>> response;
+            try {
+                response = call.get();
+            } catch (RuntimeException e) {
+                permit.ignore();
+                throw e;
+            }
+            return response.whenComplete((result, failure) -> {
+                if (failure != null) {
+                    Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+                    // The Ning client times out with a TimeoutException, the JDK client with an HttpTimeoutException.
+                    if (cause instanceof TimeoutException || cause instanceof HttpTimeoutException) {
+                        permit.release(true);
+                    } else {
+                        permit.ignore();
+                    }
+                } else {
+                    permit.release(result.getStatus() == TOO_MANY_REQUESTS || result.getStatus() == SERVICE_UNAVAILABLE);
+                }
+            });
+        });
+    }
+
+}
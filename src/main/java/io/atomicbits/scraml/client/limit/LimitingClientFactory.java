@@ -0,0 +1,59 @@
+package io.atomicbits.scraml.client.limit;
+
+import io.atomicbits.raml10.dsl.javajackson.Client;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientFactory;
+import io.atomicbits.raml10.dsl.javajackson.client.ning.Ning19ClientFactory;
+import io.atomicbits.scraml.client.metrics.EndpointNamer;
+import io.atomicbits.scraml.json.ModelModule;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Opts a generated client into adaptive concurrency limits per endpoint, see {@link LimitingClient}. To let requests
+ * wait up to 200ms for one of the in-flight slots of their endpoint:
+ * <pre>
+ *     EndpointNamer endpoints = EndpointNamer.byTemplates(PathTemplate.compile("rest/user/{userid}"));
+ *     new RamlTestClient(host, port, "http", null, config, defaultHeaders,
+ *             new LimitingClientFactory(endpoints, VegasLimit::new, Duration.ofMillis(200), 100));
+ * </pre>
+ */
+public class LimitingClientFactory implements ClientFactory {
+
+    private final ClientFactory delegate;
+    private final EndpointNamer endpointNamer;
+    private final Supplier<? extends Limit> limits;
+    private final Duration maxWait;
+    private final int maxQueued;
+
+    public LimitingClientFactory(EndpointNamer endpointNamer, Supplier<? extends Limit> limits, Duration maxWait, int maxQueued) {
+        this(new Ning19ClientFactory(), endpointNamer, limits, maxWait, maxQueued);
+    }
+
+    public LimitingClientFactory(ClientFactory delegate,
+                                 EndpointNamer endpointNamer,
+                                 Supplier<? extends Limit> limits,
+                                 Duration maxWait,
+                                 int maxQueued) {
+        this.delegate = delegate;
+        this.endpointNamer = endpointNamer;
+        this.limits = limits;
+        this.maxWait = maxWait;
+        this.maxQueued = maxQueued;
+    }
+
+    @Override
+    public Client createClient(String host,
+                               Integer port,
+                               String protocol,
+                               String prefix,
+                               ClientConfig config,
+                               Map<String, String> defaultHeaders) {
+        ModelModule.registerShared();
+        Client client = delegate.createClient(host, port, protocol, prefix, config, defaultHeaders);
+        return new LimitingClient(client, endpointNamer, limits, maxWait, maxQueued);
+    }
+
+}
@@ -0,0 +1,71 @@
+package io.atomicbits.scraml.client.limit;
+
+/**
+ * A limit after TCP Vegas. It keeps the lowest latency seen as the no-load latency and estimates the number of
+ * requests that queue up at the server as limit * (1 - minRtt / rtt). While that queue is small the limit grows,
+ * once it gets larger the limit shrinks, and a dropped request cuts it by 10%. Under a brownout the latency goes up
+ * and the limit comes down, so callers fail fast or wait in the limiter instead of piling up at the server.
+ * <p>
+ * Every probeInterval samples the no-load latency is reset to the latency of that sample, so that the limit can
+ * follow a server whose baseline latency changed.
+ */
+public class VegasLimit implements Limit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int probeInterval;
+
+    private volatile int limit;
+    private long minRtt;
+    private long samples;
+
+    public VegasLimit() {
+        this(20, 1, 1000);
+    }
+
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit) {
+        this(initialLimit, minLimit, maxLimit, 1000);
+    }
+
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit, int probeInterval) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected 1 <= min <= initial <= max, got " + minLimit + ", " + initialLimit + ", " + maxLimit);
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.probeInterval = probeInterval;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        int current = limit;
+        if (dropped) {
+            limit = Math.max(minLimit, Math.min(current - 1, (int) (current * 0.9)));
+            return;
+        }
+        if (rttNanos <= 0) {
+            return;
+        }
+        samples++;
+        if (minRtt == 0 || rttNanos < minRtt || samples % probeInterval == 0) {
+            minRtt = rttNanos;
+        }
+        int logLimit = Math.max(1, (int) Math.log10(current));
+        double queueSize = current * (1.0 - (double) minRtt / rttNanos);
+        if (queueSize <= 3 * logLimit) {
+            // Only grow when the limit is actually used, or an idle client would grow it without bounds.
+            if (inFlight * 2 >= current) {
+                limit = Math.min(maxLimit, current + logLimit);
+            }
+        } else if (queueSize >= 6 * logLimit) {
+            limit = Math.max(minLimit, current - logLimit);
+        }
+    }
+
+}
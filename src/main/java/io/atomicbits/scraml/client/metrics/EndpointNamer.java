@@ -0,0 +1,47 @@
+package io.atomicbits.scraml.client.metrics;
+
+import io.atomicbits.raml10.dsl.javajackson.RequestBuilder;
+import io.atomicbits.scraml.client.PathTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Groups requests into endpoints to report metrics on. Paths with variables such as rest/user/{userid} should map
+ * onto a single endpoint, or every user id ends up with its own histograms.
+ */
+@FunctionalInterface
+public interface EndpointNamer {
+
+    String name(RequestBuilder request);
+
+    /**
+     * Names requests by their method and relative path.
+     */
+    static EndpointNamer byPath() {
+        return request -> request.getMethod().name() + " " + relativePath(request);
+    }
+
+    /**
+     * Names requests by their method and the first of the given templates that matches their path, e.g.
+     * "GET rest/user/{userid}". Requests that match none of them are named by their path.
+     */
+    static EndpointNamer byTemplates(PathTemplate... templates) {
+        List<PathTemplate> templateList = Arrays.asList(templates.clone());
+        return request -> {
+            String path = relativePath(request);
+            for (PathTemplate template : templateList) {
+                if (template.matches(path)) {
+                    return request.getMethod().name() + " " + template;
+                }
+            }
+            return request.getMethod().name() + " " + path;
+        };
+    }
+
+    private static String relativePath(RequestBuilder request) {
+        String path = request.getRelativePath();
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+
+}
@@ -0,0 +1,99 @@
+package io.atomicbits.scraml.client.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The running totals of one endpoint. Recording is wait-free: the latencies go into HdrHistogram ConcurrentHistograms
+ * (in nanoseconds, with three significant digits), the counters are LongAdders.
+ */
+public final class EndpointStats {
+
+    private final EnumMap<Phase, ConcurrentHistogram> histograms = new EnumMap<>(Phase.class);
+    private final ConcurrentMap<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    EndpointStats() {
+        for (Phase phase : Phase.values()) {
+            histograms.put(phase, new ConcurrentHistogram(3));
+        }
+    }
+
+    void started() {
+        inFlight.incrementAndGet();
+    }
+
+    void completed(RequestMetrics metrics) {
+        inFlight.decrementAndGet();
+        for (Phase phase : Phase.values()) {
+            long nanos = metrics.getNanos(phase);
+            if (nanos >= 0) {
+                histograms.get(phase).recordValue(nanos);
+            }
+        }
+        if (metrics.getFailure() != null) {
+            failures.increment();
+        }
+        if (metrics.getStatus() > 0) {
+            statusCounts.computeIfAbsent(metrics.getStatus(), status -> new LongAdder()).increment();
+        }
+        bytesOut.add(metrics.getBytesOut());
+        if (metrics.getBytesIn() > 0) {
+            bytesIn.add(metrics.getBytesIn());
+        }
+    }
+
+    void decoded(long nanos) {
+        histograms.get(Phase.DESERIALIZATION).recordValue(nanos);
+    }
+
+    /**
+     * A copy of the latency histogram of the given phase, in nanoseconds.
+     */
+    public Histogram getHistogram(Phase phase) {
+        return histograms.get(phase).copy();
+    }
+
+    /**
+     * The number of responses per status code.
+     */
+    public Map<Integer, Long> getStatusCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        for (Map.Entry<Integer, LongAdder> statusCount : statusCounts.entrySet()) {
+            counts.put(statusCount.getKey(), statusCount.getValue().sum());
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * The number of requests that failed without a response or whose response could not be decoded.
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+}
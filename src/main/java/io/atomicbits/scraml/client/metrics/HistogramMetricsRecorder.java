@@ -0,0 +1,52 @@
+package io.atomicbits.scraml.client.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The default {@link RequestListener}: keeps latency histograms, status counts, byte counts and the number of requests
+ * in flight per endpoint. Read them with {@link #getStats(String)} or {@link #getAllStats()}, e.g. from a periodic
+ * reporter.
+ */
+public class HistogramMetricsRecorder implements RequestListener {
+
+    private final ConcurrentMap<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    @Override
+    public void onStart(String endpoint) {
+        statsOf(endpoint).started();
+    }
+
+    @Override
+    public void onComplete(RequestMetrics metrics) {
+        statsOf(metrics.getEndpoint()).completed(metrics);
+    }
+
+    @Override
+    public void onDecode(String endpoint, long nanos) {
+        statsOf(endpoint).decoded(nanos);
+    }
+
+    /**
+     * The stats of the given endpoint, null if no request went to it yet.
+     */
+    public EndpointStats getStats(String endpoint) {
+        return stats.get(endpoint);
+    }
+
+    /**
+     * The stats of all endpoints, sorted by endpoint name.
+     */
+    public Map<String, EndpointStats> getAllStats() {
+        return Collections.unmodifiableMap(new TreeMap<>(stats));
+    }
+
+    private EndpointStats statsOf(String endpoint) {
+        EndpointStats endpointStats = stats.get(endpoint);
+        return endpointStats != null ? endpointStats : stats.computeIfAbsent(endpoint, name -> new EndpointStats());
+    }
+
+}
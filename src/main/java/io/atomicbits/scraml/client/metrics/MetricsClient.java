@@ -0,0 +1,126 @@
+package io.atomicbits.scraml.client.metrics;
+
+import io.atomicbits.raml10.dsl.javajackson.BinaryData;
+import io.atomicbits.raml10.dsl.javajackson.Client;
+import io.atomicbits.raml10.dsl.javajackson.RequestBuilder;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.scraml.client.ForwardingClient;
+import io.atomicbits.scraml.client.LazyResponse;
+import io.atomicbits.scraml.client.Requests;
+import io.atomicbits.scraml.client.Responses;
+
+import java.util.EnumMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Client that times every request and reports it to a {@link RequestListener}.
+ * <p>
+ * Every call goes to the same method of the underlying client, typed calls too, so it is timed as it is. When that
+ * client hands out a {@link LazyResponse}, the time spent decoding its body is reported apart, once the body is asked
+ * for; see {@link Phase}.
+ */
+public class MetricsClient extends ForwardingClient {
+
+    private final RequestListener listener;
+    private final EndpointNamer endpointNamer;
+
+    public MetricsClient(Client delegate, RequestListener listener, EndpointNamer endpointNamer) {
+        super(delegate);
+        this.listener = listener;
+        this.endpointNamer = endpointNamer;
+    }
+
+    @Override
+    public CompletableFuture<Response<String>> callToStringResponse(RequestBuilder request, String body) {
+        Timer timer = start(request, body);
+        return timer.time(() -> super.callToStringResponse(request, body), response -> {
+            timer.wireDone(response.getStatus(), Responses.bodyLength(response));
+            timer.complete(null);
+            return response;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Response<BinaryData>> callToBinaryResponse(RequestBuilder request, String body) {
+        Timer timer = start(request, body);
+        return timer.time(() -> super.callToBinaryResponse(request, body), response -> {
+            timer.wireDone(response.getStatus(), Responses.bodyLength(response));
+            timer.complete(null);
+            return response;
+        });
+    }
+
+    @Override
+    public <R> CompletableFuture<Response<R>> callToTypeResponse(RequestBuilder request, String body, String canonicalResponseType) {
+        Timer timer = start(request, body);
+        return timer.time(() -> super.<R>callToTypeResponse(request, body, canonicalResponseType), response -> {
+            timer.wireDone(response.getStatus(), Responses.bodyLength(response));
+            if (response instanceof LazyResponse) {
+                ((LazyResponse<?>) response).onDecode(nanos -> listener.onDecode(timer.endpoint, nanos));
+            }
+            timer.complete(null);
+            return response;
+        });
+    }
+
+    private Timer start(RequestBuilder request, String body) {
+        String endpoint = endpointNamer.name(request);
+        long bytesOut = Requests.bodyLength(request, body);
+        listener.onStart(endpoint);
+        return new Timer(endpoint, bytesOut);
+    }
+
+    private final class Timer {
+
+        private final String endpoint;
+        private final long bytesOut;
+        private final long startedAt = System.nanoTime();
+        private final EnumMap<Phase, Long> nanos = new EnumMap<>(Phase.class);
+        private int status;
+        private long bytesIn = -1L;
+
+        Timer(String endpoint, long bytesOut) {
+            this.endpoint = endpoint;
+            this.bytesOut = bytesOut;
+        }
+
+        void wireDone(int status, long bytesIn) {
+            nanos.put(Phase.WIRE, System.nanoTime() - startedAt);
+            this.status = status;
+            this.bytesIn = bytesIn;
+        }
+
+        void complete(Throwable failure) {
+            nanos.put(Phase.TOTAL, System.nanoTime() - startedAt);
+            listener.onComplete(new RequestMetrics(endpoint, status, bytesOut, bytesIn, nanos, failure));
+        }
+
+        <T, R> CompletableFuture<Response<R>> time(Supplier<CompletableFuture<Response<T>>> call,
+                                                   Function<Response<T>, Response<R>> onResponse) {
+            CompletableFuture<Response<T>> response;
+            try {
+                response = call.get();
+            } catch (RuntimeException e) {
+                complete(e);
+                throw e;
+            }
+            return response.handle((result, failure) -> {
+                if (failure != null) {
+                    complete(failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+                    throw failure instanceof CompletionException ? (CompletionException) failure : new CompletionException(failure);
+                }
+                try {
+                    return onResponse.apply(result);
+                } catch (RuntimeException e) {
+                    complete(e);
+                    throw e;
+                }
+            });
+        }
+
+    }
+
+}
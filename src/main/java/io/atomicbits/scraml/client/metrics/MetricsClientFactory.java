@@ -0,0 +1,53 @@
+package io.atomicbits.scraml.client.metrics;
+
+import io.atomicbits.raml10.dsl.javajackson.Client;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientFactory;
+import io.atomicbits.scraml.client.jdk.JdkHttpClientFactory;
+import io.atomicbits.scraml.json.ModelModule;
+
+import java.util.Map;
+
+/**
+ * Opts a generated client into request metrics, see {@link MetricsClient}:
+ * <pre>
+ *     HistogramMetricsRecorder metrics = new HistogramMetricsRecorder();
+ *     new RamlTestClient(host, port, "http", null, config, defaultHeaders,
+ *             new MetricsClientFactory(metrics, EndpointNamer.byTemplates(PathTemplate.compile("rest/user/{userid}"))));
+ * </pre>
+ * By default requests go through a {@link JdkHttpClientFactory} client, whose responses are decoded lazily so that
+ * decoding is timed as {@link Phase#DESERIALIZATION}. A client that decodes eagerly, such as the Ning client, reports
+ * decoding as part of the wire time instead.
+ */
+public class MetricsClientFactory implements ClientFactory {
+
+    private final ClientFactory delegate;
+    private final RequestListener listener;
+    private final EndpointNamer endpointNamer;
+
+    public MetricsClientFactory(RequestListener listener) {
+        this(new JdkHttpClientFactory(), listener, EndpointNamer.byPath());
+    }
+
+    public MetricsClientFactory(RequestListener listener, EndpointNamer endpointNamer) {
+        this(new JdkHttpClientFactory(), listener, endpointNamer);
+    }
+
+    public MetricsClientFactory(ClientFactory delegate, RequestListener listener, EndpointNamer endpointNamer) {
+        this.delegate = delegate;
+        this.listener = listener;
+        this.endpointNamer = endpointNamer;
+    }
+
+    @Override
+    public Client createClient(String host,
+                               Integer port,
+                               String protocol,
+                               String prefix,
+                               ClientConfig config,
+                               Map<String, String> defaultHeaders) {
+        ModelModule.registerShared();
+        return new MetricsClient(delegate.createClient(host, port, protocol, prefix, config, defaultHeaders), listener, endpointNamer);
+    }
+
+}
@@ -0,0 +1,27 @@
+package io.atomicbits.scraml.client.metrics;
+
+/**
+ * The phases a request is timed in.
+ */
+public enum Phase {
+
+    /**
+     * From handing the request to the underlying client until its response is complete: connecting, sending the
+     * request, waiting for the server and receiving the body. When the underlying client decodes typed responses
+     * before it completes them, as the Ning client does, that is included too. Serializing the request body happens
+     * in the generated resource, before the client is called, and is not timed.
+     */
+    WIRE,
+
+    /**
+     * Decoding the body of a typed response that the underlying client decodes lazily, such as the JDK client, when it
+     * is first asked for. It is reported through {@link RequestListener#onDecode}, after the request is complete.
+     */
+    DESERIALIZATION,
+
+    /**
+     * The whole call, as seen by the caller of the resource method.
+     */
+    TOTAL
+
+}
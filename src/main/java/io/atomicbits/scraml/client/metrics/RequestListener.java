@@ -0,0 +1,27 @@
+package io.atomicbits.scraml.client.metrics;
+
+/**
+ * Receives the metrics of every request a {@link MetricsClient} makes. Implementations are called on the threads that
+ * complete the requests, so they must be thread-safe and must not block.
+ */
+public interface RequestListener {
+
+    /**
+     * Called when a request is handed to the underlying client.
+     */
+    default void onStart(String endpoint) {
+    }
+
+    /**
+     * Called once the request is complete, successfully or not.
+     */
+    void onComplete(RequestMetrics metrics);
+
+    /**
+     * Called when the body of a response that the underlying client decodes lazily (see LazyResponse) is decoded into
+     * the response type. That is after onComplete, and only if the caller asks for the body.
+     */
+    default void onDecode(String endpoint, long nanos) {
+    }
+
+}
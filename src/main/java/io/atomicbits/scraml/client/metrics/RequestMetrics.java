@@ -0,0 +1,71 @@
+package io.atomicbits.scraml.client.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * What was measured for one completed request.
+ */
+public final class RequestMetrics {
+
+    private final String endpoint;
+    private final int status;
+    private final long bytesOut;
+    private final long bytesIn;
+    private final Map<Phase, Long> nanos;
+    private final Throwable failure;
+
+    RequestMetrics(String endpoint, int status, long bytesOut, long bytesIn, EnumMap<Phase, Long> nanos, Throwable failure) {
+        this.endpoint = endpoint;
+        this.status = status;
+        this.bytesOut = bytesOut;
+        this.bytesIn = bytesIn;
+        this.nanos = nanos;
+        this.failure = failure;
+    }
+
+    /**
+     * The endpoint name as given by the {@link EndpointNamer}, e.g. "GET rest/user/{userid}".
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * The response status, 0 when the request failed without a response.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * The size of the request body in bytes.
+     */
+    public long getBytesOut() {
+        return bytesOut;
+    }
+
+    /**
+     * The size of the response body in bytes, -1 if it is unknown (a binary response without Content-Length).
+     */
+    public long getBytesIn() {
+        return bytesIn;
+    }
+
+    /**
+     * The time spent in the given phase in nanoseconds, -1 if the request failed before the phase was reached. Always
+     * -1 for {@link Phase#DESERIALIZATION}, which is reported on its own, see {@link RequestListener#onDecode}.
+     */
+    public long getNanos(Phase phase) {
+        Long phaseNanos = nanos.get(phase);
+        return phaseNanos == null ? -1L : phaseNanos;
+    }
+
+    /**
+     * The exception the request failed with, null if a response came in and was decoded.
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+}
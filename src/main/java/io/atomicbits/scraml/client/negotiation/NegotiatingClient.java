@@ -0,0 +1,106 @@
+package io.atomicbits.scraml.client.negotiation;
+
+import io.atomicbits.raml10.dsl.javajackson.BinaryData;
+import io.atomicbits.raml10.dsl.javajackson.Client;
+import io.atomicbits.raml10.dsl.javajackson.RequestBuilder;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.scraml.client.ForwardingClient;
+import io.atomicbits.scraml.client.LazyResponse;
+import io.atomicbits.scraml.client.Requests;
+import io.atomicbits.scraml.client.Responses;
+import io.atomicbits.scraml.json.BinaryFormat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Client that asks for typed responses in a binary JSON format, Smile or CBOR, next to the JSON media type of the
+ * request. The Accept header "application/vnd-v1.0+json", for instance, becomes
+ * "application/vnd-v1.0+smile, application/vnd-v1.0+json;q=0.5". A server that knows the format answers in it and the
+ * body is decoded into the same model classes, a server that does not answers JSON as before.
+ * <p>
+ * Only the responses are negotiated. The generated resources hand request bodies to the client as JSON strings, so
+ * they are sent as they are. A request whose Accept header already lists a binary format is sent as it is, one that
+ * lists several media types, or no JSON one, is left alone. The negotiated Accept header goes on a copy of the request,
+ * the caller's request builder is left as it is. A binary response has no string body.
+ */
+public class NegotiatingClient extends ForwardingClient {
+
+    private static final String ACCEPT = "Accept";
+    private static final String JSON = "application/json";
+
+    private final List<BinaryFormat> formats;
+
+    public NegotiatingClient(Client delegate, BinaryFormat... formats) {
+        super(delegate);
+        if (formats.length == 0) {
+            throw new IllegalArgumentException("At least one binary format is needed");
+        }
+        this.formats = Arrays.asList(formats.clone());
+    }
+
+    @Override
+    public <R> CompletableFuture<Response<R>> callToTypeResponse(RequestBuilder request, String body, String canonicalResponseType) {
+        String accept = Requests.header(this, request, ACCEPT);
+        if (accept == null) {
+            accept = JSON;
+        }
+        RequestBuilder sent = request;
+        if (!acceptsBinary(accept)) {
+            if (accept.indexOf(',') >= 0 || !BinaryFormat.isJson(accept)) {
+                return super.callToTypeResponse(request, body, canonicalResponseType);
+            }
+            sent = Requests.withHeaders(request, Collections.singletonMap(ACCEPT, negotiate(accept)));
+        }
+        return super.callToBinaryResponse(sent, body).thenApply(response -> decode(response, canonicalResponseType));
+    }
+
+    /**
+     * Whether the request already asks for a binary format, because the caller set its Accept header that way.
+     */
+    private boolean acceptsBinary(String accept) {
+        for (String mediaType : accept.split(",")) {
+            if (BinaryFormat.of(mediaType) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String negotiate(String jsonMediaType) {
+        StringBuilder accept = new StringBuilder(64);
+        for (BinaryFormat format : formats) {
+            accept.append(format.mediaTypeFor(jsonMediaType)).append(", ");
+        }
+        return accept.append(jsonMediaType).append(";q=0.5").toString();
+    }
+
+    private <R> Response<R> decode(Response<BinaryData> response, String canonicalResponseType) {
+        byte[] bytes = bytes(response.getBody());
+        BinaryFormat format = BinaryFormat.of(Responses.header(response, "Content-Type"));
+        if (format != null) {
+            return LazyResponse.ofBinary(bytes, format, canonicalResponseType, response.getStatus(), response.getHeaders());
+        }
+        return LazyResponse.ofBytes(bytes,
+                Responses.charset(response, getConfig().getResponseCharset()),
+                canonicalResponseType,
+                response.getStatus(),
+                response.getHeaders());
+    }
+
+    private byte[] bytes(BinaryData binaryData) {
+        if (binaryData == null) {
+            return new byte[0];
+        }
+        try {
+            return binaryData.asBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package io.atomicbits.scraml.client.negotiation;
+
+import io.atomicbits.raml10.dsl.javajackson.Client;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientFactory;
+import io.atomicbits.raml10.dsl.javajackson.client.ning.Ning19ClientFactory;
+import io.atomicbits.scraml.json.BinaryFormat;
+import io.atomicbits.scraml.json.ModelModule;
+
+import java.util.Map;
+
+/**
+ * Opts a generated client into binary response negotiation, see {@link NegotiatingClient}:
+ * <pre>
+ *     new RamlTestClient(host, port, "http", null, config, defaultHeaders, new NegotiatingClientFactory(BinaryFormat.SMILE));
+ * </pre>
+ */
+public class NegotiatingClientFactory implements ClientFactory {
+
+    private final ClientFactory delegate;
+    private final BinaryFormat[] formats;
+
+    public NegotiatingClientFactory(BinaryFormat... formats) {
+        this(new Ning19ClientFactory(), formats);
+    }
+
+    public NegotiatingClientFactory(ClientFactory delegate, BinaryFormat... formats) {
+        this.delegate = delegate;
+        this.formats = formats.clone();
+    }
+
+    @Override
+    public Client createClient(String host,
+                               Integer port,
+                               String protocol,
+                               String prefix,
+                               ClientConfig config,
+                               Map<String, String> defaultHeaders) {
+        ModelModule.registerShared();
+        return new NegotiatingClient(delegate.createClient(host, port, protocol, prefix, config, defaultHeaders), formats);
+    }
+
+}
@@ -0,0 +1,55 @@
+package io.atomicbits.scraml.client.retry;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a recent latency percentile of one endpoint. Latencies are recorded wait-free into an HdrHistogram Recorder;
+ * at most once per second the recorder's interval is added to a window, and once the window holds enough samples the
+ * percentile is taken from it and the window starts over.
+ */
+final class LatencyTracker {
+
+    private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MIN_SAMPLES = 20;
+
+    private final double percentile;
+    private final Recorder recorder = new Recorder(2);
+    private final AtomicLong nextRefresh = new AtomicLong(System.nanoTime());
+    private final Histogram window = new Histogram(2);
+    private Histogram interval;
+    private volatile long percentileNanos = -1L;
+
+    LatencyTracker(double percentile) {
+        this.percentile = percentile;
+    }
+
+    void record(long nanos) {
+        recorder.recordValue(nanos);
+        long now = System.nanoTime();
+        long next = nextRefresh.get();
+        if (now - next >= 0 && nextRefresh.compareAndSet(next, now + REFRESH_NANOS)) {
+            refresh();
+        }
+    }
+
+    /**
+     * The latency percentile in nanoseconds, -1 until enough samples came in.
+     */
+    long getPercentileNanos() {
+        return percentileNanos;
+    }
+
+    private void refresh() {
+        interval = recorder.getIntervalHistogram(interval);
+        window.add(interval);
+        if (window.getTotalCount() >= MIN_SAMPLES) {
+            percentileNanos = window.getValueAtPercentile(percentile);
+            window.reset();
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+package io.atomicbits.scraml.client.retry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the extra load that retries and hedges add. Every original request deposits ratio tokens and every retry or
+ * hedge withdraws a whole one, so they can add at most ratio times the original traffic. On top of that the budget
+ * refills at minPerSecond tokens per second, so that a client with little traffic can still retry. The balance never
+ * exceeds maxBalance.
+ */
+public final class RetryBudget {
+
+    private static final long UNIT = 1000L; // tokens are kept in thousandths
+
+    private final long deposit;
+    private final long refillPerSecond;
+    private final long maxBalance;
+    private final long maxRefillNanos;
+
+    private long balance;
+    private long lastRefill = System.nanoTime();
+
+    public RetryBudget(double ratio, int minPerSecond, int maxBalance) {
+        if (ratio < 0 || minPerSecond < 0 || maxBalance < 0) {
+            throw new IllegalArgumentException("A retry budget cannot be negative");
+        }
+        this.deposit = (long) (ratio * UNIT);
+        this.refillPerSecond = minPerSecond * UNIT;
+        this.maxBalance = maxBalance * UNIT;
+        this.balance = this.maxBalance;
+        // Enough time to refill an empty budget, but short enough that refillPerSecond times it cannot overflow.
+        this.maxRefillNanos =
+                refillPerSecond == 0
+                        ? 0L
+                        : Math.min(TimeUnit.SECONDS.toNanos(this.maxBalance / refillPerSecond + 1), Long.MAX_VALUE / refillPerSecond);
+    }
+
+    /**
+     * Retries and hedges add at most 10% to the traffic, with a minimum of 10 per second.
+     */
+    public static RetryBudget defaults() {
+        return new RetryBudget(0.1, 10, 100);
+    }
+
+    /**
+     * A budget that never allows a retry or hedge.
+     */
+    public static RetryBudget none() {
+        return new RetryBudget(0, 0, 0);
+    }
+
+    synchronized void deposit() {
+        balance = Math.min(maxBalance, balance + deposit);
+    }
+
+    synchronized boolean tryWithdraw() {
+        refill();
+        if (balance < UNIT) {
+            return false;
+        }
+        balance -= UNIT;
+        return true;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        long elapsedNanos = Math.min(now - lastRefill, maxRefillNanos);
+        long refill = refillPerSecond * elapsedNanos / TimeUnit.SECONDS.toNanos(1);
+        if (refill > 0) {
+            balance = Math.min(maxBalance, balance + refill);
+            lastRefill = now;
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+package io.atomicbits.scraml.client.retry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How a {@link RetryingClient} retries and hedges the requests of idempotent methods:
+ * <ul>
+ * <li>at most maxAttempts requests per call, the original one, retries and hedges together,</li>
+ * <li>retries after a failure or a retryable status (502, 503 and 504 by default), after a backoff drawn uniformly
+ * between zero and initialBackoff * 2^(retry - 1), capped at maxBackoff ("full jitter"),</li>
+ * <li>with hedging, a backup request once the current attempt has been in flight longer than the given percentile of
+ * the recent latency of its endpoint, and no sooner than the minimum hedge delay. The first response wins.</li>
+ * </ul>
+ * Policies are immutable, the with methods return an adapted copy.
+ */
+public final class RetryPolicy {
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Set<Integer> retryableStatuses;
+    private final double hedgePercentile;
+    private final Duration minHedgeDelay;
+
+    private RetryPolicy(int maxAttempts,
+                        Duration initialBackoff,
+                        Duration maxBackoff,
+                        Set<Integer> retryableStatuses,
+                        double hedgePercentile,
+                        Duration minHedgeDelay) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retryableStatuses = retryableStatuses;
+        this.hedgePercentile = hedgePercentile;
+        this.minHedgeDelay = minHedgeDelay;
+    }
+
+    /**
+     * Three attempts, a backoff starting at 50ms up to 1s, no hedging.
+     */
+    public static RetryPolicy defaults() {
+        return new RetryPolicy(
+                3,
+                Duration.ofMillis(50),
+                Duration.ofSeconds(1),
+                Collections.unmodifiableSet(new HashSet<>(Arrays.asList(502, 503, 504))),
+                0.0,
+                null
+        );
+    }
+
+    public RetryPolicy withMaxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("At least one attempt is needed, not " + maxAttempts);
+        }
+        return new RetryPolicy(maxAttempts, initialBackoff, maxBackoff, retryableStatuses, hedgePercentile, minHedgeDelay);
+    }
+
+    public RetryPolicy withBackoff(Duration initialBackoff, Duration maxBackoff) {
+        return new RetryPolicy(maxAttempts, initialBackoff, maxBackoff, retryableStatuses, hedgePercentile, minHedgeDelay);
+    }
+
+    public RetryPolicy withRetryableStatuses(Integer... statuses) {
+        Set<Integer> retryable = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(statuses)));
+        return new RetryPolicy(maxAttempts, initialBackoff, maxBackoff, retryable, hedgePercentile, minHedgeDelay);
+    }
+
+    /**
+     * Hedges once an attempt takes longer than the given latency percentile of its endpoint (e.g. 95.0), but never
+     * sooner than minHedgeDelay. Until enough latencies are known, minHedgeDelay is used on its own.
+     */
+    public RetryPolicy withHedging(double percentile, Duration minHedgeDelay) {
+        if (percentile <= 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException("The hedge percentile must be in (0, 100], not " + percentile);
+        }
+        return new RetryPolicy(maxAttempts, initialBackoff, maxBackoff, retryableStatuses, percentile, minHedgeDelay);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public boolean isHedging() {
+        return minHedgeDelay != null;
+    }
+
+    double getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    boolean isRetryableStatus(int status) {
+        return retryableStatuses.contains(status);
+    }
+
+    /**
+     * The delay before the given retry (1 for the first retry).
+     */
+    long backoffNanos(int retry) {
+        long ceiling = initialBackoff.toNanos() << Math.min(retry - 1, 30);
+        if (ceiling <= 0 || ceiling > maxBackoff.toNanos()) {
+            ceiling = maxBackoff.toNanos();
+        }
+        return ceiling <= 0 ? 0L : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * The hedge delay given the tracked latency percentile, which is -1 while it is not known yet.
+     */
+    long hedgeDelayNanos(long percentileNanos) {
+        return Math.max(minHedgeDelay.toNanos(), percentileNanos);
+    }
+
+}
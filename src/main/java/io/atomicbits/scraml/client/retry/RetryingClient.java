@@ -0,0 +1,179 @@
+package io.atomicbits.scraml.client.retry;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.atomicbits.raml10.dsl.javajackson.BinaryData;
+import io.atomicbits.raml10.dsl.javajackson.Client;
+import io.atomicbits.raml10.dsl.javajackson.InputStreamBinaryRequest;
+import io.atomicbits.raml10.dsl.javajackson.Method;
+import io.atomicbits.raml10.dsl.javajackson.RequestBuilder;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.scraml.client.ForwardingClient;
+import io.atomicbits.scraml.client.metrics.EndpointNamer;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Client that retries and hedges the requests of idempotent methods (GET, HEAD, OPTIONS, PUT and DELETE) according to
+ * a {@link RetryPolicy}, within a {@link RetryBudget} shared by all its calls. An attempt that fails rather than gets a
+ * response is only retried after an I/O failure or a timeout. Requests with a streamed body cannot be sent twice and
+ * go out once, as do the requests of all other methods.
+ * <p>
+ * The hedge delay follows the latency of each endpoint, as named by the {@link EndpointNamer}, so that a slow
+ * endpoint is not hedged on every call. The attempts that lose a hedge race keep running, their responses are dropped.
+ */
+public class RetryingClient extends ForwardingClient {
+
+    private static final Set<Method> IDEMPOTENT = EnumSet.of(Method.GET, Method.HEAD, Method.OPTIONS, Method.PUT, Method.DELETE);
+
+    private final RetryPolicy policy;
+    private final RetryBudget budget;
+    private final EndpointNamer endpointNamer;
+    private final ConcurrentMap<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+
+    public RetryingClient(Client delegate, RetryPolicy policy, RetryBudget budget, EndpointNamer endpointNamer) {
+        super(delegate);
+        this.policy = policy;
+        this.budget = budget;
+        this.endpointNamer = endpointNamer;
+    }
+
+    @Override
+    public CompletableFuture<Response<String>> callToStringResponse(RequestBuilder request, String body) {
+        if (!isRepeatable(request)) {
+            return super.callToStringResponse(request, body);
+        }
+        return new Call<>(request, () -> super.callToStringResponse(request, body)).start();
+    }
+
+    @Override
+    public CompletableFuture<Response<BinaryData>> callToBinaryResponse(RequestBuilder request, String body) {
+        if (!isRepeatable(request)) {
+            return super.callToBinaryResponse(request, body);
+        }
+        return new Call<>(request, () -> super.callToBinaryResponse(request, body)).start();
+    }
+
+    @Override
+    public <R> CompletableFuture<Response<R>> callToTypeResponse(RequestBuilder request, String body, String canonicalResponseType) {
+        if (!isRepeatable(request)) {
+            return super.callToTypeResponse(request, body, canonicalResponseType);
+        }
+        return new Call<>(request, () -> super.<R>callToTypeResponse(request, body, canonicalResponseType)).start();
+    }
+
+    private boolean isRepeatable(RequestBuilder request) {
+        return IDEMPOTENT.contains(request.getMethod()) && !(request.getBinaryRequest() instanceof InputStreamBinaryRequest);
+    }
+
+    /**
+     * Whether a failed attempt is worth another try: an I/O failure or a timeout, where the request may not have
+     * reached the server or its answer got lost. A body that cannot be decoded or mapped would fail the same way again.
+     */
+    private static boolean isRetryable(Throwable failure) {
+        Throwable cause = failure;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return (cause instanceof IOException && !(cause instanceof JsonProcessingException)) || cause instanceof TimeoutException;
+    }
+
+    /**
+     * The attempts of one call. The first attempt with a response that is not retryable completes the call.
+     */
+    private final class Call<T> {
+
+        private final Supplier<CompletableFuture<Response<T>>> attempt;
+        private final LatencyTracker latency;
+        private final CompletableFuture<Response<T>> result = new CompletableFuture<>();
+
+        // Guarded by this.
+        private int started;
+        private int outstanding;
+
+        Call(RequestBuilder request, Supplier<CompletableFuture<Response<T>>> attempt) {
+            this.attempt = attempt;
+            this.latency =
+                    policy.isHedging()
+                            ? latencies.computeIfAbsent(endpointNamer.name(request), name -> new LatencyTracker(policy.getHedgePercentile()))
+                            : null;
+        }
+
+        CompletableFuture<Response<T>> start() {
+            budget.deposit();
+            launch();
+            return result;
+        }
+
+        private void launch() {
+            int attemptNumber;
+            synchronized (this) {
+                attemptNumber = ++started;
+                outstanding++;
+            }
+            long startedAt = System.nanoTime();
+            CompletableFuture<Response<T>> response;
+            try {
+                response = attempt.get();
+            } catch (RuntimeException e) {
+                response = new CompletableFuture<>();
+                response.completeExceptionally(e);
+            }
+            response.whenComplete((value, failure) -> onOutcome(value, failure, System.nanoTime() - startedAt));
+            if (latency != null && attemptNumber < policy.getMaxAttempts()) {
+                long delay = policy.hedgeDelayNanos(latency.getPercentileNanos());
+                CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> hedge(attemptNumber));
+            }
+        }
+
+        private void hedge(int attemptNumber) {
+            synchronized (this) {
+                // Only hedge the latest attempt, and only while it is still running.
+                if (result.isDone() || started != attemptNumber || outstanding == 0) {
+                    return;
+                }
+            }
+            if (budget.tryWithdraw()) {
+                launch();
+            }
+        }
+
+        private void onOutcome(Response<T> response, Throwable failure, long nanos) {
+            if (latency != null && failure == null) {
+                latency.record(nanos);
+            }
+            boolean retryable = failure != null ? isRetryable(failure) : policy.isRetryableStatus(response.getStatus());
+            int retry = 0;
+            synchronized (this) {
+                outstanding--;
+                if (result.isDone()) {
+                    return;
+                }
+                if (retryable && outstanding > 0) {
+                    return; // a hedge is still running, it gets its chance
+                }
+                if (retryable && started < policy.getMaxAttempts() && budget.tryWithdraw()) {
+                    retry = started;
+                }
+            }
+            if (retry > 0) {
+                CompletableFuture.delayedExecutor(policy.backoffNanos(retry), TimeUnit.NANOSECONDS).execute(this::launch);
+            } else if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(response);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,52 @@
+package io.atomicbits.scraml.client.retry;
+
+import io.atomicbits.raml10.dsl.javajackson.Client;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientFactory;
+import io.atomicbits.raml10.dsl.javajackson.client.ning.Ning19ClientFactory;
+import io.atomicbits.scraml.client.metrics.EndpointNamer;
+import io.atomicbits.scraml.json.ModelModule;
+
+import java.util.Map;
+
+/**
+ * Opts a generated client into retries and hedging, see {@link RetryingClient}. To hedge at the p95 latency of each
+ * endpoint, and at the earliest after 20ms:
+ * <pre>
+ *     RetryPolicy policy = RetryPolicy.defaults().withHedging(95.0, Duration.ofMillis(20));
+ *     new RamlTestClient(host, port, "http", null, config, defaultHeaders,
+ *             new RetryingClientFactory(policy, RetryBudget.defaults(), EndpointNamer.byPath()));
+ * </pre>
+ * The clients the factory creates share the one budget.
+ */
+public class RetryingClientFactory implements ClientFactory {
+
+    private final ClientFactory delegate;
+    private final RetryPolicy policy;
+    private final RetryBudget budget;
+    private final EndpointNamer endpointNamer;
+
+    public RetryingClientFactory(RetryPolicy policy, RetryBudget budget, EndpointNamer endpointNamer) {
+        this(new Ning19ClientFactory(), policy, budget, endpointNamer);
+    }
+
+    public RetryingClientFactory(ClientFactory delegate, RetryPolicy policy, RetryBudget budget, EndpointNamer endpointNamer) {
+        this.delegate = delegate;
+        this.policy = policy;
+        this.budget = budget;
+        this.endpointNamer = endpointNamer;
+    }
+
+    @Override
+    public Client createClient(String host,
+                               Integer port,
+                               String protocol,
+                               String prefix,
+                               ClientConfig config,
+                               Map<String, String> defaultHeaders) {
+        ModelModule.registerShared();
+        Client client = delegate.createClient(host, port, protocol, prefix, config, defaultHeaders);
+        return new RetryingClient(client, policy, budget, endpointNamer);
+    }
+
+}
@@ -0,0 +1,77 @@
+package io.atomicbits.scraml.download;
+
+import com.ning.http.client.AsyncHttpClient;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Downloads binary (application/octet-stream) resources, such as /rest/animals/datafile/download, straight into a
+ * channel or file. Body parts are written to the target while they come in, so the heap usage does not depend on the
+ * size of the download, contrary to reading the BinaryData of the generated get() method with asBytes().
+ * <p>
+ * The body of the resulting response is the number of bytes that were written to the target.
+ */
+public class ChannelDownloader {
+
+    private final AsyncHttpClient httpClient;
+
+    public ChannelDownloader(AsyncHttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    public CompletableFuture<Response<Long>> download(String url, WritableByteChannel target) {
+        return download(url, Collections.emptyMap(), target);
+    }
+
+    /**
+     * Downloads into the given channel. The channel is not closed when the download completes.
+     */
+    public CompletableFuture<Response<Long>> download(String url, Map<String, String> headers, WritableByteChannel target) {
+        ChannelWritingHandler handler = new ChannelWritingHandler(target);
+        AsyncHttpClient.BoundRequestBuilder request = httpClient.prepareGet(url);
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            request.addHeader(header.getKey(), header.getValue());
+        }
+        try {
+            request.execute(handler);
+        } catch (RuntimeException e) {
+            handler.getResult().completeExceptionally(e);
+        }
+        return handler.getResult();
+    }
+
+    public CompletableFuture<Response<Long>> download(String url, Path target) {
+        return download(url, Collections.emptyMap(), target);
+    }
+
+    /**
+     * Downloads into the given file, which is created or truncated first and closed when the download completes.
+     */
+    public CompletableFuture<Response<Long>> download(String url, Map<String, String> headers, Path target) {
+        FileChannel fileChannel;
+        try {
+            fileChannel =
+                    FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            CompletableFuture<Response<Long>> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        return download(url, headers, fileChannel).whenComplete((response, throwable) -> {
+            try {
+                fileChannel.close();
+            } catch (IOException e) {
+                // the download result is already determined
+            }
+        });
+    }
+
+}
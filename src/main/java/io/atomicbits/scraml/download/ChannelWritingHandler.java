@@ -0,0 +1,89 @@
+package io.atomicbits.scraml.download;
+
+import com.ning.http.client.AsyncHandler;
+import com.ning.http.client.HttpResponseBodyPart;
+import com.ning.http.client.HttpResponseHeaders;
+import com.ning.http.client.HttpResponseStatus;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Ning handler that writes each body part of a successful (2xx) response to a channel as soon as it arrives. The
+ * response body is never collected in memory. The body of a non-2xx response is kept as the string body of the
+ * response instead, so that the target channel only ever receives the actual download.
+ */
+class ChannelWritingHandler implements AsyncHandler<Response<Long>> {
+
+    private final WritableByteChannel target;
+    private final CompletableFuture<Response<Long>> result = new CompletableFuture<>();
+
+    private int status;
+    private Map<String, List<String>> headers = new HashMap<>();
+    private ByteArrayOutputStream errorBody;
+    private long bytesWritten = 0L;
+
+    ChannelWritingHandler(WritableByteChannel target) {
+        this.target = target;
+    }
+
+    CompletableFuture<Response<Long>> getResult() {
+        return result;
+    }
+
+    @Override
+    public STATE onStatusReceived(HttpResponseStatus responseStatus) throws Exception {
+        status = responseStatus.getStatusCode();
+        if (status < 200 || status >= 300) {
+            errorBody = new ByteArrayOutputStream();
+        }
+        return STATE.CONTINUE;
+    }
+
+    @Override
+    public STATE onHeadersReceived(HttpResponseHeaders responseHeaders) throws Exception {
+        for (Map.Entry<String, List<String>> header : responseHeaders.getHeaders().entrySet()) {
+            headers.put(header.getKey(), new ArrayList<>(header.getValue()));
+        }
+        return STATE.CONTINUE;
+    }
+
+    @Override
+    public STATE onBodyPartReceived(HttpResponseBodyPart bodyPart) throws Exception {
+        if (errorBody != null) {
+            bodyPart.writeTo(errorBody);
+            return STATE.CONTINUE;
+        }
+        ByteBuffer buffer = bodyPart.getBodyByteBuffer();
+        while (buffer.hasRemaining()) {
+            bytesWritten += target.write(buffer);
+        }
+        return STATE.CONTINUE;
+    }
+
+    @Override
+    public Response<Long> onCompleted() throws Exception {
+        Response<Long> response;
+        if (errorBody != null) {
+            response = new Response<>(new String(errorBody.toByteArray(), StandardCharsets.UTF_8), null, status, headers);
+        } else {
+            response = new Response<>(null, bytesWritten, status, headers);
+        }
+        result.complete(response);
+        return response;
+    }
+
+    @Override
+    public void onThrowable(Throwable t) {
+        result.completeExceptionally(t);
+    }
+
+}
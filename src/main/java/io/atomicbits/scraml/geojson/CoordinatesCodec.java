@@ -0,0 +1,229 @@
+package io.atomicbits.scraml.geojson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Streams a GeoJSON coordinates array of any depth straight into {@link PackedCoordinates} and back, without boxing
+ * a single number or allocating a list per position.
+ */
+final class CoordinatesCodec {
+
+    private static final int MAX_DEPTH = 4;
+
+    private CoordinatesCodec() {
+    }
+
+    /**
+     * Reads the coordinates array the parser is positioned at. An empty array counts as an empty run of positions.
+     */
+    static PackedCoordinates read(JsonParser p) throws IOException {
+        if (p.getCurrentToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(p, "GeoJSON coordinates must be an array, found " + p.getCurrentToken());
+        }
+        Reader reader = new Reader();
+        int depth = reader.readArray(p, 1);
+        switch (depth) {
+            case 1:
+                return new PackedCoordinates(1, reader.dimension, reader.values.toArray(), null, null);
+            case 0:
+            case 2:
+                return new PackedCoordinates(2, reader.dimension, reader.values.toArray(), new int[]{0, reader.positionCount()}, null);
+            case 3:
+                return new PackedCoordinates(3, reader.dimension, reader.values.toArray(), reader.ringOffsets.toArray(), null);
+            case 4:
+                return new PackedCoordinates(4, reader.dimension, reader.values.toArray(), reader.ringOffsets.toArray(), reader.partOffsets.toArray());
+            default:
+                throw new JsonParseException(p, "GeoJSON coordinates are nested at most " + MAX_DEPTH + " levels deep, found " + depth);
+        }
+    }
+
+    static void write(JsonGenerator gen, PackedCoordinates coordinates) throws IOException {
+        int[] parts = coordinates.getPartOffsets();
+        switch (coordinates.getDepth()) {
+            case 1:
+                writePosition(gen, coordinates, 0);
+                break;
+            case 2:
+                writePositions(gen, coordinates, 0, coordinates.getPositionCount());
+                break;
+            case 3:
+                writeRings(gen, coordinates, 0, coordinates.getRingCount());
+                break;
+            default:
+                gen.writeStartArray();
+                for (int part = 0; part < coordinates.getPartCount(); part++) {
+                    writeRings(gen, coordinates, parts[part], parts[part + 1]);
+                }
+                gen.writeEndArray();
+        }
+    }
+
+    private static void writeRings(JsonGenerator gen, PackedCoordinates coordinates, int from, int to) throws IOException {
+        int[] rings = coordinates.getRingOffsets();
+        gen.writeStartArray();
+        for (int ring = from; ring < to; ring++) {
+            writePositions(gen, coordinates, rings[ring], rings[ring + 1]);
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writePositions(JsonGenerator gen, PackedCoordinates coordinates, int from, int to) throws IOException {
+        gen.writeStartArray();
+        for (int position = from; position < to; position++) {
+            writePosition(gen, coordinates, position);
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writePosition(JsonGenerator gen, PackedCoordinates coordinates, int position) throws IOException {
+        double[] values = coordinates.getValues();
+        int dimension = coordinates.getDimension();
+        gen.writeArray(values, position * dimension, dimension);
+    }
+
+    private static final class Reader {
+
+        private final DoubleArray values = new DoubleArray();
+        private final IntArray ringOffsets = new IntArray();
+        private final IntArray partOffsets = new IntArray();
+        private int dimension = 0; // unknown until the first position is read
+
+        Reader() {
+            ringOffsets.add(0);
+            partOffsets.add(0);
+        }
+
+        int positionCount() {
+            return dimension == 0 ? 0 : values.size / dimension;
+        }
+
+        /**
+         * Reads the array at the current START_ARRAY token and returns its depth: 1 for a position, 2 for an array of
+         * positions and so on, 0 for an empty array. The level counts the enclosing arrays, so that a deeper nesting
+         * fails as soon as it is found instead of recursing as deep as the input goes.
+         * <p>
+         * An empty array takes the depth of its siblings, e.g. an empty polygon in a MultiPolygon. Empty arrays that
+         * come before the first sibling with content are counted and get their offsets once that sibling is read;
+         * when no sibling has content they are empty runs of positions.
+         */
+        int readArray(JsonParser p, int level) throws IOException {
+            if (level > MAX_DEPTH) {
+                throw new JsonParseException(p, "GeoJSON coordinates are nested at most " + MAX_DEPTH + " levels deep");
+            }
+            JsonToken token = p.nextToken();
+            if (token == JsonToken.END_ARRAY) {
+                return 0;
+            }
+            if (token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT) {
+                int count = 0;
+                for (; token != JsonToken.END_ARRAY; token = p.nextToken()) {
+                    if (token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_NUMBER_INT) {
+                        throw new JsonParseException(p, "A GeoJSON position contains numbers only, found " + token);
+                    }
+                    values.add(p.getDoubleValue());
+                    count++;
+                }
+                if (dimension == 0) {
+                    dimension = count;
+                } else if (dimension != count) {
+                    throw new JsonParseException(p, "All positions must have " + dimension + " values, found " + count);
+                }
+                return 1;
+            }
+            int ringsBefore = ringOffsets.size;
+            int partsBefore = partOffsets.size;
+            int positionsBefore = positionCount();
+            int childDepth = -1;
+            int leadingEmpty = 0;
+            for (; token != JsonToken.END_ARRAY; token = p.nextToken()) {
+                if (token != JsonToken.START_ARRAY) {
+                    throw new JsonParseException(p, "Unexpected " + token + " in GeoJSON coordinates");
+                }
+                int depth = readArray(p, level + 1);
+                boolean empty = depth == 0;
+                if (empty) {
+                    if (childDepth == -1) {
+                        leadingEmpty++;
+                        continue;
+                    }
+                    depth = childDepth;
+                } else if (childDepth == -1) {
+                    if (depth == 2) {
+                        ringOffsets.insert(ringsBefore, positionsBefore, leadingEmpty);
+                    } else if (depth == 3) {
+                        partOffsets.insert(partsBefore, ringsBefore - 1, leadingEmpty);
+                    }
+                } else if (depth != childDepth) {
+                    throw new JsonParseException(p, "GeoJSON coordinates mix nesting depths " + childDepth + " and " + depth);
+                }
+                childDepth = depth;
+                if (depth == 1 && (empty || leadingEmpty > 0)) {
+                    throw new JsonParseException(p, "A GeoJSON position cannot be empty");
+                }
+                if (depth == 2) {
+                    ringOffsets.add(positionCount());
+                } else if (depth == 3) {
+                    partOffsets.add(ringOffsets.size - 1);
+                }
+            }
+            if (childDepth == -1) {
+                ringOffsets.insert(ringsBefore, positionsBefore, leadingEmpty);
+                return 3;
+            }
+            return childDepth + 1;
+        }
+
+    }
+
+    private static final class DoubleArray {
+
+        private double[] elements = new double[64];
+        private int size = 0;
+
+        void add(double value) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, size * 2);
+            }
+            elements[size++] = value;
+        }
+
+        double[] toArray() {
+            return Arrays.copyOf(elements, size);
+        }
+
+    }
+
+    private static final class IntArray {
+
+        private int[] elements = new int[8];
+        private int size = 0;
+
+        void add(int value) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, size * 2);
+            }
+            elements[size++] = value;
+        }
+
+        void insert(int index, int value, int count) {
+            if (size + count > elements.length) {
+                elements = Arrays.copyOf(elements, Math.max(size * 2, size + count));
+            }
+            System.arraycopy(elements, index, elements, index + count, size - index);
+            Arrays.fill(elements, index, index + count, value);
+            size += count;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(elements, size);
+        }
+
+    }
+
+}
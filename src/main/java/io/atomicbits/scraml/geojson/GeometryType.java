@@ -0,0 +1,38 @@
+package io.atomicbits.scraml.geojson;
+
+/**
+ * The GeoJSON geometry types with the nesting depth of their coordinates.
+ */
+public enum GeometryType {
+
+    Point(1),
+    MultiPoint(2),
+    LineString(2),
+    MultiLineString(3),
+    Polygon(3),
+    MultiPolygon(4),
+    GeometryCollection(0);
+
+    private final int coordinatesDepth;
+
+    GeometryType(int coordinatesDepth) {
+        this.coordinatesDepth = coordinatesDepth;
+    }
+
+    public int getCoordinatesDepth() {
+        return coordinatesDepth;
+    }
+
+    /**
+     * @return the geometry type with the given name, or null if there is none.
+     */
+    public static GeometryType of(String name) {
+        for (GeometryType geometryType : values()) {
+            if (geometryType.name().equals(name)) {
+                return geometryType;
+            }
+        }
+        return null;
+    }
+
+}
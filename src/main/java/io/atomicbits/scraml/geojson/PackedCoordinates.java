@@ -0,0 +1,112 @@
+package io.atomicbits.scraml.geojson;
+
+import java.util.Arrays;
+
+/**
+ * GeoJSON coordinates packed into primitive arrays instead of nested lists of boxed doubles.
+ * <p>
+ * All positions are stored one after the other in a single double[], each taking {@link #getDimension()} values.
+ * The nesting of the GeoJSON coordinates array is kept in offset arrays:
+ * <ul>
+ * <li>depth 1 (Point): a single position, no offsets.</li>
+ * <li>depth 2 (MultiPoint, LineString): one run of positions, ring offsets [0, n].</li>
+ * <li>depth 3 (Polygon, MultiLineString): ring offsets [0, a, b, ..., n] index the first position of every ring (or
+ * line), the last entry is the total number of positions.</li>
+ * <li>depth 4 (MultiPolygon): additionally, part offsets index the first ring of every polygon.</li>
+ * </ul>
+ */
+public final class PackedCoordinates {
+
+    private static final int[] NO_OFFSETS = new int[0];
+
+    private final int depth;
+    private final int dimension;
+    private final double[] values;
+    private final int[] ringOffsets;
+    private final int[] partOffsets;
+
+    public PackedCoordinates(int depth, int dimension, double[] values, int[] ringOffsets, int[] partOffsets) {
+        if (depth < 1 || depth > 4) {
+            throw new IllegalArgumentException("GeoJSON coordinates are nested 1 to 4 levels deep, not " + depth);
+        }
+        if (dimension < 0 || (dimension > 0 && values.length % dimension != 0)) {
+            throw new IllegalArgumentException(values.length + " values do not form positions of dimension " + dimension);
+        }
+        this.depth = depth;
+        this.dimension = dimension;
+        this.values = values;
+        this.ringOffsets = ringOffsets == null ? NO_OFFSETS : ringOffsets;
+        this.partOffsets = partOffsets == null ? NO_OFFSETS : partOffsets;
+    }
+
+    public static PackedCoordinates point(double... position) {
+        return new PackedCoordinates(1, position.length, position, null, null);
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * The number of values per position, 2 (longitude, latitude) or 3 (with altitude).
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+    public int getPositionCount() {
+        return dimension == 0 ? 0 : values.length / dimension;
+    }
+
+    public double getValue(int position, int axis) {
+        return values[position * dimension + axis];
+    }
+
+    public int getRingCount() {
+        return Math.max(0, ringOffsets.length - 1);
+    }
+
+    public int getPartCount() {
+        return Math.max(0, partOffsets.length - 1);
+    }
+
+    /**
+     * The underlying arrays are shared, not copied. Do not modify them.
+     */
+    public double[] getValues() {
+        return values;
+    }
+
+    public int[] getRingOffsets() {
+        return ringOffsets;
+    }
+
+    public int[] getPartOffsets() {
+        return partOffsets;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof PackedCoordinates)) {
+            return false;
+        }
+        PackedCoordinates that = (PackedCoordinates) other;
+        return depth == that.depth
+                && dimension == that.dimension
+                && Arrays.equals(values, that.values)
+                && Arrays.equals(ringOffsets, that.ringOffsets)
+                && Arrays.equals(partOffsets, that.partOffsets);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 31 * depth + dimension;
+        result = 31 * result + Arrays.hashCode(values);
+        result = 31 * result + Arrays.hashCode(ringOffsets);
+        return 31 * result + Arrays.hashCode(partOffsets);
+    }
+
+}
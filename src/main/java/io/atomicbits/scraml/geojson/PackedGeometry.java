@@ -0,0 +1,71 @@
+package io.atomicbits.scraml.geojson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A GeoJSON geometry (see geometry.json) with its coordinates in {@link PackedCoordinates}. It reads and writes the
+ * same JSON as the generated Geometry hierarchy, so it can be used as the target type instead of Geometry wherever
+ * large geometries are decoded, e.g. Json.getObjectMapper().readValue(response.getStringBody(), PackedGeometry.class)
+ * or element by element with JsonArrays.
+ */
+@JsonSerialize(using = PackedGeometryCodec.Serializer.class)
+@JsonDeserialize(using = PackedGeometryCodec.Deserializer.class)
+public final class PackedGeometry {
+
+    private final String type;
+    private final PackedCoordinates coordinates;
+    private final List<PackedGeometry> geometries;
+    private final double[] bbox;
+    private final JsonNode crs;
+
+    public PackedGeometry(String type, PackedCoordinates coordinates, double[] bbox, JsonNode crs) {
+        this(type, coordinates, null, bbox, crs);
+    }
+
+    public static PackedGeometry collection(List<PackedGeometry> geometries, double[] bbox, JsonNode crs) {
+        return new PackedGeometry(GeometryType.GeometryCollection.name(), null, geometries, bbox, crs);
+    }
+
+    PackedGeometry(String type, PackedCoordinates coordinates, List<PackedGeometry> geometries, double[] bbox, JsonNode crs) {
+        this.type = type;
+        this.coordinates = coordinates;
+        this.geometries = geometries == null ? null : Collections.unmodifiableList(geometries);
+        this.bbox = bbox;
+        this.crs = crs;
+    }
+
+    /**
+     * The GeoJSON type name, e.g. "Polygon".
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * The coordinates, null for a GeometryCollection.
+     */
+    public PackedCoordinates getCoordinates() {
+        return coordinates;
+    }
+
+    /**
+     * The member geometries of a GeometryCollection, null for any other type.
+     */
+    public List<PackedGeometry> getGeometries() {
+        return geometries;
+    }
+
+    public double[] getBbox() {
+        return bbox;
+    }
+
+    public JsonNode getCrs() {
+        return crs;
+    }
+
+}
@@ -0,0 +1,133 @@
+package io.atomicbits.scraml.geojson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming (de)serialization of {@link PackedGeometry}.
+ */
+final class PackedGeometryCodec {
+
+    private PackedGeometryCodec() {
+    }
+
+    static class Serializer extends StdSerializer<PackedGeometry> {
+
+        Serializer() {
+            super(PackedGeometry.class);
+        }
+
+        @Override
+        public void serialize(PackedGeometry geometry, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("type", geometry.getType());
+            if (geometry.getCoordinates() != null) {
+                gen.writeFieldName("coordinates");
+                CoordinatesCodec.write(gen, geometry.getCoordinates());
+            }
+            if (geometry.getGeometries() != null) {
+                gen.writeArrayFieldStart("geometries");
+                for (PackedGeometry member : geometry.getGeometries()) {
+                    serialize(member, gen, provider);
+                }
+                gen.writeEndArray();
+            }
+            if (geometry.getBbox() != null) {
+                gen.writeFieldName("bbox");
+                gen.writeArray(geometry.getBbox(), 0, geometry.getBbox().length);
+            }
+            if (geometry.getCrs() != null) {
+                gen.writeFieldName("crs");
+                gen.writeTree(geometry.getCrs());
+            }
+            gen.writeEndObject();
+        }
+
+    }
+
+    static class Deserializer extends StdDeserializer<PackedGeometry> {
+
+        Deserializer() {
+            super(PackedGeometry.class);
+        }
+
+        @Override
+        public PackedGeometry deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.getCurrentToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = p.nextToken();
+            }
+            String type = null;
+            PackedCoordinates coordinates = null;
+            List<PackedGeometry> geometries = null;
+            double[] bbox = null;
+            JsonNode crs = null;
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String field = p.getCurrentName();
+                p.nextToken();
+                switch (field) {
+                    case "type":
+                        type = p.getValueAsString();
+                        break;
+                    case "coordinates":
+                        coordinates = CoordinatesCodec.read(p);
+                        break;
+                    case "geometries":
+                        geometries = new ArrayList<>();
+                        for (JsonToken member = p.nextToken(); member != JsonToken.END_ARRAY; member = p.nextToken()) {
+                            geometries.add(deserialize(p, ctxt));
+                        }
+                        break;
+                    case "bbox":
+                        bbox = readNumbers(p);
+                        break;
+                    case "crs":
+                        crs = ctxt.readValue(p, JsonNode.class);
+                        break;
+                    default:
+                        ctxt.handleUnknownProperty(p, this, PackedGeometry.class, field);
+                }
+            }
+            GeometryType geometryType = GeometryType.of(type);
+            if (geometryType == null) {
+                throw ctxt.mappingException("Unknown GeoJSON geometry type '" + type + "'");
+            }
+            if (geometryType == GeometryType.GeometryCollection) {
+                return PackedGeometry.collection(geometries, bbox, crs);
+            }
+            if (coordinates == null) {
+                throw ctxt.mappingException("A GeoJSON " + type + " requires coordinates");
+            }
+            if (coordinates.getPositionCount() > 0 && coordinates.getDepth() != geometryType.getCoordinatesDepth()) {
+                throw ctxt.mappingException("The coordinates of a GeoJSON " + type + " are nested " +
+                        geometryType.getCoordinatesDepth() + " levels deep, not " + coordinates.getDepth());
+            }
+            return new PackedGeometry(type, coordinates, bbox, crs);
+        }
+
+        private double[] readNumbers(JsonParser p) throws IOException {
+            double[] numbers = new double[6];
+            int size = 0;
+            for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken()) {
+                if (size == numbers.length) {
+                    numbers = Arrays.copyOf(numbers, size * 2);
+                }
+                numbers[size++] = p.getDoubleValue();
+            }
+            return Arrays.copyOf(numbers, size);
+        }
+
+    }
+
+}
@@ -0,0 +1,125 @@
+package io.atomicbits.scraml.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The binary JSON formats that can stand in for JSON on the wire: Jackson Smile and CBOR. They carry the same data
+ * model as JSON, so the model classes and their (de)serializers are used as they are. The readers and writers are
+ * those of {@link JsonCodecs} with the parser and generator factory of the format.
+ * <p>
+ * Every JSON media type has a binary counterpart: "application/json" becomes "application/x-jackson-smile" or
+ * "application/cbor" and a vendor type keeps its version, e.g. "application/vnd-v1.0+json" becomes
+ * "application/vnd-v1.0+smile" or "application/vnd-v1.0+cbor".
+ */
+public enum BinaryFormat {
+
+    SMILE("application/x-jackson-smile", "+smile", new SmileFactory()),
+    CBOR("application/cbor", "+cbor", new CBORFactory());
+
+    private static final int MAX_CACHED_TYPES = 1024;
+
+    private static final String JSON = "application/json";
+    private static final String JSON_SUFFIX = "+json";
+
+    private final String mediaType;
+    private final String suffix;
+    private final JsonFactory factory;
+
+    private final ConcurrentMap<String, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    BinaryFormat(String mediaType, String suffix, JsonFactory factory) {
+        this.mediaType = mediaType;
+        this.suffix = suffix;
+        this.factory = factory;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public JsonFactory getFactory() {
+        return factory;
+    }
+
+    /**
+     * The format of the given Content-Type, or null if it is none of the binary formats.
+     */
+    public static BinaryFormat of(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        String type = baseType(contentType);
+        for (BinaryFormat format : values()) {
+            if (type.equals(format.mediaType) || type.endsWith(format.suffix)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether the given media type is JSON, either "application/json" or a "+json" vendor type.
+     */
+    public static boolean isJson(String mediaType) {
+        String type = baseType(mediaType);
+        return type.equals(JSON) || type.endsWith(JSON_SUFFIX);
+    }
+
+    /**
+     * The counterpart of a JSON media type in this format, or null if the media type is no JSON.
+     */
+    public String mediaTypeFor(String jsonMediaType) {
+        String type = baseType(jsonMediaType);
+        if (type.equals(JSON)) {
+            return mediaType;
+        }
+        if (type.endsWith(JSON_SUFFIX)) {
+            return type.substring(0, type.length() - JSON_SUFFIX.length()) + suffix;
+        }
+        return null;
+    }
+
+    /**
+     * The reader for a canonical type name, see {@link JsonCodecs#reader(String)}.
+     */
+    public ObjectReader reader(String canonicalType) {
+        ObjectReader reader = readers.get(canonicalType);
+        if (reader == null) {
+            reader = JsonCodecs.reader(canonicalType).with(factory);
+            if (readers.size() < MAX_CACHED_TYPES) {
+                readers.putIfAbsent(canonicalType, reader);
+            }
+        }
+        return reader;
+    }
+
+    /**
+     * The writer for a canonical type name, see {@link JsonCodecs#writer(String)}.
+     */
+    public ObjectWriter writer(String canonicalType) {
+        ObjectWriter writer = writers.get(canonicalType);
+        if (writer == null) {
+            writer = JsonCodecs.writer(canonicalType).with(factory);
+            if (writers.size() < MAX_CACHED_TYPES) {
+                writers.putIfAbsent(canonicalType, writer);
+            }
+        }
+        return writer;
+    }
+
+    private static String baseType(String mediaType) {
+        int semicolon = mediaType.indexOf(';');
+        String type = semicolon < 0 ? mediaType : mediaType.substring(0, semicolon);
+        return type.trim().toLowerCase(Locale.ENGLISH);
+    }
+
+}
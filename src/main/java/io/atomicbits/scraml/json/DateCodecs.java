@@ -0,0 +1,108 @@
+package io.atomicbits.scraml.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.atomicbits.raml10.dsl.javajackson.DateOnly;
+import io.atomicbits.raml10.dsl.javajackson.DateTimeOnly;
+import io.atomicbits.raml10.dsl.javajackson.DateTimeRFC2616;
+import io.atomicbits.raml10.dsl.javajackson.DateTimeRFC3339;
+import io.atomicbits.raml10.dsl.javajackson.TimeOnly;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+
+/**
+ * Streaming (de)serialization of the RAML date types with {@link RamlDates}. Values are parsed straight from the text
+ * buffer of the parser and written from a char array, the date types never go through their toString or a
+ * DateTimeFormatter.
+ */
+final class DateCodecs {
+
+    private DateCodecs() {
+    }
+
+    static void register(SimpleModule module) {
+        add(module, DateOnly.class,
+                (date, buffer) -> RamlDates.formatDate(date.getDate(), buffer, 0),
+                (chars, offset, length) -> new DateOnly(RamlDates.parseDate(chars, offset, length)));
+        add(module, TimeOnly.class,
+                (time, buffer) -> RamlDates.formatTime(time.getTime(), buffer, 0),
+                (chars, offset, length) -> new TimeOnly(RamlDates.parseTime(chars, offset, length)));
+        add(module, DateTimeOnly.class,
+                (dateTime, buffer) -> RamlDates.formatDateTime(dateTime.getDateTime(), buffer, 0),
+                (chars, offset, length) -> new DateTimeOnly(RamlDates.parseDateTime(chars, offset, length)));
+        add(module, DateTimeRFC3339.class,
+                (dateTime, buffer) -> RamlDates.formatRfc3339(dateTime.getDateTime(), buffer, 0),
+                (chars, offset, length) -> new DateTimeRFC3339(RamlDates.parseRfc3339(chars, offset, length)));
+        add(module, DateTimeRFC2616.class,
+                (dateTime, buffer) -> RamlDates.formatRfc2616(dateTime.getDateTime(), buffer, 0),
+                (chars, offset, length) -> new DateTimeRFC2616(RamlDates.parseRfc2616(chars, offset, length)));
+    }
+
+    private static <T> void add(SimpleModule module, Class<T> type, Format<T> format, Parse<T> parse) {
+        module.addSerializer(type, new Serializer<>(type, format));
+        module.addDeserializer(type, new Deserializer<>(type, parse));
+    }
+
+    interface Format<T> {
+
+        /**
+         * Writes the value into the buffer from index 0 and returns its length.
+         */
+        int format(T value, char[] buffer);
+
+    }
+
+    interface Parse<T> {
+
+        T parse(char[] chars, int offset, int length);
+
+    }
+
+    static class Serializer<T> extends StdSerializer<T> {
+
+        private final Format<T> format;
+
+        Serializer(Class<T> type, Format<T> format) {
+            super(type);
+            this.format = format;
+        }
+
+        @Override
+        public void serialize(T value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            char[] buffer = new char[RamlDates.MAX_LENGTH];
+            gen.writeString(buffer, 0, format.format(value, buffer));
+        }
+
+    }
+
+    static class Deserializer<T> extends StdDeserializer<T> {
+
+        private final Parse<T> parse;
+
+        Deserializer(Class<T> type, Parse<T> parse) {
+            super(type);
+            this.parse = parse;
+        }
+
+        @Override
+        public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.getCurrentToken() != JsonToken.VALUE_STRING) {
+                throw ctxt.mappingException(handledType(), p.getCurrentToken());
+            }
+            try {
+                return parse.parse(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            } catch (DateTimeException e) {
+                throw ctxt.weirdStringException(p.getText(), handledType(), e.getMessage());
+            }
+        }
+
+    }
+
+}
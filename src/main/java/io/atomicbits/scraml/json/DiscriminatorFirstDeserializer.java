@@ -0,0 +1,182 @@
+package io.atomicbits.scraml.json;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deserializer for a polymorphic type with a type discriminator property, such as Animal (_type), Geometry (type) or
+ * Book (kind).
+ * <p>
+ * When the discriminator is the first property of the object, which is how the generated client and most servers
+ * write it, the subtype is known before anything else is read and the object is decoded straight into the subtype's
+ * bean deserializer. Only when other properties come first are those buffered until the discriminator is found.
+ * The subtype deserializers are resolved once and then reused.
+ * <p>
+ * The discriminator values and subtypes are read once from the @JsonTypeInfo and @JsonSubTypes annotations of the
+ * generated base type, recursively for intermediate types such as ComicBook. Register it on the root of a hierarchy
+ * only, see {@link DiscriminatorModule}.
+ */
+public class DiscriminatorFirstDeserializer<T> extends StdDeserializer<T> {
+
+    private final String discriminator;
+    private final boolean discriminatorVisible;
+    private final Map<String, Class<?>> subtypes;
+    private final Class<?> defaultImpl;
+    private final Map<Class<?>, JsonDeserializer<Object>> deserializers = new ConcurrentHashMap<>();
+
+    public DiscriminatorFirstDeserializer(Class<T> baseType) {
+        super(baseType);
+        if (!supports(baseType)) {
+            throw new IllegalArgumentException(baseType.getName() + " has no type discriminator property.");
+        }
+        JsonTypeInfo typeInfo = baseType.getAnnotation(JsonTypeInfo.class);
+        this.discriminator = typeInfo.property().isEmpty() ? typeInfo.use().getDefaultPropertyName() : typeInfo.property();
+        this.discriminatorVisible = typeInfo.visible();
+        Class<?> configuredDefault = typeInfo.defaultImpl();
+        this.defaultImpl =
+                configuredDefault == JsonTypeInfo.class || configuredDefault == JsonTypeInfo.None.class ? null : configuredDefault;
+        Map<String, Class<?>> names = new HashMap<>();
+        collectSubtypes(baseType, names);
+        this.subtypes = Collections.unmodifiableMap(names);
+    }
+
+    /**
+     * Whether the type has its discriminator as a property, the only polymorphic type handling this deserializer
+     * takes over.
+     */
+    public static boolean supports(Class<?> baseType) {
+        JsonTypeInfo typeInfo = baseType.getAnnotation(JsonTypeInfo.class);
+        return typeInfo != null && typeInfo.include() == JsonTypeInfo.As.PROPERTY;
+    }
+
+    public String getDiscriminator() {
+        return discriminator;
+    }
+
+    public Map<String, Class<?>> getSubtypes() {
+        return subtypes;
+    }
+
+    @Override
+    public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.getCurrentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        }
+        TokenBuffer buffer = null;
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.getCurrentName();
+            p.nextToken();
+            if (discriminator.equals(field)) {
+                return deserializeSubtype(p, ctxt, p.getText(), buffer);
+            }
+            if (buffer == null) {
+                buffer = new TokenBuffer(p, ctxt);
+                buffer.writeStartObject();
+            }
+            buffer.writeFieldName(field);
+            buffer.copyCurrentStructure(p);
+        }
+        if (defaultImpl == null) {
+            throw ctxt.mappingException("Missing type discriminator '" + discriminator + "' for " + handledType().getName());
+        }
+        if (buffer == null) {
+            buffer = new TokenBuffer(p, ctxt);
+            buffer.writeStartObject();
+        }
+        buffer.writeEndObject();
+        JsonParser buffered = buffer.asParser(p);
+        buffered.nextToken();
+        return cast(deserializer(ctxt, defaultImpl).deserialize(buffered, ctxt));
+    }
+
+    /**
+     * The discriminator is handled here, the polymorphic type handling of Jackson is skipped.
+     */
+    @Override
+    public Object deserializeWithType(JsonParser p, DeserializationContext ctxt, TypeDeserializer typeDeserializer)
+            throws IOException {
+        return deserialize(p, ctxt);
+    }
+
+    private T deserializeSubtype(JsonParser p, DeserializationContext ctxt, String typeId, TokenBuffer buffer) throws IOException {
+        Class<?> subtype = subtypes.get(typeId);
+        if (subtype == null) {
+            subtype = defaultImpl;
+        }
+        if (subtype == null) {
+            throw ctxt.mappingException("Unknown " + discriminator + " '" + typeId + "' for " + handledType().getName());
+        }
+        if (discriminatorVisible) {
+            if (buffer == null) {
+                buffer = new TokenBuffer(p, ctxt);
+                buffer.writeStartObject();
+            }
+            buffer.writeFieldName(discriminator);
+            buffer.writeString(typeId);
+        }
+        JsonParser parser = p;
+        if (buffer != null) {
+            p.clearCurrentToken();
+            parser = JsonParserSequence.createFlattened(false, buffer.asParser(p), p);
+        }
+        parser.nextToken(); // the start of the buffered object, or the property after the discriminator
+        return cast(deserializer(ctxt, subtype).deserialize(parser, ctxt));
+    }
+
+    private JsonDeserializer<Object> deserializer(DeserializationContext ctxt, Class<?> subtype) throws IOException {
+        JsonDeserializer<Object> deserializer = deserializers.get(subtype);
+        if (deserializer == null) {
+            deserializer = ctxt.findContextualValueDeserializer(ctxt.constructType(subtype), null);
+            deserializers.put(subtype, deserializer);
+        }
+        return deserializer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T cast(Object value) {
+        return (T) value;
+    }
+
+    private static void collectSubtypes(Class<?> type, Map<String, Class<?>> names) {
+        JsonSubTypes subTypes = type.getAnnotation(JsonSubTypes.class);
+        if (subTypes == null) {
+            return;
+        }
+        for (JsonSubTypes.Type subType : subTypes.value()) {
+            Class<?> subClass = subType.value();
+            if (subClass == type) {
+                continue;
+            }
+            names.putIfAbsent(typeName(subType, subClass), subClass);
+            collectSubtypes(subClass, names);
+        }
+    }
+
+    private static String typeName(JsonSubTypes.Type subType, Class<?> subClass) {
+        if (!subType.name().isEmpty()) {
+            return subType.name();
+        }
+        JsonTypeName typeName = subClass.getAnnotation(JsonTypeName.class);
+        if (typeName != null && !typeName.value().isEmpty()) {
+            return typeName.value();
+        }
+        return subClass.getSimpleName();
+    }
+
+}
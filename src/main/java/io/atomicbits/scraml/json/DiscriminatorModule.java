@@ -0,0 +1,44 @@
+package io.atomicbits.scraml.json;
+
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.atomicbits.raml10.Animal;
+import io.atomicbits.raml10.Book;
+import io.atomicbits.raml10.Geometry;
+
+/**
+ * Registers a {@link DiscriminatorFirstDeserializer} on the roots of the polymorphic hierarchies: Animal, Geometry and
+ * Book. Like the {@link ModelModule}, it is listed in META-INF/services or can be registered with
+ * {@link #registerOn(ObjectMapper)}.
+ * <p>
+ * A root whose discriminator is not a property, e.g. one written as a wrapper object, keeps Jackson's own polymorphic
+ * handling instead of failing the module.
+ */
+public class DiscriminatorModule extends SimpleModule {
+
+    public DiscriminatorModule() {
+        this(Animal.class, Geometry.class, Book.class);
+    }
+
+    DiscriminatorModule(Class<?>... roots) {
+        super("scraml-discriminator-module", Version.unknownVersion());
+        for (Class<?> root : roots) {
+            if (DiscriminatorFirstDeserializer.supports(root)) {
+                addRoot(root);
+            }
+        }
+    }
+
+    private <T> void addRoot(Class<T> root) {
+        addDeserializer(root, new DiscriminatorFirstDeserializer<>(root));
+    }
+
+    /**
+     * Registers the module on the given mapper, registering it more than once has no effect.
+     */
+    public static ObjectMapper registerOn(ObjectMapper objectMapper) {
+        return objectMapper.registerModule(new DiscriminatorModule());
+    }
+
+}
@@ -0,0 +1,91 @@
+package io.atomicbits.scraml.json;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import io.atomicbits.raml10.dsl.javajackson.json.Json;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * ObjectReaders and ObjectWriters on {@code Json.getObjectMapper()}, resolved once per type and cached. Resolving a
+ * generic type such as "java.util.List&lt;io.atomicbits.raml10.Animal&gt;" and looking up its (de)serializer is
+ * costly compared to decoding a small body; the readers and writers are immutable and thread-safe, so every call with
+ * the same type reuses one.
+ * <p>
+ * A reader or writer captures the mapper's configuration and modules when it is created. The {@link ModelModule} and
+ * {@link DiscriminatorModule} are registered on the shared mapper before the first one is, register any other module
+ * before the first call.
+ */
+public final class JsonCodecs {
+
+    static {
+        ModelModule.registerShared();
+    }
+
+    private static final int MAX_CACHED_TYPES = 1024;
+
+    private static final ConcurrentMap<String, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    private static final ClassValue<ObjectReader> CLASS_READERS = new ClassValue<ObjectReader>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return Json.getObjectMapper().readerFor(type);
+        }
+    };
+
+    private static final ClassValue<ObjectWriter> CLASS_WRITERS = new ClassValue<ObjectWriter>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return Json.getObjectMapper().writerFor(type);
+        }
+    };
+
+    private JsonCodecs() {
+    }
+
+    /**
+     * The reader for a canonical type name, as the generated resources pass to Client.callToTypeResponse.
+     */
+    public static ObjectReader reader(String canonicalType) {
+        ObjectReader reader = READERS.get(canonicalType);
+        if (reader == null) {
+            reader = Json.getObjectMapper().readerFor(type(canonicalType));
+            if (READERS.size() < MAX_CACHED_TYPES) {
+                READERS.putIfAbsent(canonicalType, reader);
+            }
+        }
+        return reader;
+    }
+
+    public static ObjectReader reader(Class<?> type) {
+        return CLASS_READERS.get(type);
+    }
+
+    /**
+     * The writer for a canonical type name. Writing through the declared type, rather than the runtime class of the
+     * value, keeps the element type of generic lists, so that e.g. the type discriminator of each Animal is written.
+     */
+    public static ObjectWriter writer(String canonicalType) {
+        ObjectWriter writer = WRITERS.get(canonicalType);
+        if (writer == null) {
+            writer = Json.getObjectMapper().writerFor(type(canonicalType));
+            if (WRITERS.size() < MAX_CACHED_TYPES) {
+                WRITERS.putIfAbsent(canonicalType, writer);
+            }
+        }
+        return writer;
+    }
+
+    public static ObjectWriter writer(Class<?> type) {
+        return CLASS_WRITERS.get(type);
+    }
+
+    private static JavaType type(String canonicalType) {
+        return TypeFactory.defaultInstance().constructFromCanonical(canonicalType);
+    }
+
+}
@@ -0,0 +1,129 @@
+package io.atomicbits.scraml.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+/**
+ * Field level helpers shared by the streaming (de)serializers of the model classes.
+ */
+final class JsonFields {
+
+    private JsonFields() {
+    }
+
+    /**
+     * Whether null valued properties are written, according to the inclusion setting of the object mapper.
+     */
+    static boolean writeNulls(SerializerProvider provider) {
+        JsonInclude.Include inclusion = provider.getConfig().getDefaultPropertyInclusion().getValueInclusion();
+        return inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS;
+    }
+
+    static void writeString(JsonGenerator gen, String name, String value, boolean writeNulls) throws IOException {
+        if (value != null) {
+            gen.writeStringField(name, value);
+        } else if (writeNulls) {
+            gen.writeNullField(name);
+        }
+    }
+
+    static void writeLong(JsonGenerator gen, String name, Long value, boolean writeNulls) throws IOException {
+        if (value != null) {
+            gen.writeNumberField(name, value);
+        } else if (writeNulls) {
+            gen.writeNullField(name);
+        }
+    }
+
+    /**
+     * Writes a nested value with the serializer that the mapper has for its type.
+     */
+    static void writeValue(JsonGenerator gen, SerializerProvider provider, String name, Object value, boolean writeNulls)
+            throws IOException {
+        if (value != null) {
+            provider.defaultSerializeField(name, value, gen);
+        } else if (writeNulls) {
+            gen.writeNullField(name);
+        }
+    }
+
+    /**
+     * Moves the parser to the first field name of an object, whether it is positioned at the start of the object or
+     * already at its first field.
+     */
+    static void enterObject(JsonParser p, DeserializationContext ctxt, Class<?> type) throws IOException {
+        JsonToken token = p.getCurrentToken();
+        if (token == JsonToken.START_OBJECT) {
+            p.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            throw ctxt.mappingException(type, token);
+        }
+    }
+
+    /**
+     * Reads a string the way the bean deserializers do: other scalars are taken as their text, objects and arrays
+     * are rejected.
+     */
+    static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.getCurrentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            return p.getText();
+        }
+        if (token.isScalarValue()) {
+            String text = p.getValueAsString();
+            if (text != null) {
+                return text;
+            }
+        }
+        return (String) ctxt.handleUnexpectedToken(String.class, p);
+    }
+
+    /**
+     * Reads a long the way the bean deserializers do: numeric text is parsed, empty text is null and any other text
+     * is rejected, as are floating point numbers unless ACCEPT_FLOAT_AS_INT is enabled.
+     */
+    static Long readLong(JsonParser p, DeserializationContext ctxt) throws IOException {
+        switch (p.getCurrentToken()) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_NUMBER_INT:
+                return p.getLongValue();
+            case VALUE_NUMBER_FLOAT:
+                if (ctxt.isEnabled(DeserializationFeature.ACCEPT_FLOAT_AS_INT)) {
+                    return p.getValueAsLong();
+                }
+                break;
+            case VALUE_STRING:
+                String text = p.getText().trim();
+                if (text.isEmpty()) {
+                    return null;
+                }
+                try {
+                    return Long.parseLong(text);
+                } catch (NumberFormatException e) {
+                    throw ctxt.weirdStringException(text, Long.class, "not a valid Long value");
+                }
+            default:
+                break;
+        }
+        return (Long) ctxt.handleUnexpectedToken(Long.class, p);
+    }
+
+    /**
+     * Reads a nested value with the deserializer that the mapper has for its type.
+     */
+    static <T> T readValue(JsonParser p, DeserializationContext ctxt, Class<T> type) throws IOException {
+        return p.getCurrentToken() == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, type);
+    }
+
+}
@@ -0,0 +1,75 @@
+package io.atomicbits.scraml.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.atomicbits.raml10.Link;
+import io.atomicbits.raml10.Method;
+
+import java.io.IOException;
+
+import static io.atomicbits.scraml.json.JsonFields.*;
+
+/**
+ * Streaming (de)serialization of {@link Link}.
+ */
+final class LinkCodec {
+
+    private LinkCodec() {
+    }
+
+    static class Serializer extends StdSerializer<Link> {
+
+        Serializer() {
+            super(Link.class);
+        }
+
+        @Override
+        public void serialize(Link link, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            boolean writeNulls = writeNulls(provider);
+            gen.writeStartObject();
+            writeString(gen, "accept", link.getAccept(), writeNulls);
+            writeString(gen, "href", link.getHref(), writeNulls);
+            writeValue(gen, provider, "method", link.getMethod(), writeNulls);
+            gen.writeEndObject();
+        }
+
+    }
+
+    static class Deserializer extends StdDeserializer<Link> {
+
+        Deserializer() {
+            super(Link.class);
+        }
+
+        @Override
+        public Link deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            enterObject(p, ctxt, Link.class);
+            Link link = new Link();
+            for (; p.getCurrentToken() == JsonToken.FIELD_NAME; p.nextToken()) {
+                String field = p.getCurrentName();
+                p.nextToken();
+                switch (field) {
+                    case "accept":
+                        link.setAccept(readString(p, ctxt));
+                        break;
+                    case "href":
+                        link.setHref(readString(p, ctxt));
+                        break;
+                    case "method":
+                        link.setMethod(readValue(p, ctxt, Method.class));
+                        break;
+                    default:
+                        ctxt.handleUnknownProperty(p, this, Link.class, field);
+                }
+            }
+            return link;
+        }
+
+    }
+
+}
@@ -0,0 +1,166 @@
+package io.atomicbits.scraml.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.atomicbits.raml10.ManyFields;
+
+import java.io.IOException;
+
+import static io.atomicbits.scraml.json.JsonFields.*;
+
+/**
+ * Streaming (de)serialization of {@link ManyFields}.
+ */
+final class ManyFieldsCodec {
+
+    private ManyFieldsCodec() {
+    }
+
+    static class Serializer extends StdSerializer<ManyFields> {
+
+        Serializer() {
+            super(ManyFields.class);
+        }
+
+        @Override
+        public void serialize(ManyFields manyFields, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            boolean writeNulls = writeNulls(provider);
+            gen.writeStartObject();
+            writeString(gen, "a", manyFields.getA(), writeNulls);
+            writeString(gen, "b", manyFields.getB(), writeNulls);
+            writeString(gen, "c", manyFields.getC(), writeNulls);
+            writeString(gen, "d", manyFields.getD(), writeNulls);
+            writeString(gen, "e", manyFields.getE(), writeNulls);
+            writeString(gen, "f", manyFields.getF(), writeNulls);
+            writeString(gen, "g", manyFields.getG(), writeNulls);
+            writeString(gen, "h", manyFields.getH(), writeNulls);
+            writeString(gen, "i", manyFields.getI(), writeNulls);
+            writeString(gen, "j", manyFields.getJ(), writeNulls);
+            writeString(gen, "k", manyFields.getK(), writeNulls);
+            writeString(gen, "l", manyFields.getL(), writeNulls);
+            writeString(gen, "m", manyFields.getM(), writeNulls);
+            writeString(gen, "n", manyFields.getN(), writeNulls);
+            writeString(gen, "o", manyFields.getO(), writeNulls);
+            writeString(gen, "p", manyFields.getP(), writeNulls);
+            writeString(gen, "q", manyFields.getQ(), writeNulls);
+            writeString(gen, "r", manyFields.getR(), writeNulls);
+            writeString(gen, "s", manyFields.getS(), writeNulls);
+            writeString(gen, "t", manyFields.getT(), writeNulls);
+            writeString(gen, "u", manyFields.getU(), writeNulls);
+            writeString(gen, "v", manyFields.getV(), writeNulls);
+            writeString(gen, "w", manyFields.getW(), writeNulls);
+            writeString(gen, "x", manyFields.getX(), writeNulls);
+            writeString(gen, "y", manyFields.getY(), writeNulls);
+            writeString(gen, "z", manyFields.getZ(), writeNulls);
+            gen.writeEndObject();
+        }
+
+    }
+
+    static class Deserializer extends StdDeserializer<ManyFields> {
+
+        Deserializer() {
+            super(ManyFields.class);
+        }
+
+        @Override
+        public ManyFields deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            enterObject(p, ctxt, ManyFields.class);
+            ManyFields manyFields = new ManyFields();
+            for (; p.getCurrentToken() == JsonToken.FIELD_NAME; p.nextToken()) {
+                String field = p.getCurrentName();
+                p.nextToken();
+                switch (field) {
+                    case "a":
+                        manyFields.setA(readString(p, ctxt));
+                        break;
+                    case "b":
+                        manyFields.setB(readString(p, ctxt));
+                        break;
+                    case "c":
+                        manyFields.setC(readString(p, ctxt));
+                        break;
+                    case "d":
+                        manyFields.setD(readString(p, ctxt));
+                        break;
+                    case "e":
+                        manyFields.setE(readString(p, ctxt));
+                        break;
+                    case "f":
+                        manyFields.setF(readString(p, ctxt));
+                        break;
+                    case "g":
+                        manyFields.setG(readString(p, ctxt));
+                        break;
+                    case "h":
+                        manyFields.setH(readString(p, ctxt));
+                        break;
+                    case "i":
+                        manyFields.setI(readString(p, ctxt));
+                        break;
+                    case "j":
+                        manyFields.setJ(readString(p, ctxt));
+                        break;
+                    case "k":
+                        manyFields.setK(readString(p, ctxt));
+                        break;
+                    case "l":
+                        manyFields.setL(readString(p, ctxt));
+                        break;
+                    case "m":
+                        manyFields.setM(readString(p, ctxt));
+                        break;
+                    case "n":
+                        manyFields.setN(readString(p, ctxt));
+                        break;
+                    case "o":
+                        manyFields.setO(readString(p, ctxt));
+                        break;
+                    case "p":
+                        manyFields.setP(readString(p, ctxt));
+                        break;
+                    case "q":
+                        manyFields.setQ(readString(p, ctxt));
+                        break;
+                    case "r":
+                        manyFields.setR(readString(p, ctxt));
+                        break;
+                    case "s":
+                        manyFields.setS(readString(p, ctxt));
+                        break;
+                    case "t":
+                        manyFields.setT(readString(p, ctxt));
+                        break;
+                    case "u":
+                        manyFields.setU(readString(p, ctxt));
+                        break;
+                    case "v":
+                        manyFields.setV(readString(p, ctxt));
+                        break;
+                    case "w":
+                        manyFields.setW(readString(p, ctxt));
+                        break;
+                    case "x":
+                        manyFields.setX(readString(p, ctxt));
+                        break;
+                    case "y":
+                        manyFields.setY(readString(p, ctxt));
+                        break;
+                    case "z":
+                        manyFields.setZ(readString(p, ctxt));
+                        break;
+                    default:
+                        ctxt.handleUnknownProperty(p, this, ManyFields.class, field);
+                }
+            }
+            return manyFields;
+        }
+
+    }
+
+}
@@ -0,0 +1,79 @@
+package io.atomicbits.scraml.json;
+
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.atomicbits.raml10.Link;
+import io.atomicbits.raml10.ManyFields;
+import io.atomicbits.raml10.User;
+import io.atomicbits.raml10.UserDefinitionsAddress;
+import io.atomicbits.raml10.Zoo;
+import io.atomicbits.raml10.dsl.javajackson.json.Json;
+
+/**
+ * Registers streaming serializers and deserializers for the hot model classes. They drive the JsonGenerator and
+ * JsonParser directly instead of going through bean introspection, which removes most of the warm-up cost and the
+ * per-property indirection of the bean (de)serializers. The RAML date types are read and written with
+ * {@link RamlDates}.
+ * <p>
+ * The client factories of this project and {@link JsonCodecs} register it, together with the
+ * {@link DiscriminatorModule}, on the shared {@code Json.getObjectMapper()} through {@link #registerShared()}, so a
+ * generated client built with any of those factories uses it. A client built on the generated default factory only
+ * does after registerShared() has been called. The module is also listed in META-INF/services for
+ * ObjectMapper.findAndRegisterModules(), and {@link #registerOn(ObjectMapper)} registers it on any other mapper.
+ */
+public class ModelModule extends SimpleModule {
+
+    public ModelModule() {
+        super("scraml-model-module", Version.unknownVersion());
+        addSerializer(User.class, new UserCodec.Serializer());
+        addDeserializer(User.class, new UserCodec.Deserializer());
+        addSerializer(UserDefinitionsAddress.class, new UserCodec.AddressSerializer());
+        addDeserializer(UserDefinitionsAddress.class, new UserCodec.AddressDeserializer());
+        addSerializer(Link.class, new LinkCodec.Serializer());
+        addDeserializer(Link.class, new LinkCodec.Deserializer());
+        addSerializer(ManyFields.class, new ManyFieldsCodec.Serializer());
+        addDeserializer(ManyFields.class, new ManyFieldsCodec.Deserializer());
+        addSerializer(Zoo.class, new ZooCodec.Serializer());
+        addDeserializer(Zoo.class, new ZooCodec.Deserializer());
+        DateCodecs.register(this);
+    }
+
+    /**
+     * Registers the module on the given mapper, registering it more than once has no effect.
+     */
+    public static ObjectMapper registerOn(ObjectMapper objectMapper) {
+        return objectMapper.registerModule(new ModelModule());
+    }
+
+    /**
+     * Registers this module and the {@link DiscriminatorModule} on the shared {@code Json.getObjectMapper()}, once.
+     * Call it before the mapper is first used, readers and serializers that were already resolved keep the bean
+     * (de)serializers.
+     */
+    public static void registerShared() {
+        SharedMapper.ensureRegistered();
+    }
+
+    /**
+     * A mapper with the configuration of the shared mapper but without the streaming modules, the baseline for
+     * comparing the codecs against the bean (de)serializers.
+     */
+    public static ObjectMapper beanMapper() {
+        ObjectMapper shared = Json.getObjectMapper();
+        return new ObjectMapper().setConfig(shared.getDeserializationConfig()).setConfig(shared.getSerializationConfig());
+    }
+
+    private static final class SharedMapper {
+
+        // Class initialization registers the modules once, and no caller gets past it before they are registered.
+        static {
+            DiscriminatorModule.registerOn(registerOn(Json.getObjectMapper()));
+        }
+
+        static void ensureRegistered() {
+        }
+
+    }
+
+}
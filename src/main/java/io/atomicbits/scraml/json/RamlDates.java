@@ -0,0 +1,313 @@
+package io.atomicbits.scraml.json;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Parsing and formatting of the RAML date types without DateTimeFormatter: date-only (2015-05-23), time-only
+ * (12:30:00), datetime-only (2015-07-04T21:00:00), rfc3339 datetime (2016-02-28T16:41:41.090Z) and rfc2616 datetime
+ * (Sun, 28 Feb 2016 16:41:41 GMT).
+ * <p>
+ * The formats are read and written char by char from and into a char array, such as the text buffer of a JsonParser,
+ * so that no intermediate strings or parse contexts are created. The output matches that of the ISO formatters, with
+ * the fraction of a second trimmed of trailing zeros; rfc2616 datetimes are always written in GMT with a two-digit day.
+ * Input that is valid but not in the common shape, e.g. a year beyond 9999 or an offset with seconds, is handed to the
+ * DateTimeFormatter; invalid input throws a DateTimeException.
+ */
+public final class RamlDates {
+
+    /**
+     * Room enough for any value formatted by this class.
+     */
+    public static final int MAX_LENGTH = 64;
+
+    private static final String[] DAYS = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+    private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+    private RamlDates() {
+    }
+
+    // Parsing.
+
+    public static LocalDate parseDate(CharSequence value) {
+        char[] chars = value.toString().toCharArray();
+        return parseDate(chars, 0, chars.length);
+    }
+
+    public static LocalDate parseDate(char[] chars, int offset, int length) {
+        if (length == 10 && isDate(chars, offset)) {
+            return date(chars, offset);
+        }
+        return LocalDate.parse(new String(chars, offset, length), DateTimeFormatter.ISO_LOCAL_DATE);
+    }
+
+    public static LocalTime parseTime(CharSequence value) {
+        char[] chars = value.toString().toCharArray();
+        return parseTime(chars, 0, chars.length);
+    }
+
+    public static LocalTime parseTime(char[] chars, int offset, int length) {
+        if (length > 0 && timeLength(chars, offset, length) == length) {
+            return time(chars, offset, length);
+        }
+        return LocalTime.parse(new String(chars, offset, length), DateTimeFormatter.ISO_LOCAL_TIME);
+    }
+
+    public static LocalDateTime parseDateTime(CharSequence value) {
+        char[] chars = value.toString().toCharArray();
+        return parseDateTime(chars, 0, chars.length);
+    }
+
+    public static LocalDateTime parseDateTime(char[] chars, int offset, int length) {
+        if (length > 11 && isDate(chars, offset) && chars[offset + 10] == 'T'
+                && timeLength(chars, offset + 11, length - 11) == length - 11) {
+            return LocalDateTime.of(date(chars, offset), time(chars, offset + 11, length - 11));
+        }
+        return LocalDateTime.parse(new String(chars, offset, length), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
+    public static OffsetDateTime parseRfc3339(CharSequence value) {
+        char[] chars = value.toString().toCharArray();
+        return parseRfc3339(chars, 0, chars.length);
+    }
+
+    public static OffsetDateTime parseRfc3339(char[] chars, int offset, int length) {
+        if (length > 12 && isDate(chars, offset) && chars[offset + 10] == 'T') {
+            int timeLength = timeLength(chars, offset + 11, length - 11);
+            int zone = offset + 11 + timeLength;
+            ZoneOffset zoneOffset = timeLength > 0 ? zoneOffset(chars, zone, offset + length - zone) : null;
+            if (zoneOffset != null) {
+                return OffsetDateTime.of(date(chars, offset), time(chars, offset + 11, timeLength), zoneOffset);
+            }
+        }
+        return OffsetDateTime.parse(new String(chars, offset, length), DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+    public static OffsetDateTime parseRfc2616(CharSequence value) {
+        char[] chars = value.toString().toCharArray();
+        return parseRfc2616(chars, 0, chars.length);
+    }
+
+    /**
+     * Parses an IMF-fixdate such as "Sun, 28 Feb 2016 16:41:41 GMT". Other RFC 1123 forms go through the formatter.
+     */
+    public static OffsetDateTime parseRfc2616(char[] chars, int offset, int length) {
+        int day = length == 29 ? indexOf(DAYS, chars, offset) : -1;
+        int month = day >= 0 ? indexOf(MONTHS, chars, offset + 8) : -1;
+        if (month >= 0 && chars[offset + 3] == ',' && chars[offset + 4] == ' ' && chars[offset + 7] == ' '
+                && chars[offset + 11] == ' ' && chars[offset + 16] == ' ' && chars[offset + 25] == ' '
+                && chars[offset + 26] == 'G' && chars[offset + 27] == 'M' && chars[offset + 28] == 'T'
+                && isDigits(chars, offset + 5, 2) && isDigits(chars, offset + 12, 4)
+                && timeLength(chars, offset + 17, 8) == 8) {
+            LocalDate date = LocalDate.of(number(chars, offset + 12, 4), month + 1, number(chars, offset + 5, 2));
+            if (date.getDayOfWeek() == DayOfWeek.of(day + 1)) {
+                return OffsetDateTime.of(date, time(chars, offset + 17, 8), ZoneOffset.UTC);
+            }
+        }
+        return OffsetDateTime.parse(new String(chars, offset, length), DateTimeFormatter.RFC_1123_DATE_TIME);
+    }
+
+    // Formatting, each method writes into the buffer from the given offset and returns the offset after the value.
+
+    public static int formatDate(LocalDate date, char[] buffer, int offset) {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            return copy(DateTimeFormatter.ISO_LOCAL_DATE.format(date), buffer, offset);
+        }
+        int position = digits(year, 4, buffer, offset);
+        buffer[position++] = '-';
+        position = digits(date.getMonthValue(), 2, buffer, position);
+        buffer[position++] = '-';
+        return digits(date.getDayOfMonth(), 2, buffer, position);
+    }
+
+    public static int formatTime(LocalTime time, char[] buffer, int offset) {
+        int position = digits(time.getHour(), 2, buffer, offset);
+        buffer[position++] = ':';
+        position = digits(time.getMinute(), 2, buffer, position);
+        buffer[position++] = ':';
+        position = digits(time.getSecond(), 2, buffer, position);
+        int nano = time.getNano();
+        if (nano > 0) {
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            buffer[position++] = '.';
+            position = digits(nano, digits, buffer, position);
+        }
+        return position;
+    }
+
+    public static int formatDateTime(LocalDateTime dateTime, char[] buffer, int offset) {
+        int position = formatDate(dateTime.toLocalDate(), buffer, offset);
+        buffer[position++] = 'T';
+        return formatTime(dateTime.toLocalTime(), buffer, position);
+    }
+
+    public static int formatRfc3339(OffsetDateTime dateTime, char[] buffer, int offset) {
+        int position = formatDateTime(dateTime.toLocalDateTime(), buffer, offset);
+        int totalSeconds = dateTime.getOffset().getTotalSeconds();
+        if (totalSeconds == 0) {
+            buffer[position++] = 'Z';
+            return position;
+        }
+        int absolute = Math.abs(totalSeconds);
+        buffer[position++] = totalSeconds < 0 ? '-' : '+';
+        position = digits(absolute / 3600, 2, buffer, position);
+        buffer[position++] = ':';
+        position = digits((absolute / 60) % 60, 2, buffer, position);
+        if (absolute % 60 != 0) {
+            buffer[position++] = ':';
+            position = digits(absolute % 60, 2, buffer, position);
+        }
+        return position;
+    }
+
+    public static int formatRfc2616(OffsetDateTime dateTime, char[] buffer, int offset) {
+        OffsetDateTime gmt = dateTime.getOffset().equals(ZoneOffset.UTC) ? dateTime : dateTime.withOffsetSameInstant(ZoneOffset.UTC);
+        int year = gmt.getYear();
+        if (year < 0 || year > 9999) {
+            return copy(DateTimeFormatter.RFC_1123_DATE_TIME.format(gmt), buffer, offset);
+        }
+        int position = copy(DAYS[gmt.getDayOfWeek().getValue() - 1], buffer, offset);
+        buffer[position++] = ',';
+        buffer[position++] = ' ';
+        position = digits(gmt.getDayOfMonth(), 2, buffer, position);
+        buffer[position++] = ' ';
+        position = copy(MONTHS[gmt.getMonthValue() - 1], buffer, position);
+        buffer[position++] = ' ';
+        position = digits(year, 4, buffer, position);
+        buffer[position++] = ' ';
+        position = formatTime(gmt.toLocalTime().withNano(0), buffer, position);
+        return copy(" GMT", buffer, position);
+    }
+
+    public static String formatDate(LocalDate date) {
+        char[] buffer = new char[MAX_LENGTH];
+        return new String(buffer, 0, formatDate(date, buffer, 0));
+    }
+
+    public static String formatTime(LocalTime time) {
+        char[] buffer = new char[MAX_LENGTH];
+        return new String(buffer, 0, formatTime(time, buffer, 0));
+    }
+
+    public static String formatDateTime(LocalDateTime dateTime) {
+        char[] buffer = new char[MAX_LENGTH];
+        return new String(buffer, 0, formatDateTime(dateTime, buffer, 0));
+    }
+
+    public static String formatRfc3339(OffsetDateTime dateTime) {
+        char[] buffer = new char[MAX_LENGTH];
+        return new String(buffer, 0, formatRfc3339(dateTime, buffer, 0));
+    }
+
+    public static String formatRfc2616(OffsetDateTime dateTime) {
+        char[] buffer = new char[MAX_LENGTH];
+        return new String(buffer, 0, formatRfc2616(dateTime, buffer, 0));
+    }
+
+    // Helpers.
+
+    private static boolean isDate(char[] chars, int offset) {
+        return isDigits(chars, offset, 4) && chars[offset + 4] == '-' && isDigits(chars, offset + 5, 2)
+                && chars[offset + 7] == '-' && isDigits(chars, offset + 8, 2);
+    }
+
+    private static LocalDate date(char[] chars, int offset) {
+        return LocalDate.of(number(chars, offset, 4), number(chars, offset + 5, 2), number(chars, offset + 8, 2));
+    }
+
+    /**
+     * The length of the "HH:mm:ss[.fffffffff]" time at the offset, 0 if there is none.
+     */
+    private static int timeLength(char[] chars, int offset, int available) {
+        if (available < 8 || !isDigits(chars, offset, 2) || chars[offset + 2] != ':' || !isDigits(chars, offset + 3, 2)
+                || chars[offset + 5] != ':' || !isDigits(chars, offset + 6, 2)) {
+            return 0;
+        }
+        if (available == 8 || chars[offset + 8] != '.') {
+            return 8;
+        }
+        int length = 9;
+        while (length < available && length < 18 && isDigit(chars[offset + length])) {
+            length++;
+        }
+        return length == 9 || (length < available && isDigit(chars[offset + length])) ? 0 : length;
+    }
+
+    private static LocalTime time(char[] chars, int offset, int length) {
+        int nano = 0;
+        if (length > 9) {
+            nano = number(chars, offset + 9, length - 9);
+            for (int i = length - 9; i < 9; i++) {
+                nano *= 10;
+            }
+        }
+        return LocalTime.of(number(chars, offset, 2), number(chars, offset + 3, 2), number(chars, offset + 6, 2), nano);
+    }
+
+    private static ZoneOffset zoneOffset(char[] chars, int offset, int length) {
+        if (length == 1 && (chars[offset] == 'Z' || chars[offset] == 'z')) {
+            return ZoneOffset.UTC;
+        }
+        if (length == 6 && (chars[offset] == '+' || chars[offset] == '-') && isDigits(chars, offset + 1, 2)
+                && chars[offset + 3] == ':' && isDigits(chars, offset + 4, 2)) {
+            int sign = chars[offset] == '-' ? -1 : 1;
+            return ZoneOffset.ofHoursMinutes(sign * number(chars, offset + 1, 2), sign * number(chars, offset + 4, 2));
+        }
+        return null;
+    }
+
+    private static int indexOf(String[] names, char[] chars, int offset) {
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i];
+            if (chars[offset] == name.charAt(0) && chars[offset + 1] == name.charAt(1) && chars[offset + 2] == name.charAt(2)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isDigits(char[] chars, int offset, int count) {
+        for (int i = offset; i < offset + count; i++) {
+            if (!isDigit(chars[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int number(char[] chars, int offset, int count) {
+        int number = 0;
+        for (int i = offset; i < offset + count; i++) {
+            number = number * 10 + (chars[i] - '0');
+        }
+        return number;
+    }
+
+    private static int digits(int value, int count, char[] buffer, int offset) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + count;
+    }
+
+    private static int copy(String value, char[] buffer, int offset) {
+        value.getChars(0, value.length(), buffer, offset);
+        return offset + value.length();
+    }
+
+}
@@ -0,0 +1,148 @@
+package io.atomicbits.scraml.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.atomicbits.raml10.Link;
+import io.atomicbits.raml10.User;
+import io.atomicbits.raml10.UserDefinitionsAddress;
+import io.atomicbits.raml10.dsl.javajackson.DateOnly;
+
+import java.io.IOException;
+
+import static io.atomicbits.scraml.json.JsonFields.*;
+
+/**
+ * Streaming (de)serialization of {@link User} and its nested {@link UserDefinitionsAddress}.
+ */
+final class UserCodec {
+
+    private UserCodec() {
+    }
+
+    static class Serializer extends StdSerializer<User> {
+
+        Serializer() {
+            super(User.class);
+        }
+
+        @Override
+        public void serialize(User user, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            boolean writeNulls = writeNulls(provider);
+            gen.writeStartObject();
+            writeValue(gen, provider, "address", user.getAddress(), writeNulls);
+            writeLong(gen, "age", user.getAge(), writeNulls);
+            writeValue(gen, provider, "birthday", user.getBirthday(), writeNulls);
+            writeString(gen, "firstName", user.getFirstName(), writeNulls);
+            writeValue(gen, provider, "homePage", user.getHomePage(), writeNulls);
+            writeString(gen, "id", user.getId(), writeNulls);
+            writeString(gen, "lastName", user.getLastName(), writeNulls);
+            writeValue(gen, provider, "other", user.getOther(), writeNulls);
+            gen.writeEndObject();
+        }
+
+    }
+
+    static class Deserializer extends StdDeserializer<User> {
+
+        Deserializer() {
+            super(User.class);
+        }
+
+        @Override
+        public User deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            enterObject(p, ctxt, User.class);
+            User user = new User();
+            for (; p.getCurrentToken() == JsonToken.FIELD_NAME; p.nextToken()) {
+                String field = p.getCurrentName();
+                p.nextToken();
+                switch (field) {
+                    case "address":
+                        user.setAddress(readValue(p, ctxt, UserDefinitionsAddress.class));
+                        break;
+                    case "age":
+                        user.setAge(readLong(p, ctxt));
+                        break;
+                    case "birthday":
+                        user.setBirthday(readValue(p, ctxt, DateOnly.class));
+                        break;
+                    case "firstName":
+                        user.setFirstName(readString(p, ctxt));
+                        break;
+                    case "homePage":
+                        user.setHomePage(readValue(p, ctxt, Link.class));
+                        break;
+                    case "id":
+                        user.setId(readString(p, ctxt));
+                        break;
+                    case "lastName":
+                        user.setLastName(readString(p, ctxt));
+                        break;
+                    case "other":
+                        user.setOther(readValue(p, ctxt, JsonNode.class));
+                        break;
+                    default:
+                        ctxt.handleUnknownProperty(p, this, User.class, field);
+                }
+            }
+            return user;
+        }
+
+    }
+
+    static class AddressSerializer extends StdSerializer<UserDefinitionsAddress> {
+
+        AddressSerializer() {
+            super(UserDefinitionsAddress.class);
+        }
+
+        @Override
+        public void serialize(UserDefinitionsAddress address, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            boolean writeNulls = writeNulls(provider);
+            gen.writeStartObject();
+            writeString(gen, "city", address.getCity(), writeNulls);
+            writeString(gen, "state", address.getState(), writeNulls);
+            writeString(gen, "streetAddress", address.getStreetAddress(), writeNulls);
+            gen.writeEndObject();
+        }
+
+    }
+
+    static class AddressDeserializer extends StdDeserializer<UserDefinitionsAddress> {
+
+        AddressDeserializer() {
+            super(UserDefinitionsAddress.class);
+        }
+
+        @Override
+        public UserDefinitionsAddress deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            enterObject(p, ctxt, UserDefinitionsAddress.class);
+            UserDefinitionsAddress address = new UserDefinitionsAddress();
+            for (; p.getCurrentToken() == JsonToken.FIELD_NAME; p.nextToken()) {
+                String field = p.getCurrentName();
+                p.nextToken();
+                switch (field) {
+                    case "city":
+                        address.setCity(readString(p, ctxt));
+                        break;
+                    case "state":
+                        address.setState(readString(p, ctxt));
+                        break;
+                    case "streetAddress":
+                        address.setStreetAddress(readString(p, ctxt));
+                        break;
+                    default:
+                        ctxt.handleUnknownProperty(p, this, UserDefinitionsAddress.class, field);
+                }
+            }
+            return address;
+        }
+
+    }
+
+}
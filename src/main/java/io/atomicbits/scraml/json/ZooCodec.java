@@ -0,0 +1,119 @@
+package io.atomicbits.scraml.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import io.atomicbits.raml10.Animal;
+import io.atomicbits.raml10.PagedList;
+import io.atomicbits.raml10.User;
+import io.atomicbits.raml10.Zoo;
+import io.atomicbits.raml10.dsl.javajackson.DateTimeOnly;
+import io.atomicbits.raml10.dsl.javajackson.DateTimeRFC2616;
+import io.atomicbits.raml10.dsl.javajackson.DateTimeRFC3339;
+import io.atomicbits.raml10.dsl.javajackson.TimeOnly;
+
+import java.io.IOException;
+import java.util.List;
+
+import static io.atomicbits.scraml.json.JsonFields.*;
+
+/**
+ * Streaming (de)serialization of {@link Zoo}. The polymorphic animal list and the generic visitors list are handed to
+ * the mapper with their full generic type, so that the Animal type discriminator is written and read as usual.
+ */
+final class ZooCodec {
+
+    private static final JavaType ANIMAL_LIST = TypeFactory.defaultInstance().constructCollectionType(List.class, Animal.class);
+    private static final JavaType VISITORS =
+            TypeFactory.defaultInstance().constructParametricType(PagedList.class, User.class, Long.class);
+
+    private ZooCodec() {
+    }
+
+    static class Serializer extends StdSerializer<Zoo> {
+
+        Serializer() {
+            super(Zoo.class);
+        }
+
+        @Override
+        public void serialize(Zoo zoo, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            boolean writeNulls = writeNulls(provider);
+            gen.writeStartObject();
+            writeString(gen, "name", zoo.getName(), writeNulls);
+            writeTyped(gen, provider, "animals", zoo.getAnimals(), ANIMAL_LIST, writeNulls);
+            writeValue(gen, provider, "lunchtime", zoo.getLunchtime(), writeNulls);
+            writeValue(gen, provider, "fireworks", zoo.getFireworks(), writeNulls);
+            writeValue(gen, provider, "created", zoo.getCreated(), writeNulls);
+            writeValue(gen, provider, "If-Modified-Since", zoo.getIfModifiedSince(), writeNulls);
+            writeTyped(gen, provider, "visitors", zoo.getVisitors(), VISITORS, writeNulls);
+            gen.writeEndObject();
+        }
+
+        private void writeTyped(JsonGenerator gen,
+                                SerializerProvider provider,
+                                String name,
+                                Object value,
+                                JavaType type,
+                                boolean writeNulls) throws IOException {
+            if (value != null) {
+                gen.writeFieldName(name);
+                provider.findTypedValueSerializer(type, true, null).serialize(value, gen, provider);
+            } else if (writeNulls) {
+                gen.writeNullField(name);
+            }
+        }
+
+    }
+
+    static class Deserializer extends StdDeserializer<Zoo> {
+
+        Deserializer() {
+            super(Zoo.class);
+        }
+
+        @Override
+        public Zoo deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            enterObject(p, ctxt, Zoo.class);
+            Zoo zoo = new Zoo();
+            for (; p.getCurrentToken() == JsonToken.FIELD_NAME; p.nextToken()) {
+                String field = p.getCurrentName();
+                p.nextToken();
+                switch (field) {
+                    case "name":
+                        zoo.setName(readString(p, ctxt));
+                        break;
+                    case "animals":
+                        zoo.setAnimals(p.getCurrentToken() == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, ANIMAL_LIST));
+                        break;
+                    case "lunchtime":
+                        zoo.setLunchtime(readValue(p, ctxt, TimeOnly.class));
+                        break;
+                    case "fireworks":
+                        zoo.setFireworks(readValue(p, ctxt, DateTimeOnly.class));
+                        break;
+                    case "created":
+                        zoo.setCreated(readValue(p, ctxt, DateTimeRFC3339.class));
+                        break;
+                    case "If-Modified-Since":
+                        zoo.setIfModifiedSince(readValue(p, ctxt, DateTimeRFC2616.class));
+                        break;
+                    case "visitors":
+                        zoo.setVisitors(p.getCurrentToken() == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, VISITORS));
+                        break;
+                    default:
+                        ctxt.handleUnknownProperty(p, this, Zoo.class, field);
+                }
+            }
+            return zoo;
+        }
+
+    }
+
+}
@@ -0,0 +1,53 @@
+package io.atomicbits.scraml.stream;
+
+import io.atomicbits.raml10.dsl.javajackson.BinaryData;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+/**
+ * Flow.Publishers over response bodies: the decoded elements of a JSON array body (see {@link JsonArrays}) or the raw
+ * bytes of a binary body.
+ * <p>
+ * The body is opened on the first request and read only while the subscriber has outstanding demand. When the body
+ * comes straight from the socket, as with {@link io.atomicbits.scraml.client.jdk.JdkStreams}, a slow subscriber
+ * therefore stops the reads from the connection. Reading and decoding happen on the given executor, which must allow
+ * blocking, e.g. a cached thread pool.
+ */
+public final class FlowPublishers {
+
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024;
+
+    private FlowPublishers() {
+    }
+
+    public static <T> Flow.Publisher<T> elements(Callable<InputStream> body, Class<T> elementType, Executor executor) {
+        return new IteratorPublisher<>(() -> JsonArrays.iterator(body.call(), elementType), executor);
+    }
+
+    public static <T> Flow.Publisher<T> elements(BinaryData binaryData, Class<T> elementType, Executor executor) {
+        return elements(binaryData::asStream, elementType, executor);
+    }
+
+    public static Flow.Publisher<ByteBuffer> byteBuffers(Callable<InputStream> body, Executor executor) {
+        return byteBuffers(body, DEFAULT_CHUNK_SIZE, executor);
+    }
+
+    /**
+     * Publishes the body in chunks of at most chunkSize bytes.
+     */
+    public static Flow.Publisher<ByteBuffer> byteBuffers(Callable<InputStream> body, int chunkSize, Executor executor) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size must be positive, not " + chunkSize);
+        }
+        return new IteratorPublisher<>(() -> new InputStreamChunks(body.call(), chunkSize), executor);
+    }
+
+    public static Flow.Publisher<ByteBuffer> byteBuffers(BinaryData binaryData, Executor executor) {
+        return byteBuffers(binaryData::asStream, executor);
+    }
+
+}
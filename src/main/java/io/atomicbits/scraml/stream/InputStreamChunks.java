@@ -0,0 +1,61 @@
+package io.atomicbits.scraml.stream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over an input stream in chunks of at most the given size. Every chunk is a new buffer, the subscriber
+ * of a publisher may hold on to it.
+ */
+final class InputStreamChunks implements Iterator<ByteBuffer>, Closeable {
+
+    private final InputStream inputStream;
+    private final int chunkSize;
+    private ByteBuffer next;
+    private boolean ended;
+
+    InputStreamChunks(InputStream inputStream, int chunkSize) {
+        this.inputStream = inputStream;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !ended) {
+            try {
+                byte[] chunk = new byte[chunkSize];
+                int read = inputStream.read(chunk);
+                if (read < 0) {
+                    close();
+                } else {
+                    next = ByteBuffer.wrap(chunk, 0, read);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public ByteBuffer next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ByteBuffer chunk = next;
+        next = null;
+        return chunk;
+    }
+
+    @Override
+    public void close() throws IOException {
+        ended = true;
+        inputStream.close();
+    }
+
+}
@@ -0,0 +1,165 @@
+package io.atomicbits.scraml.stream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A single-subscriber Flow.Publisher of the elements of a blocking iterator, e.g. a {@link JsonArrayIterator}.
+ * <p>
+ * The iterator is opened on the first request and only advanced while there is outstanding demand, so a slow
+ * subscriber stops the reads from the underlying stream. All reads and signals run on the given executor, one task at
+ * a time, which must allow blocking. Cancelling, completing or failing closes the iterator if it is Closeable.
+ */
+final class IteratorPublisher<T> implements Flow.Publisher<T> {
+
+    private final Callable<? extends Iterator<? extends T>> opener;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    IteratorPublisher(Callable<? extends Iterator<? extends T>> opener, Executor executor) {
+        this.opener = opener;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("This publisher reads its body once and allows only one subscriber."));
+            return;
+        }
+        subscriber.onSubscribe(new IteratorSubscription(subscriber));
+    }
+
+    private final class IteratorSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile IllegalArgumentException invalidRequest;
+
+        // Only accessed from run(), which never runs concurrently with itself.
+        private Iterator<? extends T> iterator;
+        private boolean done;
+
+        IteratorSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("A subscriber must request a positive number of elements, not " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (pending.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    cancelled = true;
+                    pending.set(0);
+                    closeIterator();
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            if (done) {
+                return;
+            }
+            if (cancelled) {
+                finish();
+                return;
+            }
+            if (invalidRequest != null) {
+                finish();
+                subscriber.onError(invalidRequest);
+                return;
+            }
+            try {
+                long requested = demand.get();
+                while (requested > 0) {
+                    if (iterator == null) {
+                        iterator = opener.call();
+                    }
+                    long emitted = 0;
+                    while (emitted < requested) {
+                        if (cancelled) {
+                            finish();
+                            return;
+                        }
+                        if (!iterator.hasNext()) {
+                            finish();
+                            subscriber.onComplete();
+                            return;
+                        }
+                        subscriber.onNext(iterator.next());
+                        emitted++;
+                    }
+                    requested = requested == Long.MAX_VALUE ? Long.MAX_VALUE : demand.addAndGet(-emitted);
+                }
+            } catch (Exception e) {
+                finish();
+                subscriber.onError(e instanceof UncheckedIOException ? e.getCause() : e);
+            }
+        }
+
+        private void finish() {
+            done = true;
+            closeIterator();
+        }
+
+        private void closeIterator() {
+            if (iterator instanceof Closeable) {
+                try {
+                    ((Closeable) iterator).close();
+                } catch (IOException ignored) {
+                    // nothing is read anymore
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,84 @@
+package io.atomicbits.scraml.stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the elements of a JSON array, decoding one element at a time from the underlying parser. Only the
+ * element that is currently being decoded is held in memory, the remainder of the array stays in the input.
+ */
+public class JsonArrayIterator<T> implements Iterator<T>, Closeable {
+
+    private final JsonParser parser;
+    private final ObjectReader reader;
+    private JsonToken nextToken;
+
+    JsonArrayIterator(JsonParser parser, ObjectReader reader) throws IOException {
+        this.parser = parser;
+        this.reader = reader;
+        JsonToken first = parser.nextToken();
+        if (first == null) {
+            this.nextToken = JsonToken.END_ARRAY; // empty input is an empty array
+        } else if (first != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new IOException("Expected a JSON array but found " + first + " at " + parser.getCurrentLocation());
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            if (nextToken == null) {
+                nextToken = parser.nextToken();
+                if (nextToken == null) {
+                    throw new IOException("Unexpected end of input in JSON array at " + parser.getCurrentLocation());
+                }
+            }
+            if (nextToken == JsonToken.END_ARRAY) {
+                close();
+                return false;
+            }
+            return true;
+        } catch (IOException e) {
+            closeQuietly();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            T element = reader.readValue(parser);
+            nextToken = null;
+            return element;
+        } catch (IOException e) {
+            closeQuietly();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        nextToken = JsonToken.END_ARRAY;
+        parser.close();
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException ignored) {
+            // the original exception is the one that matters
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package io.atomicbits.scraml.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.atomicbits.raml10.dsl.javajackson.BinaryData;
+import io.atomicbits.raml10.dsl.javajackson.json.Json;
+import io.atomicbits.scraml.json.JsonCodecs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Element-by-element decoding of JSON array bodies, e.g. the Animal[] and Book[] responses.
+ * <p>
+ * Instead of materializing the whole List, the elements are decoded one by one from the input stream while the
+ * caller consumes them. Polymorphic element types such as Animal are resolved through their type discriminator the same
+ * way as for the List based calls.
+ */
+public final class JsonArrays {
+
+    private JsonArrays() {
+    }
+
+    public static <T> JsonArrayIterator<T> iterator(InputStream inputStream, Class<T> elementType) throws IOException {
+        return new JsonArrayIterator<>(Json.getObjectMapper().getFactory().createParser(inputStream), JsonCodecs.reader(elementType));
+    }
+
+    public static <T> JsonArrayIterator<T> iterator(InputStream inputStream,
+                                                    Class<T> elementType,
+                                                    ObjectMapper objectMapper) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(elementType);
+        return new JsonArrayIterator<>(objectMapper.getFactory().createParser(inputStream), reader);
+    }
+
+    public static <T> JsonArrayIterator<T> iterator(BinaryData binaryData, Class<T> elementType) throws IOException {
+        return iterator(binaryData.asStream(), elementType);
+    }
+
+    /**
+     * The returned stream must be closed (e.g. in a try-with-resources block) when it is not consumed completely.
+     */
+    public static <T> Stream<T> stream(InputStream inputStream, Class<T> elementType) throws IOException {
+        JsonArrayIterator<T> iterator = iterator(inputStream, elementType);
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                iterator.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Hands each decoded element to the given consumer and returns the number of elements that were decoded.
+     */
+    public static <T> long forEach(InputStream inputStream, Class<T> elementType, Consumer<? super T> consumer) throws IOException {
+        long count = 0;
+        try (JsonArrayIterator<T> iterator = iterator(inputStream, elementType)) {
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                count++;
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,45 @@
+package io.atomicbits.scraml.upload;
+
+import com.ning.http.client.Body;
+import com.ning.http.client.BodyGenerator;
+
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+
+/**
+ * Request body that is pulled from a channel at most chunkSize bytes at a time. The content length is unknown, so the
+ * body is sent with chunked transfer encoding, one chunk per read from the channel. The transport only pulls the next
+ * chunk when the connection is ready to write it, so a slow connection also slows down the reads from the channel and
+ * memory usage stays bounded by the chunk size, regardless of the total size of the upload.
+ * <p>
+ * Only blocking channels are accepted: the transport has no way to wait for a non-blocking channel to become readable
+ * and would poll it in a loop.
+ */
+public class ChannelBodyGenerator implements BodyGenerator {
+
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024;
+
+    private final ReadableByteChannel source;
+    private final int chunkSize;
+
+    public ChannelBodyGenerator(ReadableByteChannel source) {
+        this(source, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ChannelBodyGenerator(ReadableByteChannel source, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size must be positive, got " + chunkSize);
+        }
+        if (source instanceof SelectableChannel && !((SelectableChannel) source).isBlocking()) {
+            throw new IllegalArgumentException("The source channel must be in blocking mode");
+        }
+        this.source = source;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public Body createBody() {
+        return new ChunkedChannelBody(source, chunkSize);
+    }
+
+}
@@ -0,0 +1,45 @@
+package io.atomicbits.scraml.upload;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.Callable;
+
+/**
+ * A part that streams from a channel, such as a blob store download or a pipe. The source is called each time the
+ * part is sent and must produce exactly size bytes; pass -1 when the size is not known.
+ */
+public class ChannelStreamPart extends StreamingPart {
+
+    private final long size;
+    private final Callable<? extends ReadableByteChannel> source;
+
+    public ChannelStreamPart(String name,
+                             String fileName,
+                             String contentType,
+                             long size,
+                             Callable<? extends ReadableByteChannel> source) {
+        super(name, fileName, contentType);
+        if (size < -1) {
+            throw new IllegalArgumentException("The size of a part is -1 (unknown) or more, not " + size);
+        }
+        this.size = size;
+        this.source = source;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public ReadableByteChannel open() throws IOException {
+        try {
+            return source.call();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Could not open the content of part '" + getName() + "'", e);
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package io.atomicbits.scraml.upload;
+
+import com.ning.http.client.AsyncCompletionHandler;
+import com.ning.http.client.AsyncHttpClient;
+import com.ning.http.client.BodyGenerator;
+import com.ning.http.client.ListenableFuture;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Uploads an application/octet-stream body, such as for /rest/animals/datafile/upload, from a channel or a
+ * Flow.Publisher with chunked transfer encoding. See {@link ChannelBodyGenerator} and {@link PublisherBodyGenerator}
+ * for the chunking and back-pressure behaviour. The source channel is closed when the upload completes.
+ */
+public class ChannelUploader {
+
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String OCTET_STREAM = "application/octet-stream";
+
+    private final AsyncHttpClient httpClient;
+    private final String responseCharset;
+
+    public ChannelUploader(AsyncHttpClient httpClient) {
+        this(httpClient, "UTF-8");
+    }
+
+    public ChannelUploader(AsyncHttpClient httpClient, String responseCharset) {
+        this.httpClient = httpClient;
+        this.responseCharset = responseCharset;
+    }
+
+    public CompletableFuture<Response<String>> upload(String url, InputStream source, int chunkSize) {
+        return upload(url, new HashMap<>(), Channels.newChannel(source), chunkSize);
+    }
+
+    public CompletableFuture<Response<String>> upload(String url, ReadableByteChannel source) {
+        return upload(url, new HashMap<>(), source, ChannelBodyGenerator.DEFAULT_CHUNK_SIZE);
+    }
+
+    public CompletableFuture<Response<String>> upload(String url,
+                                                      Map<String, String> headers,
+                                                      ReadableByteChannel source,
+                                                      int chunkSize) {
+        return upload(url, headers, new ChannelBodyGenerator(source, chunkSize));
+    }
+
+    public CompletableFuture<Response<String>> upload(String url, Flow.Publisher<ByteBuffer> source) {
+        return upload(url, new HashMap<>(), source);
+    }
+
+    public CompletableFuture<Response<String>> upload(String url,
+                                                      Map<String, String> headers,
+                                                      Flow.Publisher<ByteBuffer> source) {
+        PublisherBodyGenerator body = new PublisherBodyGenerator(source);
+        return execute(prepare(url, headers, body), responseCharset, body);
+    }
+
+    private CompletableFuture<Response<String>> upload(String url, Map<String, String> headers, BodyGenerator body) {
+        return execute(prepare(url, headers, body), responseCharset);
+    }
+
+    private AsyncHttpClient.BoundRequestBuilder prepare(String url, Map<String, String> headers, BodyGenerator body) {
+        AsyncHttpClient.BoundRequestBuilder request = httpClient.preparePost(url).setBody(body);
+        if (!headers.containsKey(CONTENT_TYPE)) {
+            request.addHeader(CONTENT_TYPE, OCTET_STREAM);
+        }
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            request.addHeader(header.getKey(), header.getValue());
+        }
+        return request;
+    }
+
+    static CompletableFuture<Response<String>> execute(AsyncHttpClient.BoundRequestBuilder request, String responseCharset) {
+        return execute(request, responseCharset, null);
+    }
+
+    /**
+     * @param published the body of the request when it is fed by a publisher, so that a failing publisher aborts the
+     *                  request and a finished request cancels the subscription.
+     */
+    private static CompletableFuture<Response<String>> execute(AsyncHttpClient.BoundRequestBuilder request,
+                                                               String responseCharset,
+                                                               PublisherBodyGenerator published) {
+        CompletableFuture<Response<String>> result = new CompletableFuture<>();
+        try {
+            ListenableFuture<Response<String>> execution = request.execute(new AsyncCompletionHandler<Response<String>>() {
+
+                @Override
+                public Response<String> onCompleted(com.ning.http.client.Response response) throws Exception {
+                    if (published != null) {
+                        published.cancel();
+                    }
+                    Map<String, List<String>> responseHeaders = new HashMap<>();
+                    for (Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+                        responseHeaders.put(header.getKey(), new ArrayList<>(header.getValue()));
+                    }
+                    String body = response.getResponseBody(responseCharset);
+                    Response<String> stringResponse = new Response<>(body, body, response.getStatusCode(), responseHeaders);
+                    result.complete(stringResponse);
+                    return stringResponse;
+                }
+
+                @Override
+                public void onThrowable(Throwable t) {
+                    if (published != null) {
+                        published.cancel();
+                    }
+                    result.completeExceptionally(t);
+                }
+
+            });
+            if (published != null) {
+                published.onFailure(execution::abort);
+            }
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+}
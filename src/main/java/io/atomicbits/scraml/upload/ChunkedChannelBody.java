@@ -0,0 +1,96 @@
+package io.atomicbits.scraml.upload;
+
+import com.ning.http.client.Body;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A body of unknown length, read from a channel and framed for chunked transfer encoding. Ning announces
+ * Transfer-Encoding: chunked for such a body but writes the bytes it reads as they are, so the chunk sizes and the last
+ * chunk are written here. Each chunk carries at most chunkSize bytes of the channel and is framed in a single reused
+ * buffer.
+ * <p>
+ * The channel must be blocking. A read of 0 bytes is passed on to the transport, which reads again right away instead
+ * of waiting for data.
+ */
+class ChunkedChannelBody implements Body {
+
+    private static final int MAX_CHUNK_HEADER = Integer.toHexString(Integer.MAX_VALUE).length() + 2;
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] LAST_CHUNK = {'0', '\r', '\n', '\r', '\n'};
+
+    private final ReadableByteChannel source;
+    private final ByteBuffer chunk;
+    private boolean last;
+
+    ChunkedChannelBody(ReadableByteChannel source, int chunkSize) {
+        this.source = source;
+        this.chunk = ByteBuffer.allocate(MAX_CHUNK_HEADER + chunkSize + CRLF.length);
+        this.chunk.limit(0);
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1L;
+    }
+
+    @Override
+    public long read(ByteBuffer buffer) throws IOException {
+        if (!chunk.hasRemaining()) {
+            if (last) {
+                return -1L;
+            }
+            if (!frameNextChunk()) {
+                return 0L;
+            }
+        }
+        int length = Math.min(chunk.remaining(), buffer.remaining());
+        int limit = chunk.limit();
+        chunk.limit(chunk.position() + length);
+        buffer.put(chunk);
+        chunk.limit(limit);
+        return length;
+    }
+
+    /**
+     * Reads the next chunk from the channel and frames it, or frames the last chunk at the end of the channel.
+     *
+     * @return false when the channel had no bytes available.
+     */
+    private boolean frameNextChunk() throws IOException {
+        chunk.clear();
+        chunk.position(MAX_CHUNK_HEADER);
+        chunk.limit(chunk.capacity() - CRLF.length);
+        int read = source.read(chunk);
+        if (read < 0) {
+            last = true;
+            chunk.clear();
+            chunk.put(LAST_CHUNK);
+            chunk.flip();
+            return true;
+        }
+        if (read == 0) {
+            chunk.limit(0);
+            return false;
+        }
+        chunk.limit(chunk.capacity());
+        chunk.put(CRLF);
+        int end = chunk.position();
+        byte[] header = (Integer.toHexString(read) + "\r\n").getBytes(StandardCharsets.US_ASCII);
+        int start = MAX_CHUNK_HEADER - header.length;
+        chunk.position(start);
+        chunk.put(header);
+        chunk.position(start);
+        chunk.limit(end);
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+}
@@ -0,0 +1,41 @@
+package io.atomicbits.scraml.upload;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A part that streams a file from disk. When the transport writes to a plain socket channel, the file is sent with
+ * {@link FileChannel#transferTo}, so its content does not pass through the heap at all.
+ */
+public class FileStreamPart extends StreamingPart {
+
+    private final Path file;
+
+    public FileStreamPart(String name, Path file, String contentType) {
+        this(name, file, file.getFileName().toString(), contentType);
+    }
+
+    public FileStreamPart(String name, Path file, String fileName, String contentType) {
+        super(name, fileName, contentType);
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public long size() throws IOException {
+        return Files.size(file);
+    }
+
+    @Override
+    public FileChannel open() throws IOException {
+        return FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+}
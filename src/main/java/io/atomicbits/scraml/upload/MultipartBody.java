@@ -0,0 +1,183 @@
+package io.atomicbits.scraml.upload;
+
+import io.atomicbits.raml10.dsl.javajackson.BodyPart;
+import io.atomicbits.raml10.dsl.javajackson.ByteArrayPart;
+import io.atomicbits.raml10.dsl.javajackson.FilePart;
+import io.atomicbits.raml10.dsl.javajackson.StringPart;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A multipart/form-data body of {@link StreamingPart}s. The boundary and the delimiter and headers of every part are
+ * encoded once, here, and the content length follows from those and the part sizes, so nothing is read until the body
+ * is sent. Each {@link #open()} streams the body from the start; memory use stays at one chunk however large the parts.
+ */
+public final class MultipartBody {
+
+    private static final char[] BOUNDARY_CHARS =
+            "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    private static final int BOUNDARY_LENGTH = 32;
+
+    private final String boundary;
+    private final StreamingPart[] parts;
+    private final long[] sizes;
+    private final byte[][] heads;
+    private final byte[] tail;
+    private final long contentLength;
+
+    private MultipartBody(String boundary, StreamingPart[] parts, long[] sizes) {
+        this.boundary = boundary;
+        this.parts = parts;
+        this.sizes = sizes;
+        this.heads = new byte[parts.length][];
+        long length = 0;
+        boolean unknown = false;
+        for (int i = 0; i < parts.length; i++) {
+            heads[i] = head(i > 0, boundary, parts[i]);
+            length += heads[i].length;
+            if (sizes[i] < 0) {
+                unknown = true;
+            } else {
+                length += sizes[i];
+            }
+        }
+        this.tail = ((parts.length > 0 ? "\r\n" : "") + "--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+        this.contentLength = unknown ? -1L : length + tail.length;
+    }
+
+    /**
+     * A body of the given parts, e.g. the multipart params of a request. The part sizes are asked for here. Besides
+     * {@link StreamingPart}s, the generated string, byte array and file parts are taken, as parts of known size.
+     */
+    public static MultipartBody of(List<? extends BodyPart> parts) throws IOException {
+        return of(parts, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A body of the given parts, with the values of string parts that have no charset of their own encoded in the
+     * given charset.
+     */
+    public static MultipartBody of(List<? extends BodyPart> parts, Charset defaultCharset) throws IOException {
+        List<StreamingPart> streamingParts = new ArrayList<>(parts.size());
+        for (BodyPart part : parts) {
+            streamingParts.add(streamingPart(part, defaultCharset));
+        }
+        long[] sizes = new long[streamingParts.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = streamingParts.get(i).size();
+        }
+        return new MultipartBody(randomBoundary(), streamingParts.toArray(new StreamingPart[0]), sizes);
+    }
+
+    public String getBoundary() {
+        return boundary;
+    }
+
+    public String getContentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    /**
+     * The length of the encoded body, -1 when a part's size is not known.
+     */
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    /**
+     * A channel that streams the encoded body from its start.
+     */
+    public MultipartChannel open() {
+        return new MultipartChannel(this);
+    }
+
+    int getPartCount() {
+        return parts.length;
+    }
+
+    StreamingPart getPart(int index) {
+        return parts[index];
+    }
+
+    long getSize(int index) {
+        return sizes[index];
+    }
+
+    byte[] getHead(int index) {
+        return heads[index];
+    }
+
+    byte[] getTail() {
+        return tail;
+    }
+
+    private static StreamingPart streamingPart(BodyPart part, Charset defaultCharset) {
+        if (part instanceof StreamingPart) {
+            return (StreamingPart) part;
+        } else if (part instanceof StringPart) {
+            StringPart stringPart = (StringPart) part;
+            Charset charset = stringPart.getCharset() == null
+                    ? defaultCharset
+                    : Charset.forName(String.valueOf(stringPart.getCharset()));
+            return bytesPart(stringPart.getName(), null, stringPart.getContentType(), stringPart.getValue().getBytes(charset));
+        } else if (part instanceof ByteArrayPart) {
+            ByteArrayPart bytesPart = (ByteArrayPart) part;
+            return bytesPart(bytesPart.getName(), bytesPart.getFileName(), bytesPart.getContentType(), bytesPart.getBytes());
+        } else if (part instanceof FilePart) {
+            FilePart filePart = (FilePart) part;
+            File file = filePart.getFile();
+            String fileName = filePart.getFileName() == null ? file.getName() : filePart.getFileName();
+            return new FileStreamPart(filePart.getName(), file.toPath(), fileName, filePart.getContentType());
+        }
+        throw new IllegalArgumentException("Cannot send a part of type " +
+                (part == null ? "null" : part.getClass().getName()) + " as a multipart body");
+    }
+
+    private static StreamingPart bytesPart(String name, String fileName, String contentType, byte[] bytes) {
+        return new ChannelStreamPart(name, fileName, contentType, bytes.length,
+                () -> Channels.newChannel(new ByteArrayInputStream(bytes)));
+    }
+
+    private static byte[] head(boolean separated, String boundary, StreamingPart part) {
+        StringBuilder head = new StringBuilder(128);
+        if (separated) {
+            head.append("\r\n");
+        }
+        head.append("--").append(boundary).append("\r\n");
+        head.append("Content-Disposition: form-data; name=\"").append(quote(part.getName())).append('"');
+        if (part.getFileName() != null) {
+            head.append("; filename=\"").append(quote(part.getFileName())).append('"');
+        }
+        head.append("\r\n");
+        if (part.getContentType() != null) {
+            head.append("Content-Type: ").append(part.getContentType()).append("\r\n");
+        }
+        head.append("\r\n");
+        return head.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Escapes a name or filename the way browsers do for multipart/form-data.
+     */
+    private static String quote(String value) {
+        return value.replace("\"", "%22").replace("\r", "%0D").replace("\n", "%0A");
+    }
+
+    private static String randomBoundary() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] boundary = new char[BOUNDARY_LENGTH];
+        for (int i = 0; i < boundary.length; i++) {
+            boundary[i] = BOUNDARY_CHARS[random.nextInt(BOUNDARY_CHARS.length)];
+        }
+        return new String(boundary);
+    }
+
+}
@@ -0,0 +1,67 @@
+package io.atomicbits.scraml.upload;
+
+import com.ning.http.client.Body;
+import com.ning.http.client.BodyGenerator;
+import com.ning.http.client.RandomAccessBody;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Request body for a {@link MultipartBody}. The content length is known up front unless a part's size is not, in
+ * which case the body is read and framed chunk by chunk for chunked transfer encoding. With a known length the transport
+ * writes a {@link RandomAccessBody} straight into the socket channel over plain connections, so file parts go out with
+ * FileChannel.transferTo; over TLS the body is read chunk by chunk.
+ */
+public class MultipartBodyGenerator implements BodyGenerator {
+
+    private final MultipartBody multipart;
+
+    public MultipartBodyGenerator(MultipartBody multipart) {
+        this.multipart = multipart;
+    }
+
+    @Override
+    public Body createBody() {
+        if (multipart.getContentLength() < 0) {
+            return new ChunkedChannelBody(multipart.open(), ChannelBodyGenerator.DEFAULT_CHUNK_SIZE);
+        }
+        return new MultipartRequestBody(multipart.open());
+    }
+
+    private class MultipartRequestBody implements RandomAccessBody {
+
+        private final MultipartChannel channel;
+
+        MultipartRequestBody(MultipartChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public long getContentLength() {
+            return multipart.getContentLength();
+        }
+
+        @Override
+        public long read(ByteBuffer buffer) throws IOException {
+            return channel.read(buffer);
+        }
+
+        @Override
+        public long transferTo(long initialPosition, WritableByteChannel target) throws IOException {
+            if (initialPosition != channel.position()) {
+                throw new IOException("A multipart body is sent in order, expected position " + channel.position() +
+                        " but got " + initialPosition);
+            }
+            return channel.transferTo(target);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,254 @@
+package io.atomicbits.scraml.upload;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Streams a {@link MultipartBody}: the precomputed part heads and tail from memory, the part contents from their
+ * channels, one part open at a time. Besides being read, the body can be written straight into a target channel with
+ * {@link #transferTo}, which sends {@link FileStreamPart}s with {@link FileChannel#transferTo}.
+ * <p>
+ * A part that produces more or fewer bytes than its declared size fails the read, as the Content-Length would be
+ * wrong. Not thread-safe.
+ */
+public final class MultipartChannel implements ReadableByteChannel {
+
+    private static final int TRANSFER_BUFFER_SIZE = 8 * 1024;
+
+    private final MultipartBody body;
+    private final int segments;
+
+    // Segment 2i is the head of part i, segment 2i + 1 its content and the last one the tail.
+    private int segment;
+    private long offset;
+    private long position;
+    private ReadableByteChannel content;
+    private ByteBuffer pending;
+    private final ByteBuffer probe = ByteBuffer.allocate(1);
+    private boolean closed;
+
+    MultipartChannel(MultipartBody body) {
+        this.body = body;
+        this.segments = 2 * body.getPartCount() + 1;
+    }
+
+    /**
+     * The number of bytes read or transferred so far.
+     */
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public int read(ByteBuffer target) throws IOException {
+        ensureOpen();
+        int read = 0;
+        if (pending != null && pending.hasRemaining()) {
+            read += drain(pending, target);
+        }
+        read += fill(target);
+        if (read == 0 && segment == segments) {
+            return -1;
+        }
+        position += read;
+        return read;
+    }
+
+    /**
+     * Writes as much of the rest of the body into the target as it accepts without blocking, or all of it for a
+     * blocking target, and returns the number of bytes written.
+     */
+    public long transferTo(WritableByteChannel target) throws IOException {
+        ensureOpen();
+        long written = 0;
+        while (true) {
+            if (pending != null && pending.hasRemaining()) {
+                int n = target.write(pending);
+                written += n;
+                position += n;
+                if (pending.hasRemaining()) {
+                    return written;
+                }
+            }
+            if (segment == segments) {
+                return written;
+            }
+            if (isContent() && body.getPart(segment / 2) instanceof FileStreamPart) {
+                long n = transferFile((FileChannel) content(), target);
+                written += n;
+                position += n;
+                if (n == 0 && isContent()) {
+                    return written;
+                }
+            } else {
+                if (pending == null) {
+                    pending = ByteBuffer.allocate(TRANSFER_BUFFER_SIZE);
+                }
+                pending.clear();
+                int n = fill(pending);
+                pending.flip();
+                if (n == 0) {
+                    return written;
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !closed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            closeContent();
+        }
+    }
+
+    private boolean isContent() {
+        return segment % 2 == 1;
+    }
+
+    private byte[] segmentBytes() {
+        return segment == segments - 1 ? body.getTail() : body.getHead(segment / 2);
+    }
+
+    private ReadableByteChannel content() throws IOException {
+        if (content == null) {
+            content = body.getPart(segment / 2).open();
+        }
+        return content;
+    }
+
+    /**
+     * Reads from the current segment onwards until the target is full, the body ends or a content channel has no
+     * bytes available.
+     */
+    private int fill(ByteBuffer target) throws IOException {
+        int read = 0;
+        while (target.hasRemaining() && segment < segments) {
+            if (isContent()) {
+                int n = readContent(target);
+                if (n == 0) {
+                    break;
+                }
+                read += Math.max(n, 0);
+            } else {
+                byte[] bytes = segmentBytes();
+                int n = (int) Math.min(target.remaining(), bytes.length - offset);
+                target.put(bytes, (int) offset, n);
+                offset += n;
+                read += n;
+                if (offset == bytes.length) {
+                    nextSegment();
+                }
+            }
+        }
+        return read;
+    }
+
+    /**
+     * Reads content of the current part, returns -1 when the part ended without producing more bytes.
+     */
+    private int readContent(ByteBuffer target) throws IOException {
+        long size = body.getSize(segment / 2);
+        if (size == offset) {
+            checkExhausted(size);
+            nextSegment();
+            return -1;
+        }
+        int limit = target.limit();
+        if (size >= 0 && size - offset < target.remaining()) {
+            target.limit(target.position() + (int) (size - offset));
+        }
+        int n;
+        try {
+            n = content().read(target);
+        } finally {
+            target.limit(limit);
+        }
+        if (n < 0) {
+            checkComplete(size);
+            nextSegment();
+            return -1;
+        }
+        offset += n;
+        return n;
+    }
+
+    private long transferFile(FileChannel file, WritableByteChannel target) throws IOException {
+        long size = body.getSize(segment / 2);
+        long n = offset < size ? file.transferTo(offset, size - offset, target) : 0;
+        offset += n;
+        if (offset == size) {
+            if (file.size() > size) {
+                throw tooLong(size);
+            }
+            nextSegment();
+        } else if (n == 0 && offset >= file.size()) {
+            checkComplete(size);
+        }
+        return n;
+    }
+
+    private void checkComplete(long size) throws IOException {
+        if (size >= 0 && offset != size) {
+            throw new IOException("Part '" + body.getPart(segment / 2).getName() + "' produced " + offset +
+                    " bytes instead of the declared " + size);
+        }
+    }
+
+    /**
+     * Fails when the content of a part that produced its declared size has more bytes. A non-blocking source that has
+     * none available at that moment is taken to have ended.
+     */
+    private void checkExhausted(long size) throws IOException {
+        probe.clear();
+        if (content().read(probe) > 0) {
+            throw tooLong(size);
+        }
+    }
+
+    private IOException tooLong(long size) {
+        return new IOException("Part '" + body.getPart(segment / 2).getName() + "' produced more than the declared " +
+                size + " bytes");
+    }
+
+    private void nextSegment() throws IOException {
+        if (isContent()) {
+            closeContent();
+        }
+        segment++;
+        offset = 0;
+    }
+
+    private void closeContent() throws IOException {
+        if (content != null) {
+            ReadableByteChannel toClose = content;
+            content = null;
+            toClose.close();
+        }
+    }
+
+    private static int drain(ByteBuffer source, ByteBuffer target) {
+        int n = Math.min(source.remaining(), target.remaining());
+        ByteBuffer slice = source.duplicate();
+        slice.limit(slice.position() + n);
+        target.put(slice);
+        source.position(source.position() + n);
+        return n;
+    }
+
+    private void ensureOpen() throws ClosedChannelException {
+        if (closed) {
+            throw new ClosedChannelException();
+        }
+    }
+
+}
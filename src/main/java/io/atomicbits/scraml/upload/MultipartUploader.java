@@ -0,0 +1,61 @@
+package io.atomicbits.scraml.upload;
+
+import com.ning.http.client.AsyncHttpClient;
+import io.atomicbits.raml10.dsl.javajackson.BodyPart;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Uploads a multipart/form-data body, such as for /rest/user/upload, with every part streamed from its file or
+ * channel. See {@link MultipartBody} for the encoding and {@link MultipartBodyGenerator} for how it is sent. The
+ * generated client buffers its multipart params; the JDK client streams them as well, see
+ * {@link io.atomicbits.scraml.client.jdk.JdkHttpClient}.
+ */
+public class MultipartUploader {
+
+    private static final String CONTENT_TYPE = "Content-Type";
+
+    private final AsyncHttpClient httpClient;
+    private final String responseCharset;
+
+    public MultipartUploader(AsyncHttpClient httpClient) {
+        this(httpClient, "UTF-8");
+    }
+
+    public MultipartUploader(AsyncHttpClient httpClient, String responseCharset) {
+        this.httpClient = httpClient;
+        this.responseCharset = responseCharset;
+    }
+
+    public CompletableFuture<Response<String>> upload(String url, List<? extends BodyPart> parts) {
+        return upload(url, new HashMap<>(), parts);
+    }
+
+    public CompletableFuture<Response<String>> upload(String url, Map<String, String> headers, List<? extends BodyPart> parts) {
+        MultipartBody multipart;
+        try {
+            multipart = MultipartBody.of(parts);
+        } catch (IOException | RuntimeException e) {
+            CompletableFuture<Response<String>> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        AsyncHttpClient.BoundRequestBuilder request =
+                httpClient
+                        .preparePost(url)
+                        .setBody(new MultipartBodyGenerator(multipart));
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (!CONTENT_TYPE.equalsIgnoreCase(header.getKey())) {
+                request.addHeader(header.getKey(), header.getValue());
+            }
+        }
+        request.setHeader(CONTENT_TYPE, multipart.getContentType());
+        return ChannelUploader.execute(request, responseCharset);
+    }
+
+}
@@ -0,0 +1,122 @@
+package io.atomicbits.scraml.upload;
+
+import com.ning.http.client.Body;
+import com.ning.http.client.providers.netty.request.body.FeedableBodyGenerator;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Request body that is fed by a Flow.Publisher of byte buffers and sent with chunked transfer encoding, one chunk per
+ * published buffer. The publisher is subscribed to when the request is sent.
+ * <p>
+ * The transport reads the body of {@link FeedableBodyGenerator} as it is, which lets it suspend while no buffer has
+ * been fed. The transport only reads while the connection can take more, and takes each buffer off the generator's
+ * queue once it has read all of it. That is when the next buffer is requested, so at most {@link #PREFETCH} buffers
+ * wait to be written and a slow connection holds back the publisher. Ning 1.9 reports no other signal for this, so the
+ * queue is replaced with one that reports its removals.
+ * <p>
+ * The body can be sent only once. A failing publisher aborts the request (see {@link #onFailure(Consumer)}), a failed
+ * or completed request cancels the subscription (see {@link #cancel()}).
+ */
+final class PublisherBodyGenerator extends FeedableBodyGenerator implements Flow.Subscriber<ByteBuffer> {
+
+    static final int PREFETCH = 2;
+
+    private final Flow.Publisher<ByteBuffer> source;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final CompletableFuture<Void> failure = new CompletableFuture<>();
+    private volatile Flow.Subscription subscription;
+
+    PublisherBodyGenerator(Flow.Publisher<ByteBuffer> source) {
+        this.source = source;
+        try {
+            Field queue = FeedableBodyGenerator.class.getDeclaredField("queue");
+            queue.setAccessible(true);
+            queue.set(this, new DrainQueue());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalStateException("Publisher uploads need the FeedableBodyGenerator of Ning 1.9", e);
+        }
+    }
+
+    @Override
+    public Body createBody() throws IOException {
+        if (!subscribed.compareAndSet(false, true)) {
+            throw new IOException("A published body can only be sent once");
+        }
+        Body body = super.createBody();
+        source.subscribe(this);
+        return body;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(PREFETCH);
+    }
+
+    @Override
+    public void onNext(ByteBuffer item) {
+        try {
+            feed(item, false);
+        } catch (IOException e) {
+            cancel();
+            failure.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        failure.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        try {
+            feed(ByteBuffer.allocate(0), true);
+        } catch (IOException e) {
+            failure.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Registers how to abort the request when the publisher fails, also when it already failed.
+     */
+    void onFailure(Consumer<Throwable> abort) {
+        failure.exceptionally(throwable -> {
+            abort.accept(throwable);
+            return null;
+        });
+    }
+
+    void cancel() {
+        Flow.Subscription current = subscription;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    /**
+     * The transport removes a fed buffer once it has read all of it.
+     */
+    private class DrainQueue extends ConcurrentLinkedQueue<Object> {
+
+        @Override
+        public Object remove() {
+            Object drained = super.remove();
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.request(1);
+            }
+            return drained;
+        }
+
+    }
+
+}
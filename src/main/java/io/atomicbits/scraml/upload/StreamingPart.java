@@ -0,0 +1,58 @@
+package io.atomicbits.scraml.upload;
+
+import io.atomicbits.raml10.dsl.javajackson.BodyPart;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * A multipart/form-data part whose content is read from a channel while the request is being sent, instead of being
+ * buffered up front. The size is known before anything is read, so that the Content-Length of the whole body can be
+ * computed without touching the data; a part of unknown size makes the body go out with chunked transfer encoding.
+ * <p>
+ * A part can be opened more than once, e.g. when a request is retried, and each time it must produce the same content.
+ */
+public abstract class StreamingPart implements BodyPart {
+
+    private final String name;
+    private final String fileName;
+    private final String contentType;
+
+    protected StreamingPart(String name, String fileName, String contentType) {
+        if (name == null) {
+            throw new IllegalArgumentException("A multipart part needs a name");
+        }
+        this.name = name;
+        this.fileName = fileName;
+        this.contentType = contentType;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The filename parameter of the part's Content-Disposition, or null to leave it out.
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * The part's Content-Type, or null to leave it out.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * The number of bytes the part will produce, -1 if that is not known.
+     */
+    public abstract long size() throws IOException;
+
+    /**
+     * Opens a new channel on the part's content, positioned at its start. The caller closes it.
+     */
+    public abstract ReadableByteChannel open() throws IOException;
+
+}
@@ -0,0 +1,53 @@
+package io.atomicbits.scraml.client;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+
+public class BlockingTest {
+
+    @Test
+    public void completedCallsReturnTheirResult() {
+        assertEquals("OK", Blocking.await(CompletableFuture.completedFuture("OK")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void runtimeExceptionsAreRethrownAsTheyAre() {
+        Blocking.await(failed(new IllegalArgumentException("bad request")));
+    }
+
+    @Test
+    public void ioExceptionsAreRethrownUnchecked() {
+        try {
+            Blocking.await(failed(new IOException("connection reset")));
+            fail("Expected an exception");
+        } catch (UncheckedIOException e) {
+            assertEquals("connection reset", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void anInterruptedWaitCancelsTheCall() {
+        CompletableFuture<String> call = new CompletableFuture<>();
+        Thread.currentThread().interrupt();
+        try {
+            Blocking.await(call);
+            fail("Expected an exception");
+        } catch (CancellationException e) {
+            assertTrue(call.isCancelled());
+            assertTrue(Thread.interrupted());
+        }
+    }
+
+    private static CompletableFuture<String> failed(Throwable failure) {
+        CompletableFuture<String> call = new CompletableFuture<>();
+        call.completeExceptionally(failure);
+        return call;
+    }
+
+}
@@ -0,0 +1,71 @@
+package io.atomicbits.scraml.client;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class EncodingInputStreamTest {
+
+    private static final Charset[] CHARSETS = {
+            StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1, StandardCharsets.UTF_16, Charset.forName("windows-1252")
+    };
+
+    @Test
+    public void encodesLikeGetBytes() throws IOException {
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            String value = randomString(random, random.nextInt(200));
+            for (Charset charset : CHARSETS) {
+                byte[] expected = value.getBytes(charset);
+                assertArrayEquals(expected, readAll(new EncodingInputStream(value, charset), 1 + random.nextInt(20)));
+                assertEquals(expected.length, EncodingInputStream.encodedLength(value, charset));
+            }
+        }
+    }
+
+    @Test
+    public void encodesLargeBodies() throws IOException {
+        String value = randomString(new Random(1), 100000);
+        assertArrayEquals(value.getBytes(StandardCharsets.UTF_8), readAll(new EncodingInputStream(value, StandardCharsets.UTF_8), 16 * 1024));
+        assertEquals(value.getBytes(StandardCharsets.UTF_8).length, Requests.utf8Length(value));
+    }
+
+    private static byte[] readAll(InputStream in, int bufferSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[bufferSize];
+        for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Mostly ASCII, with Latin, CJK, emoji (surrogate pairs) and unpaired surrogates mixed in.
+     */
+    private static String randomString(Random random, int length) {
+        StringBuilder value = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            int kind = random.nextInt(10);
+            if (kind < 5) {
+                value.append((char) (' ' + random.nextInt(95)));
+            } else if (kind < 7) {
+                value.append((char) (0xA0 + random.nextInt(0x600)));
+            } else if (kind < 8) {
+                value.append((char) (0x4E00 + random.nextInt(0x5000)));
+            } else if (kind < 9) {
+                value.appendCodePoint(0x1F600 + random.nextInt(0x50));
+            } else {
+                value.append((char) (0xD800 + random.nextInt(0x800)));
+            }
+        }
+        return value.toString();
+    }
+
+}
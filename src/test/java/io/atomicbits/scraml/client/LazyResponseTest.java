@@ -0,0 +1,79 @@
+package io.atomicbits.scraml.client;
+
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.scraml.json.BinaryFormat;
+import org.junit.Test;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LazyResponseTest {
+
+    private static final String INTEGERS = "java.util.List<java.lang.Integer>";
+
+    @Test
+    public void decodesTheBodyOnce() {
+        Response<List<Integer>> response = LazyResponse.ofBytes(bytes("[1,2,3]"), StandardCharsets.UTF_8, INTEGERS, 200, new HashMap<>());
+        List<Integer> body = response.getBody();
+        assertEquals(Arrays.asList(1, 2, 3), body);
+        assertSame(body, response.getBody());
+        assertEquals("[1,2,3]", response.getStringBody());
+    }
+
+    @Test
+    public void errorBodiesAreNotDecoded() {
+        Response<List<Integer>> response =
+                LazyResponse.ofBytes(bytes("<html>Internal error</html>"), StandardCharsets.UTF_8, INTEGERS, 500, new HashMap<>());
+        assertEquals(500, response.getStatus());
+        assertNull(response.getBody());
+        assertEquals("<html>Internal error</html>", response.getStringBody());
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void invalidBodiesFailOnAccess() {
+        Response<List<Integer>> response = LazyResponse.ofBytes(bytes("[1,2"), StandardCharsets.UTF_8, INTEGERS, 200, new HashMap<>());
+        assertEquals(200, response.getStatus());
+        response.getBody();
+    }
+
+    @Test
+    public void stringResponsesHaveTheirStringAsBody() {
+        Response<String> response = LazyResponse.ofBytes(bytes("Delete OK"), StandardCharsets.ISO_8859_1, null, 404, new HashMap<>());
+        assertEquals("Delete OK", response.getBody());
+        Response<List<Integer>> typed = Responses.lazy(response, INTEGERS);
+        assertNull(typed.getBody());
+        assertEquals("Delete OK", typed.getStringBody());
+    }
+
+    @Test
+    public void everyDecodeListenerIsCalled() {
+        LazyResponse<List<Integer>> response = LazyResponse.ofBytes(bytes("[1,2,3]"), StandardCharsets.UTF_8, INTEGERS, 200, new HashMap<>());
+        List<String> calls = new ArrayList<>();
+        response.onDecode(nanos -> calls.add("first"));
+        response.onDecode(nanos -> calls.add("second"));
+        response.getBody();
+        response.getBody();
+        assertEquals(Arrays.asList("first", "second"), calls);
+    }
+
+    @Test
+    public void bodyLengthIsTheLengthAsReceived() {
+        byte[] cbor = {(byte) 0x83, 0x01, 0x02, 0x03};
+        LazyResponse<List<Integer>> binary = LazyResponse.ofBinary(cbor, BinaryFormat.CBOR, INTEGERS, 200, new HashMap<>());
+        assertEquals(4L, Responses.bodyLength(binary));
+        assertNull(binary.getStringBody());
+        Response<String> text = LazyResponse.ofBytes(bytes("caf\u00e9"), StandardCharsets.UTF_8, null, 200, new HashMap<>());
+        assertEquals(5L, Responses.bodyLength(text));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
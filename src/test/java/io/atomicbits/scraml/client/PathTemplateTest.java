@@ -0,0 +1,50 @@
+package io.atomicbits.scraml.client;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class PathTemplateTest {
+
+    private static final PathTemplate USER_ADDRESS = PathTemplate.compile("rest/user/{userid}/address");
+
+    @Test
+    public void variablesInOrder() {
+        PathTemplate template = PathTemplate.compile("rest/user/{userid}/books/{isbn}");
+        assertEquals(Arrays.asList("userid", "isbn"), template.getVariables());
+        assertTrue(template.matches("rest/user/foobar/books/978-0-316-12908-4"));
+        assertEquals("rest/user/{userid}/books/{isbn}", template.toString());
+    }
+
+    @Test
+    public void encodesTheLiteralSegmentsOnce() {
+        PathTemplate template = PathTemplate.compile("rest/a b/{id}");
+        assertTrue(template.matches("rest/a%20b/42"));
+        assertFalse(template.matches("rest/a b/42"));
+    }
+
+    @Test
+    public void templateWithoutVariables() {
+        assertTrue(PathTemplate.compile("rest/animals").matches("rest/animals"));
+        assertFalse(PathTemplate.compile("rest/animals").matches("rest/animals/1"));
+    }
+
+    @Test
+    public void matchesItsExpansions() {
+        assertTrue(USER_ADDRESS.matches("rest/user/foobar/address"));
+        assertTrue(USER_ADDRESS.matches("rest/user/john%20doe/address"));
+        assertFalse(USER_ADDRESS.matches("rest/user//address"));
+        assertFalse(USER_ADDRESS.matches("rest/user/foo/bar/address"));
+        assertFalse(USER_ADDRESS.matches("rest/user/foobar"));
+        assertTrue(PathTemplate.compile("rest/user/{userid}").matches("rest/user/foobar"));
+        assertFalse(PathTemplate.compile("rest/user/{userid}").matches("rest/user/foobar/address"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unclosedVariable() {
+        PathTemplate.compile("rest/user/{userid");
+    }
+
+}
@@ -0,0 +1,295 @@
+package io.atomicbits.scraml.client.cache;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.atomicbits.raml10.Book;
+import io.atomicbits.raml10.RamlTestClient;
+import io.atomicbits.raml10.Zoo;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.Assert.*;
+
+public class CachingClientTest {
+
+    private static int port = 8286;
+    private static String host = "localhost";
+    private static WireMockServer wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().port(port));
+    private static LruCacheStore cacheStore = new LruCacheStore(1024 * 1024);
+    private static RamlTestClient client;
+
+    @BeforeClass
+    public static void setUpClass() {
+        wireMockServer.start();
+        WireMock.configureFor(host, port);
+        ClientConfig config = new ClientConfig();
+        config.setRequestCharset(Charset.forName("UTF-8"));
+        client = new RamlTestClient(host, port, "http", null, config, new HashMap<>(), new CachingClientFactory(cacheStore));
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        wireMockServer.stop();
+        client.close();
+    }
+
+    @Before
+    public void setUp() {
+        WireMock.reset();
+    }
+
+    @Test
+    public void freshResponsesAreServedLocally() {
+
+        stubFor(
+                get(urlEqualTo("/rest/zoo"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("{\"name\":\"Planckendael\", \"animals\": []}")
+                                        .withHeader("Cache-Control", "max-age=60")
+                                        .withStatus(200)
+                        )
+        );
+
+        try {
+            Zoo first = client.rest.zoo.get().get(10, TimeUnit.SECONDS).getBody();
+            Zoo second = client.rest.zoo.get().get(10, TimeUnit.SECONDS).getBody();
+            assertEquals("Planckendael", first.getName());
+            assertEquals("Planckendael", second.getName());
+            assertNotSame(first, second);
+            verify(1, getRequestedFor(urlEqualTo("/rest/zoo")));
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void staleResponsesAreRevalidatedWithTheirETag() {
+
+        stubFor(
+                get(urlEqualTo("/books"))
+                        .atPriority(2)
+                        .willReturn(
+                                aResponse()
+                                        .withBody("[{\"author\": {\"firstName\": \"James\", \"lastName\": \"Corey\"}, " +
+                                                "\"isbn\":\"978-0-316-12908-4\", \"title\": \"Leviathan Wakes\", \"kind\": \"Book\"}]")
+                                        .withHeader("Cache-Control", "no-cache")
+                                        .withHeader("ETag", "\"v1\"")
+                                        .withStatus(200)
+                        )
+        );
+        stubFor(
+                get(urlEqualTo("/books"))
+                        .atPriority(1)
+                        .withHeader("If-None-Match", equalTo("\"v1\""))
+                        .willReturn(
+                                aResponse()
+                                        .withStatus(304)
+                        )
+        );
+
+        try {
+            assertEquals(1, client.books.get().get(10, TimeUnit.SECONDS).getBody().size());
+            Response<List<Book>> revalidated = client.books.get().get(10, TimeUnit.SECONDS);
+            assertEquals(200, revalidated.getStatus());
+            assertEquals("Leviathan Wakes", revalidated.getBody().get(0).getTitle());
+            verify(2, getRequestedFor(urlEqualTo("/books")));
+            verify(1, getRequestedFor(urlEqualTo("/books")).withHeader("If-None-Match", equalTo("\"v1\"")));
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void responsesAreNotSharedBetweenCredentials() {
+
+        stubFor(
+                get(urlEqualTo("/rest/zoo"))
+                        .withHeader("Authorization", equalTo("Bearer alice"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("{\"name\":\"Planckendael\", \"animals\": []}")
+                                        .withHeader("Cache-Control", "max-age=60")
+                                        .withStatus(200)
+                        )
+        );
+        stubFor(
+                get(urlEqualTo("/rest/zoo"))
+                        .withHeader("Authorization", equalTo("Bearer bob"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("{\"name\":\"Pairi Daiza\", \"animals\": []}")
+                                        .withHeader("Cache-Control", "max-age=60")
+                                        .withStatus(200)
+                        )
+        );
+
+        try {
+            Zoo alice = client.rest.zoo.addHeader("Authorization", "Bearer alice").get().get(10, TimeUnit.SECONDS).getBody();
+            Zoo bob = client.rest.zoo.addHeader("Authorization", "Bearer bob").get().get(10, TimeUnit.SECONDS).getBody();
+            assertEquals("Planckendael", alice.getName());
+            assertEquals("Pairi Daiza", bob.getName());
+            verify(2, getRequestedFor(urlEqualTo("/rest/zoo")));
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void responsesAreOnlyServedForTheHeadersTheyVaryOn() {
+
+        stubFor(
+                get(urlEqualTo("/rest/zoo"))
+                        .withHeader("Accept-Language", equalTo("nl"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("{\"name\":\"Dierenpark\", \"animals\": []}")
+                                        .withHeader("Cache-Control", "max-age=60")
+                                        .withHeader("Vary", "Accept-Language")
+                                        .withStatus(200)
+                        )
+        );
+        stubFor(
+                get(urlEqualTo("/rest/zoo"))
+                        .withHeader("Accept-Language", equalTo("en"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("{\"name\":\"Animal park\", \"animals\": []}")
+                                        .withHeader("Cache-Control", "max-age=60")
+                                        .withHeader("Vary", "Accept-Language")
+                                        .withStatus(200)
+                        )
+        );
+
+        // An empty store, so that no entry cached by another test answers these requests.
+        RamlTestClient varyClient = new RamlTestClient(host, port, "http", null, new ClientConfig(), new HashMap<>(),
+                new CachingClientFactory(new LruCacheStore(1024 * 1024)));
+        try {
+            assertEquals("Dierenpark",
+                    varyClient.rest.zoo.addHeader("Accept-Language", "nl").get().get(10, TimeUnit.SECONDS).getBody().getName());
+            assertEquals("Animal park",
+                    varyClient.rest.zoo.addHeader("Accept-Language", "en").get().get(10, TimeUnit.SECONDS).getBody().getName());
+            verify(2, getRequestedFor(urlEqualTo("/rest/zoo")));
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        } finally {
+            varyClient.close();
+        }
+    }
+
+    @Test
+    public void notModifiedAnswersReplaceTheStoredHeaders() {
+
+        stubFor(
+                get(urlEqualTo("/rest/zoo"))
+                        .atPriority(3)
+                        .willReturn(
+                                aResponse()
+                                        .withBody("{\"name\":\"Planckendael\", \"animals\": []}")
+                                        .withHeader("Cache-Control", "no-cache")
+                                        .withHeader("ETag", "\"v1\"")
+                                        .withStatus(200)
+                        )
+        );
+        stubFor(
+                get(urlEqualTo("/rest/zoo"))
+                        .atPriority(2)
+                        .withHeader("If-None-Match", equalTo("\"v1\""))
+                        .willReturn(
+                                aResponse()
+                                        .withHeader("Cache-Control", "no-cache")
+                                        .withHeader("ETag", "\"v2\"")
+                                        .withStatus(304)
+                        )
+        );
+        stubFor(
+                get(urlEqualTo("/rest/zoo"))
+                        .atPriority(1)
+                        .withHeader("If-None-Match", equalTo("\"v2\""))
+                        .willReturn(
+                                aResponse()
+                                        .withHeader("Cache-Control", "max-age=60")
+                                        .withStatus(304)
+                        )
+        );
+
+        RamlTestClient revalidatingClient = new RamlTestClient(host, port, "http", null, new ClientConfig(), new HashMap<>(),
+                new CachingClientFactory(new LruCacheStore(1024 * 1024)));
+        try {
+            for (int i = 0; i < 4; i++) {
+                assertEquals("Planckendael", revalidatingClient.rest.zoo.get().get(10, TimeUnit.SECONDS).getBody().getName());
+            }
+            verify(3, getRequestedFor(urlEqualTo("/rest/zoo")));
+            verify(1, getRequestedFor(urlEqualTo("/rest/zoo")).withHeader("If-None-Match", equalTo("\"v2\"")));
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        } finally {
+            revalidatingClient.close();
+        }
+    }
+
+    @Test
+    public void freshnessFollowsExpiresAndAge() {
+        long date = 1_500_000_000_000L;
+        Map<String, List<String>> expires = new HashMap<>();
+        expires.put("Date", Collections.singletonList(httpDate(date)));
+        expires.put("Expires", Collections.singletonList(httpDate(date + 60_000L)));
+        assertEquals(date + 60_000L, CacheControl.of(expires).expiresAt(date, date));
+
+        Map<String, List<String>> aged = new HashMap<>();
+        aged.put("Cache-Control", Collections.singletonList("max-age=60"));
+        aged.put("Age", Collections.singletonList("20"));
+        assertEquals(date + 40_000L, CacheControl.of(aged).expiresAt(date, date));
+
+        Map<String, List<String>> invalidExpires = new HashMap<>();
+        invalidExpires.put("Expires", Collections.singletonList("0"));
+        assertEquals(date, CacheControl.of(invalidExpires).expiresAt(date, date));
+
+        aged.put("Expires", Collections.singletonList(httpDate(date + 600_000L)));
+        assertEquals(date + 40_000L, CacheControl.of(aged).expiresAt(date, date)); // max-age wins over Expires
+    }
+
+    @Test
+    public void leastRecentlyUsedEntriesAreEvictedFirst() {
+        LruCacheStore store = new LruCacheStore(10, true);
+        store.put("a", entry(4));
+        store.put("b", entry(4));
+        store.get("a");
+        store.put("c", entry(4));
+        assertNotNull(store.get("a"));
+        assertNull(store.get("b"));
+        assertNotNull(store.get("c"));
+        assertEquals(8L, store.getBytes());
+        store.put("d", entry(11));
+        assertNull(store.get("d"));
+        assertEquals(2, store.size());
+    }
+
+    private static String httpDate(long millis) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(millis).atOffset(ZoneOffset.UTC));
+    }
+
+    private CachedResponse entry(int size) {
+        return new CachedResponse(200, Collections.emptyMap(), ByteBuffer.allocate(size), "\"e\"", null, 0L, Collections.emptyMap());
+    }
+
+}
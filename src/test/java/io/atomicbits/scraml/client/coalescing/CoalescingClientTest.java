@@ -0,0 +1,142 @@
+package io.atomicbits.scraml.client.coalescing;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.atomicbits.raml10.RamlTestClient;
+import io.atomicbits.raml10.Zoo;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.Assert.*;
+
+public class CoalescingClientTest {
+
+    private static int port = 8285;
+    private static String host = "localhost";
+    private static WireMockServer wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().port(port));
+    private static RamlTestClient client;
+
+    @BeforeClass
+    public static void setUpClass() {
+        wireMockServer.start();
+        WireMock.configureFor(host, port);
+        ClientConfig config = new ClientConfig();
+        config.setRequestCharset(Charset.forName("UTF-8"));
+        client = new RamlTestClient(host, port, "http", null, config, new HashMap<>(), new CoalescingClientFactory());
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        wireMockServer.stop();
+        client.close();
+    }
+
+    @Before
+    public void setUp() {
+        WireMock.reset();
+    }
+
+    @Test
+    public void identicalGetRequestsShareOneCall() {
+
+        stubFor(
+                get(urlEqualTo("/rest/zoo"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("{\"name\":\"Planckendael\", \"animals\": []}")
+                                        .withFixedDelay(500)
+                                        .withStatus(200)
+                        )
+        );
+
+        try {
+            for (int round = 1; round <= 2; round++) {
+                List<CompletableFuture<Response<Zoo>>> eventualZoos = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    eventualZoos.add(client.rest.zoo.get());
+                }
+                for (CompletableFuture<Response<Zoo>> eventualZoo : eventualZoos) {
+                    assertEquals("Planckendael", eventualZoo.get(10, TimeUnit.SECONDS).getBody().getName());
+                }
+                // A new round starts after the previous response came in, so it goes out on the wire again.
+                verify(round, getRequestedFor(urlEqualTo("/rest/zoo")));
+            }
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void requestsWithDifferentCredentialsAreNotShared() {
+
+        stubFor(
+                get(urlEqualTo("/rest/zoo"))
+                        .withHeader("Authorization", equalTo("Bearer alice"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("{\"name\":\"Alice's zoo\", \"animals\": []}")
+                                        .withFixedDelay(300)
+                                        .withStatus(200)
+                        )
+        );
+        stubFor(
+                get(urlEqualTo("/rest/zoo"))
+                        .withHeader("Authorization", equalTo("Bearer bob"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("{\"name\":\"Bob's zoo\", \"animals\": []}")
+                                        .withFixedDelay(300)
+                                        .withStatus(200)
+                        )
+        );
+
+        CompletableFuture<Response<Zoo>> alice = client.rest.zoo.addHeader("Authorization", "Bearer alice").get();
+        CompletableFuture<Response<Zoo>> bob = client.rest.zoo.addHeader("Authorization", "Bearer bob").get();
+        try {
+            assertEquals("Alice's zoo", alice.get(10, TimeUnit.SECONDS).getBody().getName());
+            assertEquals("Bob's zoo", bob.get(10, TimeUnit.SECONDS).getBody().getName());
+            verify(2, getRequestedFor(urlEqualTo("/rest/zoo")));
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void cancellingOneCallerDoesNotAffectTheOthers() {
+
+        stubFor(
+                get(urlEqualTo("/rest/zoo"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("{\"name\":\"Planckendael\", \"animals\": []}")
+                                        .withFixedDelay(300)
+                                        .withStatus(200)
+                        )
+        );
+
+        CompletableFuture<Response<Zoo>> cancelled = client.rest.zoo.get();
+        CompletableFuture<Response<Zoo>> kept = client.rest.zoo.get();
+        cancelled.cancel(true);
+        try {
+            assertEquals("Planckendael", kept.get(10, TimeUnit.SECONDS).getBody().getName());
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        }
+    }
+
+}
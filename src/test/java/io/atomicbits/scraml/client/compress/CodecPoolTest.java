@@ -0,0 +1,92 @@
+package io.atomicbits.scraml.client.compress;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.junit.Assert.*;
+
+public class CodecPoolTest {
+
+    private static final CodecPool pool = new CodecPool(Deflater.DEFAULT_COMPRESSION, 2);
+
+    @Test
+    public void gzipIsReadableByTheJdk() throws IOException {
+        byte[] data = data();
+        byte[] compressed = compress(data, ContentCoding.GZIP);
+        assertTrue(compressed.length < data.length / 5);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+    }
+
+    @Test
+    public void jdkGzipIsReadable() throws IOException {
+        byte[] data = data();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(data);
+        }
+        assertArrayEquals(data, decompress(compressed.toByteArray(), ContentCoding.GZIP));
+    }
+
+    @Test
+    public void deflateRoundTrips() throws IOException {
+        byte[] data = data();
+        for (int i = 0; i < 5; i++) { // reuses the pooled codecs
+            assertArrayEquals(data, decompress(compress(data, ContentCoding.DEFLATE), ContentCoding.DEFLATE));
+            assertArrayEquals(data, decompress(compress(data, ContentCoding.GZIP), ContentCoding.GZIP));
+        }
+    }
+
+    @Test
+    public void rawDeflateIsReadable() throws IOException {
+        byte[] data = data();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = new DeflaterOutputStream(compressed, new Deflater(Deflater.DEFAULT_COMPRESSION, true))) {
+            out.write(data);
+        }
+        assertArrayEquals(data, decompress(compressed.toByteArray(), ContentCoding.DEFLATE));
+    }
+
+    @Test(expected = ZipException.class)
+    public void corruptGzipIsRejected() throws IOException {
+        byte[] compressed = compress(data(), ContentCoding.GZIP);
+        compressed[compressed.length - 6] ^= 1; // the CRC in the trailer
+        decompress(compressed, ContentCoding.GZIP);
+    }
+
+    private static byte[] compress(byte[] data, ContentCoding coding) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = pool.compress(compressed, coding)) {
+            out.write(data);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static byte[] decompress(byte[] compressed, ContentCoding coding) throws IOException {
+        try (InputStream in = pool.decompress(new ByteArrayInputStream(compressed), coding)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] data() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            json.append("{\"firstName\":\"John\",\"lastName\":\"Doe\",\"age\":").append(i).append("},");
+        }
+        json.setCharAt(json.length() - 1, ']');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,130 @@
+package io.atomicbits.scraml.client.jdk;
+
+import io.atomicbits.raml10.Link;
+import io.atomicbits.raml10.Method;
+import io.atomicbits.raml10.RamlTestClient;
+import io.atomicbits.raml10.User;
+import io.atomicbits.raml10.UserDefinitionsAddress;
+import io.atomicbits.raml10.dsl.javajackson.DateOnly;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import io.atomicbits.scraml.client.Responses;
+import io.atomicbits.scraml.client.compress.Compression;
+import io.atomicbits.scraml.client.compress.ContentCoding;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the generated client on the JDK HTTP client with compression against a local server that echoes the request
+ * body, gzipped when the client accepts it, and reports the Content-Encoding of the request.
+ */
+public class JdkCompressionTest {
+
+    private static String host = "localhost";
+    private static Server server;
+    private static RamlTestClient client;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        server = new Server();
+        ServerConnector connector = new ServerConnector(server);
+        server.addConnector(connector);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target,
+                               Request baseRequest,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+                String requestEncoding = request.getHeader("Content-Encoding");
+                InputStream body = "gzip".equals(requestEncoding) ? new GZIPInputStream(request.getInputStream()) : request.getInputStream();
+                String acceptEncoding = request.getHeader("Accept-Encoding");
+                response.setStatus(202);
+                response.setContentType("application/json; charset=UTF-8");
+                response.setHeader("X-Request-Content-Encoding", String.valueOf(requestEncoding));
+                if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                    response.setHeader("Content-Encoding", "gzip");
+                    try (OutputStream out = new GZIPOutputStream(response.getOutputStream())) {
+                        body.transferTo(out);
+                    }
+                } else {
+                    body.transferTo(response.getOutputStream());
+                }
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+
+        ClientConfig config = new ClientConfig();
+        config.setRequestCharset(Charset.forName("UTF-8"));
+        Compression compression =
+                Compression.defaults().withRequestCompression(ContentCoding.GZIP, 0, "application/vnd-v1.0+json");
+        client =
+                new RamlTestClient(
+                        host,
+                        connector.getLocalPort(),
+                        "http",
+                        null,
+                        config,
+                        new HashMap<>(),
+                        new JdkHttpClientFactory().withCompression(compression)
+                );
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    public void compressedRequestAndResponseBodies() {
+        User user = new User(
+                new UserDefinitionsAddress("LA", "California", "Mulholland Drive"),
+                21L,
+                new DateOnly(LocalDate.parse("2015-05-23")),
+                "John",
+                new Link(null, "http://foo.bar", Method.GET),
+                "1",
+                "Doe",
+                null);
+
+        try {
+            Response<List<User>> response =
+                    client.rest.user
+                            .addHeader("Content-Type", "application/vnd-v1.0+json; charset=UTF-8")
+                            .activate
+                            .put(Collections.singletonList(user))
+                            .get(10, TimeUnit.SECONDS);
+            assertEquals(202, response.getStatus());
+            assertEquals("gzip", Responses.header(response, "X-Request-Content-Encoding"));
+            assertEquals(1, response.getBody().size());
+            assertEquals("John", response.getBody().get(0).getFirstName());
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        }
+    }
+
+}
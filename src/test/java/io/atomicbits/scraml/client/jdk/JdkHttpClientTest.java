@@ -0,0 +1,139 @@
+package io.atomicbits.scraml.client.jdk;
+
+import io.atomicbits.raml10.RamlTestClient;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import io.atomicbits.scraml.client.Blocking;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the generated client on the JDK HTTP client against a local h2c (cleartext HTTP/2) server that echoes the
+ * protocol of each request.
+ */
+public class JdkHttpClientTest {
+
+    private static String host = "localhost";
+    private static Server server;
+    private static RamlTestClient client;
+    private static RamlTestClient blockingClient;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        server = new Server();
+        HttpConfiguration httpConfiguration = new HttpConfiguration();
+        ServerConnector connector =
+                new ServerConnector(
+                        server,
+                        new HttpConnectionFactory(httpConfiguration),
+                        new HTTP2CServerConnectionFactory(httpConfiguration)
+                );
+        server.addConnector(connector);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target,
+                               Request baseRequest,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+                response.setStatus(200);
+                response.setContentType("text/plain; charset=UTF-8");
+                response.getWriter().write(request.getMethod() + " " + target + " " + request.getProtocol());
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+
+        ClientConfig config = new ClientConfig();
+        config.setRequestCharset(Charset.forName("UTF-8"));
+        client = new RamlTestClient(host, connector.getLocalPort(), "http", null, config, new HashMap<>(), new JdkHttpClientFactory());
+        blockingClient =
+                new RamlTestClient(host, connector.getLocalPort(), "http", null, config, new HashMap<>(), JdkHttpClientFactory.blocking());
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        client.close();
+        blockingClient.close();
+        server.stop();
+    }
+
+    @Test
+    public void concurrentCallsAreMultiplexedOverHttp2() {
+        try {
+            // The first request negotiates the h2c upgrade.
+            assertEquals(200, client.rest.user.userid("foobar").delete().get(10, TimeUnit.SECONDS).getStatus());
+
+            List<CompletableFuture<Response<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                responses.add(client.rest.user.userid("user" + i).delete());
+            }
+            for (int i = 0; i < 100; i++) {
+                Response<String> response = responses.get(i).get(10, TimeUnit.SECONDS);
+                assertEquals(200, response.getStatus());
+                assertEquals("DELETE /rest/user/user" + i + " HTTP/2.0", response.getBody());
+            }
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void restrictedHeadersAreLeftOut() {
+        try {
+            Response<String> response =
+                    client.rest.user.userid("foobar").addHeader("Origin", "http://localhost").delete().get(10, TimeUnit.SECONDS);
+            assertEquals(200, response.getStatus());
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void blockingCallsCompleteOnTheCallingThread() {
+        ExecutorService callers = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<String>> responses = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                String userid = "user" + i;
+                responses.add(callers.submit(() -> {
+                    CompletableFuture<Response<String>> response = blockingClient.rest.user.userid(userid).delete();
+                    assertTrue(response.isDone());
+                    return Blocking.await(response).getBody();
+                }));
+            }
+            for (int i = 0; i < 100; i++) {
+                assertEquals("DELETE /rest/user/user" + i + " HTTP/2.0", responses.get(i).get(10, TimeUnit.SECONDS));
+            }
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+}
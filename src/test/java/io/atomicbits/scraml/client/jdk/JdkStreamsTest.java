@@ -0,0 +1,202 @@
+package io.atomicbits.scraml.client.jdk;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.atomicbits.raml10.Animal;
+import io.atomicbits.raml10.Cat;
+import io.atomicbits.raml10.Dog;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import io.atomicbits.scraml.client.HttpStatusException;
+import io.atomicbits.scraml.client.compress.Compression;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.http.HttpClient;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.Assert.*;
+
+public class JdkStreamsTest {
+
+    private static int port = 8289;
+    private static String host = "localhost";
+    private static WireMockServer wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().port(port));
+    private static ExecutorService executor = Executors.newCachedThreadPool();
+    private static JdkStreams streams;
+
+    @BeforeClass
+    public static void setUpClass() {
+        wireMockServer.start();
+        WireMock.configureFor(host, port);
+        Map<String, String> defaultHeaders = new HashMap<>();
+        defaultHeaders.put("X-Client", "streams");
+        JdkHttpClient client =
+                new JdkHttpClient(host, port, "http", "rest", new ClientConfig(), defaultHeaders,
+                        HttpClient.Version.HTTP_1_1, false, Compression.defaults());
+        streams = new JdkStreams(client, executor);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        wireMockServer.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void animalsArePublishedOneRequestAtATime() throws InterruptedException {
+
+        stubFor(
+                get(urlEqualTo("/rest/animals"))
+                        .withHeader("Accept", equalTo("application/json"))
+                        .withHeader("X-Client", equalTo("streams"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("[{\"_type\":\"Dog\",\"canBark\":true,\"gender\":\"female\",\"name\":\"Ziva\"}," +
+                                                "{\"gender\":\"male\",\"name\":\"Duster\",\"_type\":\"Cat\"}]")
+                                        .withStatus(200)
+                        )
+        );
+
+        BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+        streams.elements("animals", Animal.class).subscribe(
+                new Flow.Subscriber<Animal>() {
+
+                    private Flow.Subscription subscription;
+
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        this.subscription = subscription;
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onNext(Animal animal) {
+                        signals.add(animal);
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        signals.add(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        signals.add("complete");
+                    }
+                }
+        );
+
+        assertTrue(signals.poll(10, TimeUnit.SECONDS) instanceof Dog);
+        assertTrue(signals.poll(10, TimeUnit.SECONDS) instanceof Cat);
+        assertEquals("complete", signals.poll(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void compressedBodiesArePublishedDecompressed() throws InterruptedException, IOException {
+
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write("animal data".getBytes(StandardCharsets.UTF_8));
+        }
+        stubFor(
+                get(urlEqualTo("/rest/animals/datafile/download"))
+                        .withHeader("Accept-Encoding", containing("gzip"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody(gzipped.toByteArray())
+                                        .withHeader("Content-Encoding", "gzip")
+                                        .withStatus(200)
+                        )
+        );
+
+        BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        streams.byteBuffers("animals/datafile/download").subscribe(
+                new Flow.Subscriber<ByteBuffer>() {
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(ByteBuffer item) {
+                        byte[] bytes = new byte[item.remaining()];
+                        item.get(bytes);
+                        received.write(bytes, 0, bytes.length);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        signals.add(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        signals.add("complete");
+                    }
+                }
+        );
+
+        assertEquals("complete", signals.poll(10, TimeUnit.SECONDS));
+        assertEquals("animal data", new String(received.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void unsuccessfulResponsesFailThePublisher() throws InterruptedException {
+
+        stubFor(
+                get(urlEqualTo("/rest/animals/missing"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("Not here")
+                                        .withStatus(404)
+                        )
+        );
+
+        BlockingQueue<Throwable> errors = new LinkedBlockingQueue<>();
+        streams.byteBuffers("animals/missing").subscribe(
+                new Flow.Subscriber<Object>() {
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(Object item) {
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        errors.add(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                }
+        );
+
+        Throwable error = errors.poll(10, TimeUnit.SECONDS);
+        assertTrue(error instanceof HttpStatusException);
+        assertEquals(404, ((HttpStatusException) error).getStatus());
+        assertEquals("Not here", ((HttpStatusException) error).getBody());
+    }
+
+}
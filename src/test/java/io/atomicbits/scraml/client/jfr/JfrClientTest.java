@@ -0,0 +1,220 @@
+package io.atomicbits.scraml.client.jfr;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.atomicbits.raml10.Animal;
+import io.atomicbits.raml10.RamlTestClient;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import io.atomicbits.scraml.client.PathTemplate;
+import io.atomicbits.scraml.client.jdk.JdkHttpClientFactory;
+import io.atomicbits.scraml.client.metrics.EndpointNamer;
+import io.atomicbits.scraml.client.metrics.HistogramMetricsRecorder;
+import io.atomicbits.scraml.client.metrics.MetricsClientFactory;
+import io.atomicbits.scraml.client.metrics.Phase;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.Assert.*;
+
+public class JfrClientTest {
+
+    private static int port = 8288;
+    private static String host = "localhost";
+    private static WireMockServer wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().port(port));
+    private static RamlTestClient client;
+
+    @BeforeClass
+    public static void setUpClass() {
+        wireMockServer.start();
+        WireMock.configureFor(host, port);
+        ClientConfig config = new ClientConfig();
+        config.setRequestCharset(Charset.forName("UTF-8"));
+        EndpointNamer endpointNamer = EndpointNamer.byTemplates(PathTemplate.compile("rest/user/{userid}"));
+        client = new RamlTestClient(host, port, "http", null, config, new HashMap<>(), new JfrClientFactory(endpointNamer));
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        wireMockServer.stop();
+        client.close();
+    }
+
+    @Before
+    public void setUp() {
+        WireMock.reset();
+    }
+
+    @Test
+    public void requestsAreRecorded() throws IOException {
+
+        String body = "[{\"_type\":\"Dog\",\"canBark\":true,\"gender\":\"female\",\"name\":\"Ziva\"}]";
+        stubFor(
+                get(urlEqualTo("/rest/animals"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody(body)
+                                        .withHeader("Content-Type", "application/json")
+                                        .withStatus(200)
+                        )
+        );
+        stubFor(
+                delete(urlEqualTo("/rest/user/foobar"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("Delete OK")
+                                        .withStatus(200)
+                        )
+        );
+
+        Path recordingFile = Files.createTempFile("scraml-requests", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(RequestEvent.NAME);
+            recording.start();
+            List<Animal> animals = client.rest.animals.get().get(10, TimeUnit.SECONDS).getBody();
+            assertEquals(1, animals.size());
+            client.rest.user.userid("foobar").delete().get(10, TimeUnit.SECONDS);
+            recording.stop();
+            recording.dump(recordingFile);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        }
+
+        List<RecordedEvent> events =
+                RecordingFile.readAllEvents(recordingFile)
+                        .stream()
+                        .filter(event -> event.getEventType().getName().equals(RequestEvent.NAME))
+                        .collect(Collectors.toList());
+        Files.delete(recordingFile);
+        assertEquals(2, events.size());
+
+        RecordedEvent animalsEvent = events.stream().filter(event -> "GET".equals(event.getString("method"))).findFirst().get();
+        assertEquals("rest/animals", animalsEvent.getString("path"));
+        assertEquals(200, animalsEvent.getInt("status"));
+        assertEquals("application/json", animalsEvent.getString("responseMediaType"));
+        assertEquals(body.length(), animalsEvent.getLong("bytesIn"));
+
+        RecordedEvent deleteEvent = events.stream().filter(event -> "DELETE".equals(event.getString("method"))).findFirst().get();
+        assertEquals("rest/user/foobar", deleteEvent.getString("path"));
+        assertEquals("DELETE rest/user/{userid}", deleteEvent.getString("endpoint"));
+    }
+
+    @Test
+    public void lazilyDecodedBodiesAreRecorded() throws IOException {
+
+        stubFor(
+                get(urlEqualTo("/rest/animals"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("[{\"_type\":\"Dog\",\"canBark\":true,\"gender\":\"female\",\"name\":\"Ziva\"}]")
+                                        .withStatus(200)
+                        )
+        );
+
+        RamlTestClient jdkClient = new RamlTestClient(host, port, "http", null, new ClientConfig(), new HashMap<>(),
+                new JfrClientFactory(new JdkHttpClientFactory(), EndpointNamer.byPath()));
+        Path recordingFile = Files.createTempFile("scraml-decodes", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(RequestEvent.NAME);
+            recording.enable(DecodeEvent.class);
+            recording.start();
+            Response<List<Animal>> response = jdkClient.rest.animals.get().get(10, TimeUnit.SECONDS);
+            assertEquals(1, response.getBody().size());
+            recording.stop();
+            recording.dump(recordingFile);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        } finally {
+            jdkClient.close();
+        }
+
+        List<RecordedEvent> events =
+                RecordingFile.readAllEvents(recordingFile)
+                        .stream()
+                        .filter(event -> event.getEventType().getName().equals(DecodeEvent.NAME))
+                        .collect(Collectors.toList());
+        Files.delete(recordingFile);
+        assertEquals(1, events.size());
+        assertEquals("rest/animals", events.get(0).getString("path"));
+        assertTrue(events.get(0).getDuration("decodeDuration").toNanos() > 0);
+    }
+
+    @Test
+    public void stackedClientsBothSeeTheDecode() throws IOException {
+
+        stubFor(
+                get(urlEqualTo("/rest/animals"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("[{\"_type\":\"Dog\",\"canBark\":true,\"gender\":\"female\",\"name\":\"Ziva\"}]")
+                                        .withStatus(200)
+                        )
+        );
+
+        HistogramMetricsRecorder metrics = new HistogramMetricsRecorder();
+        RamlTestClient stackedClient = new RamlTestClient(host, port, "http", null, new ClientConfig(), new HashMap<>(),
+                new JfrClientFactory(new MetricsClientFactory(new JdkHttpClientFactory(), metrics, EndpointNamer.byPath()),
+                        EndpointNamer.byPath()));
+        Path recordingFile = Files.createTempFile("scraml-stacked", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(RequestEvent.NAME);
+            recording.enable(DecodeEvent.class);
+            recording.start();
+            Response<List<Animal>> response = stackedClient.rest.animals.get().get(10, TimeUnit.SECONDS);
+            assertEquals(1, response.getBody().size());
+            recording.stop();
+            recording.dump(recordingFile);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        } finally {
+            stackedClient.close();
+        }
+
+        long decodeEvents =
+                RecordingFile.readAllEvents(recordingFile)
+                        .stream()
+                        .filter(event -> event.getEventType().getName().equals(DecodeEvent.NAME))
+                        .count();
+        Files.delete(recordingFile);
+        assertEquals(1L, decodeEvents);
+        assertEquals(1L, metrics.getStats("GET rest/animals").getHistogram(Phase.DESERIALIZATION).getTotalCount());
+    }
+
+    @Test
+    public void requestsGoThroughWithoutARecording() {
+
+        stubFor(
+                delete(urlEqualTo("/rest/user/foobar"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("Delete OK")
+                                        .withStatus(200)
+                        )
+        );
+
+        try {
+            assertEquals("Delete OK", client.rest.user.userid("foobar").delete().get(10, TimeUnit.SECONDS).getBody());
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package io.atomicbits.scraml.client.limit;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+
+public class LimiterTest {
+
+    @Test
+    public void failFastAtTheLimit() throws InterruptedException, ExecutionException {
+        Limiter limiter = new Limiter("GET rest/animals", new VegasLimit(2, 2, 2), Duration.ZERO, 0);
+        Limiter.Permit first = limiter.acquire().get();
+        limiter.acquire().get();
+        assertRejected(limiter.acquire());
+        first.release(false);
+        assertTrue(limiter.acquire().isDone());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    public void queuedRequestsGetTheNextFreePermit() throws InterruptedException, ExecutionException, TimeoutException {
+        Limiter limiter = new Limiter("GET rest/animals", new VegasLimit(1, 1, 1), Duration.ofSeconds(10), 1);
+        Limiter.Permit first = limiter.acquire().get();
+        CompletableFuture<Limiter.Permit> queued = limiter.acquire();
+        assertFalse(queued.isDone());
+        assertRejected(limiter.acquire()); // the queue holds one request
+        first.release(false);
+        queued.get(10, TimeUnit.SECONDS);
+        assertEquals(1, limiter.getInFlight());
+        assertEquals(0, limiter.getQueued());
+    }
+
+    @Test
+    public void queuedRequestsTimeOut() throws InterruptedException, ExecutionException {
+        Limiter limiter = new Limiter("GET rest/animals", new VegasLimit(1, 1, 1), Duration.ofMillis(50), 10);
+        limiter.acquire().get();
+        assertRejected(limiter.acquire());
+        assertEquals(0, limiter.getQueued());
+    }
+
+    @Test
+    public void vegasFollowsTheLatency() {
+        VegasLimit limit = new VegasLimit(20, 1, 1000);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), limit.getLimit(), false);
+        }
+        int grown = limit.getLimit();
+        assertTrue(grown > 20);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(100), limit.getLimit(), false);
+        }
+        int shrunk = limit.getLimit();
+        assertTrue(shrunk < grown);
+
+        limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), shrunk, true);
+        assertTrue(limit.getLimit() < shrunk);
+    }
+
+    @Test
+    public void anIdleClientDoesNotGrowItsLimit() {
+        VegasLimit limit = new VegasLimit(20, 1, 1000);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), 1, false);
+        }
+        assertEquals(20, limit.getLimit());
+    }
+
+    private static void assertRejected(CompletableFuture<Limiter.Permit> permit) throws InterruptedException {
+        try {
+            permit.get();
+            fail("Expected the request to be rejected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof LimitExceededException);
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+package io.atomicbits.scraml.client.limit;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.atomicbits.raml10.RamlTestClient;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import io.atomicbits.scraml.client.PathTemplate;
+import io.atomicbits.scraml.client.jdk.JdkHttpClientFactory;
+import io.atomicbits.scraml.client.metrics.EndpointNamer;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.Assert.*;
+
+public class LimitingClientTest {
+
+    private static int port = 8290;
+    private static String host = "localhost";
+    private static WireMockServer wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().port(port));
+    private static RamlTestClient client;
+
+    @BeforeClass
+    public static void setUpClass() {
+        wireMockServer.start();
+        WireMock.configureFor(host, port);
+        ClientConfig config = new ClientConfig();
+        config.setRequestCharset(Charset.forName("UTF-8"));
+        EndpointNamer endpointNamer = EndpointNamer.byTemplates(PathTemplate.compile("rest/user/{userid}"));
+        LimitingClientFactory factory = new LimitingClientFactory(endpointNamer, () -> new VegasLimit(2, 2, 2), Duration.ZERO, 0);
+        client = new RamlTestClient(host, port, "http", null, config, new HashMap<>(), factory);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        wireMockServer.stop();
+        client.close();
+    }
+
+    @Test
+    public void requestsBeyondTheLimitOfTheirEndpointFailFast() {
+
+        stubFor(
+                delete(urlMatching("/rest/user/.*"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("Delete OK")
+                                        .withFixedDelay(500)
+                                        .withStatus(200)
+                        )
+        );
+
+        List<CompletableFuture<Response<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            responses.add(client.rest.user.userid("user" + i).delete());
+        }
+
+        int succeeded = 0;
+        int rejected = 0;
+        for (CompletableFuture<Response<String>> response : responses) {
+            try {
+                assertEquals("Delete OK", response.get(10, TimeUnit.SECONDS).getBody());
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof LimitExceededException);
+                assertEquals("DELETE rest/user/{userid}", ((LimitExceededException) e.getCause()).getEndpoint());
+                rejected++;
+            } catch (InterruptedException | TimeoutException e) {
+                fail("Did not expect exception: " + e.getMessage());
+            }
+        }
+        assertEquals(2, succeeded);
+        assertEquals(3, rejected);
+    }
+
+    @Test
+    public void jdkClientTimeoutsCountAsDrops() {
+
+        stubFor(
+                delete(urlEqualTo("/rest/user/slow"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("Delete OK")
+                                        .withFixedDelay(2000)
+                                        .withStatus(200)
+                        )
+        );
+
+        List<Boolean> dropped = Collections.synchronizedList(new ArrayList<>());
+        Limit recordingLimit = new Limit() {
+
+            @Override
+            public int getLimit() {
+                return 10;
+            }
+
+            @Override
+            public void onSample(long rttNanos, int inFlight, boolean drop) {
+                dropped.add(drop);
+            }
+
+        };
+        ClientConfig config = new ClientConfig();
+        config.setRequestTimeout(200);
+        LimitingClientFactory factory =
+                new LimitingClientFactory(new JdkHttpClientFactory(), EndpointNamer.byPath(), () -> recordingLimit, Duration.ZERO, 0);
+        RamlTestClient jdkClient = new RamlTestClient(host, port, "http", null, config, new HashMap<>(), factory);
+        try {
+            jdkClient.rest.user.userid("slow").delete().get(10, TimeUnit.SECONDS);
+            fail("Did not expect a response");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof HttpTimeoutException);
+            assertEquals(Collections.singletonList(true), dropped);
+        } catch (InterruptedException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        } finally {
+            jdkClient.close();
+        }
+    }
+
+}
@@ -0,0 +1,171 @@
+package io.atomicbits.scraml.client.metrics;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.atomicbits.raml10.Animal;
+import io.atomicbits.raml10.RamlTestClient;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import io.atomicbits.raml10.dsl.javajackson.client.ning.Ning19ClientFactory;
+import io.atomicbits.scraml.client.PathTemplate;
+import io.atomicbits.scraml.client.jdk.JdkHttpClientFactory;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.Assert.*;
+
+public class MetricsClientTest {
+
+    private static int port = 8287;
+    private static String host = "localhost";
+    private static WireMockServer wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().port(port));
+    private static HistogramMetricsRecorder metrics = new HistogramMetricsRecorder();
+    private static RamlTestClient client;
+
+    @BeforeClass
+    public static void setUpClass() {
+        wireMockServer.start();
+        WireMock.configureFor(host, port);
+        ClientConfig config = new ClientConfig();
+        config.setRequestCharset(Charset.forName("UTF-8"));
+        EndpointNamer endpointNamer = EndpointNamer.byTemplates(PathTemplate.compile("rest/user/{userid}"));
+        client = new RamlTestClient(host, port, "http", null, config, new HashMap<>(), new MetricsClientFactory(metrics, endpointNamer));
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        wireMockServer.stop();
+        client.close();
+    }
+
+    @Before
+    public void setUp() {
+        WireMock.reset();
+    }
+
+    @Test
+    public void typedResponsesAreTimedAsTheUnderlyingClientAnswersThem() {
+
+        String body = "[{\"_type\":\"Dog\",\"canBark\":true,\"gender\":\"female\",\"name\":\"Ziva\"}]";
+        stubFor(
+                get(urlEqualTo("/rest/animals"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody(body)
+                                        .withStatus(200)
+                        )
+        );
+
+        try {
+            List<Animal> animals = client.rest.animals.get().get(10, TimeUnit.SECONDS).getBody();
+            assertEquals(1, animals.size());
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        }
+
+        EndpointStats stats = metrics.getStats("GET rest/animals");
+        assertEquals(1L, stats.getHistogram(Phase.WIRE).getTotalCount());
+        assertEquals(1L, stats.getHistogram(Phase.DESERIALIZATION).getTotalCount());
+        assertEquals(1L, stats.getHistogram(Phase.TOTAL).getTotalCount());
+        assertTrue(stats.getHistogram(Phase.TOTAL).getMaxValue() >= stats.getHistogram(Phase.WIRE).getMinValue());
+        assertEquals(Long.valueOf(1L), stats.getStatusCounts().get(200));
+        assertEquals(body.length(), stats.getBytesIn());
+        assertEquals(0, stats.getInFlight());
+    }
+
+    @Test
+    public void lazilyDecodedBodiesAreTimedWhenAskedFor() {
+
+        String body = "[{\"_type\":\"Dog\",\"canBark\":true,\"gender\":\"female\",\"name\":\"Ziva\"}]";
+        stubFor(
+                get(urlEqualTo("/rest/animals"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody(body)
+                                        .withStatus(200)
+                        )
+        );
+
+        HistogramMetricsRecorder lazyMetrics = new HistogramMetricsRecorder();
+        RamlTestClient jdkClient = new RamlTestClient(host, port, "http", null, new ClientConfig(), new HashMap<>(),
+                new MetricsClientFactory(new JdkHttpClientFactory(), lazyMetrics, EndpointNamer.byPath()));
+        try {
+            Response<List<Animal>> response = jdkClient.rest.animals.get().get(10, TimeUnit.SECONDS);
+            EndpointStats stats = lazyMetrics.getStats("GET rest/animals");
+            assertEquals(1L, stats.getHistogram(Phase.WIRE).getTotalCount());
+            assertEquals(0L, stats.getHistogram(Phase.DESERIALIZATION).getTotalCount());
+
+            assertEquals(1, response.getBody().size());
+            assertEquals(1, response.getBody().size());
+            assertEquals(1L, stats.getHistogram(Phase.DESERIALIZATION).getTotalCount());
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        } finally {
+            jdkClient.close();
+        }
+    }
+
+    @Test
+    public void pathVariablesAreGroupedByTemplate() {
+
+        stubFor(
+                delete(urlMatching("/rest/user/.*"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("Delete OK")
+                                        .withStatus(200)
+                        )
+        );
+
+        try {
+            client.rest.user.userid("foo").delete().get(10, TimeUnit.SECONDS);
+            client.rest.user.userid("bar").delete().get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        }
+
+        EndpointStats stats = metrics.getStats("DELETE rest/user/{userid}");
+        assertEquals(Long.valueOf(2L), stats.getStatusCounts().get(200));
+        assertNull(metrics.getStats("DELETE rest/user/foo"));
+    }
+
+    @Test
+    public void undecodableResponsesAreCountedAsFailures() {
+
+        stubFor(
+                get(urlEqualTo("/rest/animals"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("[{\"_type\":")
+                                        .withStatus(200)
+                        )
+        );
+
+        HistogramMetricsRecorder eagerMetrics = new HistogramMetricsRecorder();
+        RamlTestClient ningClient = new RamlTestClient(host, port, "http", null, new ClientConfig(), new HashMap<>(),
+                new MetricsClientFactory(new Ning19ClientFactory(), eagerMetrics, EndpointNamer.byPath()));
+        try {
+            Response<List<Animal>> response = ningClient.rest.animals.get().get(10, TimeUnit.SECONDS);
+            fail("Did not expect a response: " + response.getStringBody());
+        } catch (ExecutionException e) {
+            assertEquals(1L, eagerMetrics.getStats("GET rest/animals").getFailures());
+            assertEquals(0, eagerMetrics.getStats("GET rest/animals").getInFlight());
+        } catch (InterruptedException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        } finally {
+            ningClient.close();
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package io.atomicbits.scraml.client.negotiation;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.atomicbits.raml10.RamlTestClient;
+import io.atomicbits.raml10.Zoo;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import io.atomicbits.scraml.json.BinaryFormat;
+import io.atomicbits.scraml.json.JsonCodecs;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.Assert.*;
+
+public class NegotiatingClientTest {
+
+    private static final String ZOO = "{\"name\":\"Planckendael\", \"animals\": [], \"lunchtime\": \"12:30:00\"}";
+
+    private static int port = 8293;
+    private static String host = "localhost";
+    private static WireMockServer wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().port(port));
+    private static RamlTestClient client;
+
+    @BeforeClass
+    public static void setUpClass() {
+        wireMockServer.start();
+        WireMock.configureFor(host, port);
+        ClientConfig config = new ClientConfig();
+        config.setRequestCharset(Charset.forName("UTF-8"));
+        client = new RamlTestClient(host, port, "http", null, config, new HashMap<>(), new NegotiatingClientFactory(BinaryFormat.SMILE));
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        wireMockServer.stop();
+        client.close();
+    }
+
+    @Before
+    public void setUp() {
+        WireMock.reset();
+    }
+
+    @Test
+    public void smileResponsesAreDecodedIntoTheModel() throws IOException {
+
+        Zoo zoo = JsonCodecs.reader(Zoo.class).readValue(ZOO);
+        byte[] smile = BinaryFormat.SMILE.writer(Zoo.class.getName()).writeValueAsBytes(zoo);
+
+        stubFor(
+                get(urlEqualTo("/rest/zoo"))
+                        .withHeader("Accept", containing("application/x-jackson-smile"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody(smile)
+                                        .withHeader("Content-Type", "application/x-jackson-smile")
+                                        .withStatus(200)
+                        )
+        );
+
+        try {
+            Response<Zoo> response = client.rest.zoo.get().get(10, TimeUnit.SECONDS);
+            assertEquals(200, response.getStatus());
+            assertEquals("Planckendael", response.getBody().getName());
+            assertEquals(zoo.getLunchtime().getTime(), response.getBody().getLunchtime().getTime());
+            assertNull(response.getStringBody());
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void jsonResponsesAreStillAccepted() {
+
+        stubFor(
+                get(urlEqualTo("/rest/zoo"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody(ZOO)
+                                        .withHeader("Content-Type", "application/json")
+                                        .withStatus(200)
+                        )
+        );
+
+        try {
+            Response<Zoo> response = client.rest.zoo.get().get(10, TimeUnit.SECONDS);
+            assertEquals("Planckendael", response.getBody().getName());
+            assertEquals(ZOO, response.getStringBody());
+            verify(getRequestedFor(urlEqualTo("/rest/zoo")).withHeader("Accept", containing("json;q=0.5")));
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+package io.atomicbits.scraml.client.retry;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RetryBudgetTest {
+
+    @Test
+    public void depositsPayForRetries() {
+        RetryBudget budget = new RetryBudget(0.5, 0, 1);
+        assertTrue(budget.tryWithdraw()); // starts full
+        assertFalse(budget.tryWithdraw());
+        budget.deposit();
+        assertFalse(budget.tryWithdraw());
+        budget.deposit();
+        assertTrue(budget.tryWithdraw());
+    }
+
+    @Test
+    public void theBalanceIsCapped() {
+        RetryBudget budget = new RetryBudget(1.0, 0, 2);
+        for (int i = 0; i < 10; i++) {
+            budget.deposit();
+        }
+        assertTrue(budget.tryWithdraw());
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+    }
+
+    @Test
+    public void noBudgetAllowsNoRetries() {
+        RetryBudget budget = RetryBudget.none();
+        budget.deposit();
+        assertFalse(budget.tryWithdraw());
+    }
+
+    @Test
+    public void backoffIsJitteredAndCapped() {
+        RetryPolicy policy = RetryPolicy.defaults();
+        for (int i = 0; i < 100; i++) {
+            long first = policy.backoffNanos(1);
+            assertTrue(first >= 0 && first <= 50_000_000L);
+            long tenth = policy.backoffNanos(10);
+            assertTrue(tenth >= 0 && tenth <= 1_000_000_000L);
+        }
+    }
+
+}
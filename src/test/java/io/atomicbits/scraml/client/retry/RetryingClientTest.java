@@ -0,0 +1,192 @@
+package io.atomicbits.scraml.client.retry;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import io.atomicbits.raml10.RamlTestClient;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import io.atomicbits.scraml.client.PathTemplate;
+import io.atomicbits.scraml.client.metrics.EndpointNamer;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.Assert.*;
+
+public class RetryingClientTest {
+
+    private static int port = 8291;
+    private static String host = "localhost";
+    private static WireMockServer wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().port(port));
+    private static EndpointNamer endpointNamer = EndpointNamer.byTemplates(PathTemplate.compile("rest/user/{userid}"));
+
+    @BeforeClass
+    public static void setUpClass() {
+        wireMockServer.start();
+        WireMock.configureFor(host, port);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        wireMockServer.stop();
+    }
+
+    @Before
+    public void setUp() {
+        WireMock.reset();
+    }
+
+    @Test
+    public void retriesAnUnavailableService() {
+        stubFlakyDelete(503);
+
+        RamlTestClient client = client(RetryPolicy.defaults(), RetryBudget.defaults());
+        try {
+            Response<String> response = client.rest.user.userid("foobar").delete().get(10, TimeUnit.SECONDS);
+            assertEquals(200, response.getStatus());
+            assertEquals("Delete OK", response.getBody());
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        } finally {
+            client.close();
+        }
+        verify(2, deleteRequestedFor(urlEqualTo("/rest/user/foobar")));
+    }
+
+    @Test
+    public void doesNotRetryBeyondTheBudget() {
+        stubFlakyDelete(503);
+
+        RamlTestClient client = client(RetryPolicy.defaults(), RetryBudget.none());
+        try {
+            Response<String> response = client.rest.user.userid("foobar").delete().get(10, TimeUnit.SECONDS);
+            assertEquals(503, response.getStatus());
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        } finally {
+            client.close();
+        }
+        verify(1, deleteRequestedFor(urlEqualTo("/rest/user/foobar")));
+    }
+
+    @Test
+    public void doesNotRetryAPost() {
+        stubFor(
+                post(urlEqualTo("/rest/user/foobar"))
+                        .willReturn(aResponse().withStatus(503))
+        );
+
+        RamlTestClient client = client(RetryPolicy.defaults(), RetryBudget.defaults());
+        try {
+            Response<String> response = client.rest.user.userid("foobar").post("Hello-Foobar", null).get(10, TimeUnit.SECONDS);
+            assertEquals(503, response.getStatus());
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        } finally {
+            client.close();
+        }
+        verify(1, postRequestedFor(urlEqualTo("/rest/user/foobar")));
+    }
+
+    @Test
+    public void doesNotRetryAnUndecodableResponse() {
+        stubFor(
+                get(urlEqualTo("/rest/animals"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("[{\"_type\":")
+                                        .withStatus(200)
+                        )
+        );
+
+        RamlTestClient client = client(RetryPolicy.defaults(), RetryBudget.defaults());
+        try {
+            client.rest.animals.get().get(10, TimeUnit.SECONDS).getBody();
+            fail("Did not expect a response");
+        } catch (ExecutionException e) {
+            verify(1, getRequestedFor(urlEqualTo("/rest/animals")));
+        } catch (InterruptedException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void hedgesASlowRequest() {
+        stubFor(
+                delete(urlEqualTo("/rest/user/foobar"))
+                        .inScenario("slow")
+                        .whenScenarioStateIs(Scenario.STARTED)
+                        .willSetStateTo("fast")
+                        .willReturn(
+                                aResponse()
+                                        .withBody("Slow delete")
+                                        .withFixedDelay(2000)
+                                        .withStatus(200)
+                        )
+        );
+        stubFor(
+                delete(urlEqualTo("/rest/user/foobar"))
+                        .inScenario("slow")
+                        .whenScenarioStateIs("fast")
+                        .willReturn(
+                                aResponse()
+                                        .withBody("Fast delete")
+                                        .withStatus(200)
+                        )
+        );
+
+        RetryPolicy policy = RetryPolicy.defaults().withHedging(95.0, Duration.ofMillis(100));
+        RamlTestClient client = client(policy, RetryBudget.defaults());
+        try {
+            long start = System.nanoTime();
+            Response<String> response = client.rest.user.userid("foobar").delete().get(10, TimeUnit.SECONDS);
+            assertEquals("Fast delete", response.getBody());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1500);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        } finally {
+            client.close();
+        }
+    }
+
+    private static void stubFlakyDelete(int status) {
+        stubFor(
+                delete(urlEqualTo("/rest/user/foobar"))
+                        .inScenario("flaky")
+                        .whenScenarioStateIs(Scenario.STARTED)
+                        .willSetStateTo("recovered")
+                        .willReturn(aResponse().withStatus(status))
+        );
+        stubFor(
+                delete(urlEqualTo("/rest/user/foobar"))
+                        .inScenario("flaky")
+                        .whenScenarioStateIs("recovered")
+                        .willReturn(
+                                aResponse()
+                                        .withBody("Delete OK")
+                                        .withStatus(200)
+                        )
+        );
+    }
+
+    private static RamlTestClient client(RetryPolicy policy, RetryBudget budget) {
+        ClientConfig config = new ClientConfig();
+        config.setRequestCharset(Charset.forName("UTF-8"));
+        RetryingClientFactory factory = new RetryingClientFactory(policy, budget, endpointNamer);
+        return new RamlTestClient(host, port, "http", null, config, new HashMap<>(), factory);
+    }
+
+}
@@ -0,0 +1,106 @@
+package io.atomicbits.scraml.download;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.ning.http.client.AsyncHttpClient;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.Assert.*;
+
+public class ChannelDownloaderTest {
+
+    private static int port = 8283;
+    private static String host = "localhost";
+    private static WireMockServer wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().port(port));
+    private static AsyncHttpClient httpClient;
+
+    @BeforeClass
+    public static void setUpClass() {
+        wireMockServer.start();
+        WireMock.configureFor(host, port);
+        httpClient = new AsyncHttpClient();
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        httpClient.close();
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void downloadToFile() throws IOException {
+
+        stubFor(
+                get(urlEqualTo("/rest/animals/datafile/download"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody(binaryData())
+                                        .withStatus(200)
+                        )
+        );
+
+        Path target = Files.createTempFile("download", ".bin");
+        try {
+            Response<Long> response =
+                    new ChannelDownloader(httpClient)
+                            .download("http://" + host + ":" + port + "/rest/animals/datafile/download", target)
+                            .get(10, TimeUnit.SECONDS);
+            assertEquals(200, response.getStatus());
+            assertEquals(Long.valueOf(binaryData().length), response.getBody());
+            assertArrayEquals(binaryData(), Files.readAllBytes(target));
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        } finally {
+            Files.delete(target);
+        }
+    }
+
+    @Test
+    public void errorBodyIsNotWrittenToTheTarget() throws IOException {
+
+        stubFor(
+                get(urlEqualTo("/rest/animals/datafile/missing"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("Not here")
+                                        .withStatus(404)
+                        )
+        );
+
+        Path target = Files.createTempFile("download", ".bin");
+        try {
+            Response<Long> response =
+                    new ChannelDownloader(httpClient)
+                            .download("http://" + host + ":" + port + "/rest/animals/datafile/missing", target)
+                            .get(10, TimeUnit.SECONDS);
+            assertEquals(404, response.getStatus());
+            assertEquals("Not here", response.getStringBody());
+            assertEquals(0L, Files.size(target));
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        } finally {
+            Files.delete(target);
+        }
+    }
+
+    private byte[] binaryData() {
+        byte[] data = new byte[1024];
+        for (int i = 0; i < 1024; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+
+}
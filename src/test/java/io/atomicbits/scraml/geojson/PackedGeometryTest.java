@@ -0,0 +1,134 @@
+package io.atomicbits.scraml.geojson;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import io.atomicbits.raml10.dsl.javajackson.json.Json;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class PackedGeometryTest {
+
+    private ObjectMapper objectMapper = Json.getObjectMapper();
+
+    @Test
+    public void point() throws IOException {
+        PackedGeometry point = roundTrip("{\"type\":\"Point\",\"coordinates\":[4.4,51.2]}");
+        assertEquals(1, point.getCoordinates().getDepth());
+        assertEquals(2, point.getCoordinates().getDimension());
+        assertEquals(51.2, point.getCoordinates().getValue(0, 1), 0.0);
+    }
+
+    @Test
+    public void polygonWithAHole() throws IOException {
+        PackedGeometry polygon =
+                roundTrip("{\"type\":\"Polygon\",\"coordinates\":[" +
+                        "[[0.0,0.0],[1.0,0.0],[1.0,1.0],[0.0,0.0]]," +
+                        "[[0.2,0.2],[0.3,0.2],[0.2,0.2]]]," +
+                        "\"bbox\":[0.0,0.0,1.0,1.0]}");
+        PackedCoordinates coordinates = polygon.getCoordinates();
+        assertEquals(2, coordinates.getRingCount());
+        assertEquals(7, coordinates.getPositionCount());
+        assertArrayEquals(new int[]{0, 4, 7}, coordinates.getRingOffsets());
+        assertArrayEquals(new double[]{0.0, 0.0, 1.0, 1.0}, polygon.getBbox(), 0.0);
+    }
+
+    @Test
+    public void multiPolygon() throws IOException {
+        PackedGeometry multiPolygon =
+                roundTrip("{\"type\":\"MultiPolygon\",\"coordinates\":[" +
+                        "[[[0.0,0.0,10.0],[1.0,0.0,10.0],[0.0,0.0,10.0]]]," +
+                        "[[[5.0,5.0,0.0],[6.0,5.0,0.0],[5.0,5.0,0.0]],[[5.1,5.1,0.0],[5.2,5.1,0.0],[5.1,5.1,0.0]]]]}");
+        PackedCoordinates coordinates = multiPolygon.getCoordinates();
+        assertEquals(3, coordinates.getDimension());
+        assertEquals(2, coordinates.getPartCount());
+        assertArrayEquals(new int[]{0, 1, 3}, coordinates.getPartOffsets());
+        assertArrayEquals(new int[]{0, 3, 6, 9}, coordinates.getRingOffsets());
+    }
+
+    @Test
+    public void emptyCoordinates() throws IOException {
+        PackedGeometry polygon = roundTrip("{\"type\":\"Polygon\",\"coordinates\":[]}");
+        assertEquals(0, polygon.getCoordinates().getPositionCount());
+    }
+
+    @Test
+    public void multiPolygonWithEmptyPolygons() throws IOException {
+        PackedGeometry multiPolygon =
+                roundTrip("{\"type\":\"MultiPolygon\",\"coordinates\":[[]," +
+                        "[[[0.0,0.0],[1.0,0.0],[0.0,0.0]]],[]," +
+                        "[[[5.0,5.0],[6.0,5.0],[5.0,5.0]]]]}");
+        PackedCoordinates coordinates = multiPolygon.getCoordinates();
+        assertEquals(4, coordinates.getDepth());
+        assertEquals(4, coordinates.getPartCount());
+        assertArrayEquals(new int[]{0, 0, 1, 1, 2}, coordinates.getPartOffsets());
+        assertArrayEquals(new int[]{0, 3, 6}, coordinates.getRingOffsets());
+    }
+
+    @Test
+    public void polygonWithAnEmptyRing() throws IOException {
+        PackedGeometry polygon = roundTrip("{\"type\":\"Polygon\",\"coordinates\":[[],[[0.0,0.0],[1.0,0.0],[0.0,0.0]],[]]}");
+        assertArrayEquals(new int[]{0, 0, 3, 3}, polygon.getCoordinates().getRingOffsets());
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void emptyPositions() throws IOException {
+        objectMapper.readValue("{\"type\":\"LineString\",\"coordinates\":[[1.0,2.0],[]]}", PackedGeometry.class);
+    }
+
+    @Test
+    public void unknownMembersFollowTheMapperSetting() throws IOException {
+        String json = "{\"type\":\"Point\",\"coordinates\":[4.4,51.2],\"unknown\":{\"nested\":[1]}}";
+        ObjectMapper lenient = objectMapper.copy().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        assertEquals(51.2, lenient.readValue(json, PackedGeometry.class).getCoordinates().getValue(0, 1), 0.0);
+        ObjectMapper strict = objectMapper.copy().enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        try {
+            strict.readValue(json, PackedGeometry.class);
+            fail("Expected the unknown member to be rejected");
+        } catch (UnrecognizedPropertyException e) {
+            assertEquals("unknown", e.getPropertyName());
+        }
+    }
+
+    @Test
+    public void geometryCollection() throws IOException {
+        PackedGeometry collection =
+                roundTrip("{\"type\":\"GeometryCollection\",\"geometries\":[" +
+                        "{\"type\":\"Point\",\"coordinates\":[1.0,2.0]}," +
+                        "{\"type\":\"LineString\",\"coordinates\":[[1.0,2.0],[3.0,4.0]]}]," +
+                        "\"crs\":{\"type\":\"name\",\"properties\":{\"name\":\"EPSG:4326\"}}}");
+        assertEquals(2, collection.getGeometries().size());
+        assertEquals("EPSG:4326", collection.getCrs().get("properties").get("name").asText());
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void coordinatesNestedTooShallowForTheType() throws IOException {
+        objectMapper.readValue("{\"type\":\"Polygon\",\"coordinates\":[[1.0,2.0],[3.0,4.0]]}", PackedGeometry.class);
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void positionsOfDifferentDimensions() throws IOException {
+        objectMapper.readValue("{\"type\":\"LineString\",\"coordinates\":[[1.0,2.0],[3.0,4.0,5.0]]}", PackedGeometry.class);
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void coordinatesNestedTooDeep() throws IOException {
+        StringBuilder nested = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            nested.append('[');
+        }
+        objectMapper.readValue("{\"type\":\"MultiPolygon\",\"coordinates\":" + nested + "}", PackedGeometry.class);
+    }
+
+    private PackedGeometry roundTrip(String json) throws IOException {
+        PackedGeometry geometry = objectMapper.readValue(json, PackedGeometry.class);
+        assertEquals(json, objectMapper.writeValueAsString(geometry));
+        return geometry;
+    }
+
+}
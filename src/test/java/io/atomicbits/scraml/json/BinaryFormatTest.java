@@ -0,0 +1,44 @@
+package io.atomicbits.scraml.json;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BinaryFormatTest {
+
+    private static final String INTEGERS = "java.util.List<java.lang.Integer>";
+
+    @Test
+    public void mediaTypes() {
+        assertEquals("application/x-jackson-smile", BinaryFormat.SMILE.mediaTypeFor("application/json"));
+        assertEquals("application/vnd-v1.0+smile", BinaryFormat.SMILE.mediaTypeFor("application/vnd-v1.0+json"));
+        assertEquals("application/vnd-v0.1+cbor", BinaryFormat.CBOR.mediaTypeFor("application/vnd-v0.1+json; charset=UTF-8"));
+        assertNull(BinaryFormat.CBOR.mediaTypeFor("text/plain"));
+
+        assertSame(BinaryFormat.SMILE, BinaryFormat.of("application/x-jackson-smile"));
+        assertSame(BinaryFormat.SMILE, BinaryFormat.of("application/vnd-v1.0+smile"));
+        assertSame(BinaryFormat.CBOR, BinaryFormat.of("Application/CBOR"));
+        assertNull(BinaryFormat.of("application/vnd-v1.0+json"));
+        assertNull(BinaryFormat.of(null));
+
+        assertTrue(BinaryFormat.isJson("application/json; charset=UTF-8"));
+        assertTrue(BinaryFormat.isJson("application/vnd-v1.0+json"));
+        assertFalse(BinaryFormat.isJson("application/x-jackson-smile"));
+    }
+
+    @Test
+    public void roundTrips() throws IOException {
+        for (BinaryFormat format : BinaryFormat.values()) {
+            assertSame(format.reader(INTEGERS), format.reader(INTEGERS));
+            byte[] encoded = format.writer(INTEGERS).writeValueAsBytes(Arrays.asList(1, 2, 3));
+            assertNotEquals('[', encoded[0]);
+            List<Integer> decoded = format.reader(INTEGERS).readValue(encoded);
+            assertEquals(Arrays.asList(1, 2, 3), decoded);
+        }
+    }
+
+}
@@ -0,0 +1,105 @@
+package io.atomicbits.scraml.json;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.atomicbits.raml10.*;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DiscriminatorModuleTest {
+
+    private ObjectMapper objectMapper = DiscriminatorModule.registerOn(ModelModule.beanMapper());
+
+    @Test
+    public void animalsWithTheDiscriminatorAnywhere() throws IOException {
+        List<Animal> animals =
+                objectMapper.readValue(
+                        "[{\"_type\":\"Dog\",\"canBark\":true,\"gender\":\"female\",\"name\":\"Ziva\"}," +
+                                "{\"gender\":\"male\",\"name\":\"Duster\",\"_type\":\"Cat\"}," +
+                                "{\"gender\":\"female\",\"_type\":\"Fish\"}]",
+                        new TypeReference<List<Animal>>() {
+                        }
+                );
+        assertEquals(3, animals.size());
+        assertEquals("Ziva", ((Dog) animals.get(0)).getName());
+        assertEquals("Duster", ((Cat) animals.get(1)).getName());
+        assertTrue(animals.get(2) instanceof Fish);
+        assertEquals("female", animals.get(2).getGender());
+    }
+
+    @Test
+    public void geometries() throws IOException {
+        List<Geometry> geometries =
+                objectMapper.readValue(
+                        "[{\"type\": \"Point\", \"coordinates\": [4.4, 51.2]}," +
+                                "{\"coordinates\": [[[4.0, 51.0], [4.1, 51.0], [4.1, 51.1], [4.0, 51.0]]], \"type\": \"Polygon\"}]",
+                        new TypeReference<List<Geometry>>() {
+                        }
+                );
+        assertTrue(geometries.get(0) instanceof Point);
+        assertTrue(geometries.get(1) instanceof Polygon);
+    }
+
+    @Test
+    public void booksDownToTheLeavesOfTheHierarchy() throws IOException {
+        List<Book> books =
+                objectMapper.readValue(
+                        "[{\"kind\": \"Book\", \"author\": {\"firstName\": \"James\", \"lastName\": \"Corey\"}, " +
+                                "\"isbn\":\"978-0-316-12908-4\", \"title\": \"Leviathan Wakes\", \"genre\": \"SciFi\"}, " +
+                                "{\"author\": {\"firstName\": \"Peter\", \"lastName\": \"David\"}, " +
+                                "\"isbn\":\"75960608623800111\", \"title\": \"The Clone Conspiracy\", \"genre\": \"SciFi\", " +
+                                "\"hero\": \"Spiderman\", \"era\": \"1990\", \"villain\": \"Mr. Badguy\", " +
+                                "\"kind\": \"ScienceFictionComicBook\"}]",
+                        new TypeReference<List<Book>>() {
+                        }
+                );
+        assertTrue(books.get(0) instanceof BookImpl);
+        assertTrue(books.get(1) instanceof SciFiComicBook);
+        assertEquals("1990", ((SciFiComicBook) books.get(1)).getEra());
+    }
+
+    @Test
+    public void sameJsonAsTheDefaultPolymorphicHandling() throws IOException {
+        String json = "[{\"gender\":\"male\",\"name\":\"Duster\",\"_type\":\"Cat\"}]";
+        TypeReference<List<Animal>> animalList = new TypeReference<List<Animal>>() {
+        };
+        ObjectMapper beanMapper = ModelModule.beanMapper();
+        List<Animal> viaJackson = beanMapper.readValue(json, animalList);
+        List<Animal> viaDiscriminator = objectMapper.readValue(json, animalList);
+        assertEquals(
+                beanMapper.writerFor(animalList).writeValueAsString(viaJackson),
+                objectMapper.writerFor(animalList).writeValueAsString(viaDiscriminator)
+        );
+    }
+
+    @Test
+    public void rootsWithoutADiscriminatorPropertyKeepTheDefaultHandling() throws IOException {
+        ObjectMapper mapper = ModelModule.beanMapper().registerModule(new DiscriminatorModule(Shape.class, Animal.class));
+        Shape shape = mapper.readValue("{\"square\":{\"side\":2}}", Shape.class);
+        assertEquals(2, ((Square) shape).side);
+        assertTrue(mapper.readValue("{\"gender\":\"female\",\"_type\":\"Fish\"}", Animal.class) instanceof Fish);
+    }
+
+    @Test(expected = IOException.class)
+    public void unknownDiscriminatorValue() throws IOException {
+        objectMapper.readValue("{\"_type\":\"Unicorn\",\"gender\":\"female\"}", Animal.class);
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.WRAPPER_OBJECT)
+    @JsonSubTypes({@JsonSubTypes.Type(value = Square.class, name = "square")})
+    public abstract static class Shape {
+    }
+
+    public static class Square extends Shape {
+
+        public int side;
+
+    }
+
+}
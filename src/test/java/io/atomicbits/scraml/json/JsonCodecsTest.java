@@ -0,0 +1,30 @@
+package io.atomicbits.scraml.json;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class JsonCodecsTest {
+
+    private static final String INTEGERS = "java.util.List<java.lang.Integer>";
+
+    @Test
+    public void readersAreResolvedOnce() throws IOException {
+        assertSame(JsonCodecs.reader(INTEGERS), JsonCodecs.reader(INTEGERS));
+        assertSame(JsonCodecs.reader(String.class), JsonCodecs.reader(String.class));
+        List<Integer> integers = JsonCodecs.reader(INTEGERS).readValue("[1,2,3]");
+        assertEquals(Arrays.asList(1, 2, 3), integers);
+    }
+
+    @Test
+    public void writersAreResolvedOnce() throws IOException {
+        assertSame(JsonCodecs.writer(INTEGERS), JsonCodecs.writer(INTEGERS));
+        assertEquals("[1,2,3]", JsonCodecs.writer(INTEGERS).writeValueAsString(Arrays.asList(1, 2, 3)));
+        assertEquals("\"John\"", JsonCodecs.writer(String.class).writeValueAsString("John"));
+    }
+
+}
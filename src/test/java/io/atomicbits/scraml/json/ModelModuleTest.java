@@ -0,0 +1,113 @@
+package io.atomicbits.scraml.json;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import io.atomicbits.raml10.ManyFields;
+import io.atomicbits.raml10.User;
+import io.atomicbits.raml10.Zoo;
+import io.atomicbits.raml10.dsl.javajackson.json.Json;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * The streaming codecs must produce and accept the same JSON as the bean (de)serializers of the shared mapper.
+ */
+public class ModelModuleTest {
+
+    private ObjectMapper beanMapper = ModelModule.beanMapper();
+    private ObjectMapper streamingMapper = ModelModule.registerOn(ModelModule.beanMapper());
+
+    @Test
+    public void userRoundTrip() throws IOException {
+        assertSameJson(
+                "{\"address\": {\"streetAddress\": \"Mulholland Drive\", \"city\": \"LA\", \"state\": \"California\"}, " +
+                        "\"firstName\":\"John\", " +
+                        "\"lastName\": \"Doë\", " +
+                        "\"age\": 21, " +
+                        "\"birthday\": \"2015-05-23\", " +
+                        "\"homePage\": {\"href\": \"http://foo.bar\", \"method\": \"8Trees\"}, " +
+                        "\"id\": \"1\"," +
+                        "\"other\": {\"text\": \"foobar\"}" +
+                        "}",
+                User.class
+        );
+    }
+
+    @Test
+    public void manyFieldsRoundTrip() throws IOException {
+        StringBuilder json = new StringBuilder("{");
+        for (char field = 'a'; field <= 'z'; field++) {
+            json.append(field == 'a' ? "" : ", ").append("\"").append(field).append("\": \"value ").append(field).append("\"");
+        }
+        assertSameJson(json.append("}").toString(), ManyFields.class);
+    }
+
+    @Test
+    public void zooRoundTrip() throws IOException {
+        assertSameJson(
+                "{" +
+                        "\"name\":\"Planckendael\", " +
+                        "\"animals\": [{\"_type\":\"Dog\",\"canBark\":true,\"gender\":\"female\",\"name\":\"Ziva\"}], " +
+                        "\"lunchtime\": \"12:30:00\", " +
+                        "\"fireworks\": \"2015-07-04T21:00:00\", " +
+                        "\"created\": \"2016-02-28T16:41:41.090Z\", " +
+                        "\"If-Modified-Since\": \"Sun, 28 Feb 2016 16:41:41 GMT\" " +
+                        "}",
+                Zoo.class
+        );
+    }
+
+    @Test
+    public void sharedMapperGetsTheModules() throws IOException {
+        ModelModule.registerShared();
+        ModelModule.registerShared();
+        SerializerProvider provider = Json.getObjectMapper().getSerializerProviderInstance();
+        assertTrue(provider.findValueSerializer(User.class) instanceof UserCodec.Serializer);
+        assertFalse(ModelModule.beanMapper().getSerializerProviderInstance().findValueSerializer(User.class) instanceof UserCodec.Serializer);
+    }
+
+    @Test
+    public void unknownPropertiesFollowTheMapperSetting() throws IOException {
+        beanMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        streamingMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        assertSameJson("{\"firstName\": \"John\", \"unknown\": [1, 2, {\"nested\": true}], \"lastName\": \"Doe\"}", User.class);
+        assertSameJson("{\"name\": \"Planckendael\", \"unknown\": {\"name\": \"nested\"}}", Zoo.class);
+    }
+
+    @Test
+    public void mismatchedValuesAreHandledLikeTheBeanMapper() throws IOException {
+        assertSameJson("{\"firstName\": {\"lastName\": \"Doe\"}}", User.class);
+        assertSameJson("{\"firstName\": [\"John\"]}", User.class);
+        assertSameJson("{\"age\": \"abc\"}", User.class);
+        assertSameJson("{\"age\": \"21\", \"firstName\": 42}", User.class);
+    }
+
+    /**
+     * Both mappers either read the JSON into the same value, or both reject it.
+     */
+    private <T> void assertSameJson(String json, Class<T> type) throws IOException {
+        T viaBeans;
+        try {
+            viaBeans = beanMapper.readValue(json, type);
+        } catch (JsonMappingException e) {
+            try {
+                streamingMapper.readValue(json, type);
+                fail("Expected the streaming codec to reject " + json + " like the bean mapper: " + e.getMessage());
+            } catch (JsonMappingException expected) {
+                // both reject it
+            }
+            return;
+        }
+        T viaStreaming = streamingMapper.readValue(json, type);
+        JsonNode expected = beanMapper.readTree(beanMapper.writeValueAsString(viaBeans));
+        assertEquals(expected, streamingMapper.readTree(streamingMapper.writeValueAsString(viaStreaming)));
+        assertEquals(expected, beanMapper.readTree(streamingMapper.writeValueAsString(viaBeans)));
+    }
+
+}
@@ -0,0 +1,120 @@
+package io.atomicbits.scraml.json;
+
+import org.junit.Test;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import static org.junit.Assert.*;
+
+public class RamlDatesTest {
+
+    private static final String[] TIMES = {"12:30:00", "00:00:01.5", "23:59:59.09", "08:15:00.000000001", "10:00:00.123456789"};
+
+    @Test
+    public void datesMatchTheIsoFormatter() {
+        for (LocalDate date = LocalDate.of(1999, 12, 1); date.getYear() < 2001; date = date.plusDays(7)) {
+            String formatted = RamlDates.formatDate(date);
+            assertEquals(DateTimeFormatter.ISO_LOCAL_DATE.format(date), formatted);
+            assertEquals(date, RamlDates.parseDate(formatted));
+        }
+        LocalDate farAway = LocalDate.of(12345, 1, 1);
+        assertEquals(farAway, RamlDates.parseDate(RamlDates.formatDate(farAway)));
+    }
+
+    @Test
+    public void timesMatchTheIsoFormatter() {
+        for (String text : TIMES) {
+            LocalTime time = LocalTime.parse(text);
+            assertEquals(time, RamlDates.parseTime(text));
+            assertEquals(DateTimeFormatter.ISO_LOCAL_TIME.format(time), RamlDates.formatTime(time));
+        }
+        assertEquals(LocalTime.of(12, 30), RamlDates.parseTime("12:30"));
+    }
+
+    @Test
+    public void dateTimesMatchTheIsoFormatter() {
+        LocalDateTime fireworks = LocalDateTime.of(2015, 7, 4, 21, 0);
+        assertEquals("2015-07-04T21:00:00", RamlDates.formatDateTime(fireworks));
+        assertEquals(fireworks, RamlDates.parseDateTime("2015-07-04T21:00:00"));
+
+        OffsetDateTime created = OffsetDateTime.of(2016, 2, 28, 16, 41, 41, 90_000_000, ZoneOffset.UTC);
+        assertEquals("2016-02-28T16:41:41.09Z", RamlDates.formatRfc3339(created));
+        assertEquals(created, RamlDates.parseRfc3339("2016-02-28T16:41:41.090Z"));
+
+        for (String offset : new String[]{"+02:00", "-05:30", "+00:00:30"}) {
+            OffsetDateTime dateTime = created.withOffsetSameLocal(ZoneOffset.of(offset));
+            String formatted = RamlDates.formatRfc3339(dateTime);
+            assertEquals(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(dateTime), formatted);
+            assertEquals(dateTime, RamlDates.parseRfc3339(formatted));
+        }
+    }
+
+    @Test
+    public void rfc2616DatesAreWrittenInGmt() {
+        OffsetDateTime modified = OffsetDateTime.of(2016, 2, 28, 16, 41, 41, 0, ZoneOffset.UTC);
+        assertEquals("Sun, 28 Feb 2016 16:41:41 GMT", RamlDates.formatRfc2616(modified));
+        assertEquals("Sun, 28 Feb 2016 16:41:41 GMT",
+                RamlDates.formatRfc2616(modified.withOffsetSameInstant(ZoneOffset.ofHours(-8))));
+        assertEquals(modified, RamlDates.parseRfc2616("Sun, 28 Feb 2016 16:41:41 GMT"));
+        assertEquals(modified.minusDays(21), RamlDates.parseRfc2616("Sun, 7 Feb 2016 16:41:41 GMT"));
+
+        for (LocalDate date = LocalDate.of(2016, 1, 1); date.getYear() < 2017; date = date.plusDays(3)) {
+            OffsetDateTime dateTime = date.atTime(9, 5, 3).atOffset(ZoneOffset.UTC);
+            String formatted = RamlDates.formatRfc2616(dateTime);
+            assertEquals(dateTime, OffsetDateTime.parse(formatted, DateTimeFormatter.RFC_1123_DATE_TIME));
+            assertEquals(dateTime, RamlDates.parseRfc2616(formatted));
+        }
+    }
+
+    @Test
+    public void parsesFromASliceOfABuffer() {
+        char[] chars = "[\"2015-05-23\",\"12:30:00\"]".toCharArray();
+        assertEquals(LocalDate.of(2015, 5, 23), RamlDates.parseDate(chars, 2, 10));
+        assertEquals(LocalTime.of(12, 30), RamlDates.parseTime(chars, 15, 8));
+    }
+
+    @Test
+    public void invalidInputIsRejected() {
+        String[] dates = {"2015-02-30", "2015-5-23", "2015-05-23x", ""};
+        for (String date : dates) {
+            try {
+                RamlDates.parseDate(date);
+                fail("Expected '" + date + "' to be rejected");
+            } catch (DateTimeException e) {
+                // expected
+            }
+        }
+        String[] times = {"25:00:00", "12h00", ""};
+        for (String time : times) {
+            try {
+                RamlDates.parseTime(time);
+                fail("Expected '" + time + "' to be rejected");
+            } catch (DateTimeException e) {
+                // expected
+            }
+        }
+        String[] dateTimes = {"2015-05-23T", "2015-05-23 12:00:00", ""};
+        for (String dateTime : dateTimes) {
+            try {
+                RamlDates.parseDateTime(dateTime);
+                fail("Expected '" + dateTime + "' to be rejected");
+            } catch (DateTimeException e) {
+                // expected
+            }
+        }
+        try {
+            RamlDates.parseRfc2616("Mon, 28 Feb 2016 16:41:41 GMT");
+            fail("Expected a wrong day of the week to be rejected");
+        } catch (DateTimeParseException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,162 @@
+package io.atomicbits.scraml.stream;
+
+import io.atomicbits.raml10.Animal;
+import io.atomicbits.raml10.Dog;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class FlowPublishersTest {
+
+    private static final String DOG = "{\"_type\":\"Dog\",\"canBark\":true,\"gender\":\"female\",\"name\":\"Ziva\"}";
+
+    private static ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterClass
+    public static void tearDownClass() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void elementsAreOnlyReadOnDemand() throws InterruptedException {
+        byte[] body = dogs(10000);
+        CountingInputStream input = new CountingInputStream(body);
+        RecordingSubscriber<Animal> subscriber = new RecordingSubscriber<>();
+        FlowPublishers.elements(() -> input, Animal.class, executor).subscribe(subscriber);
+
+        subscriber.subscription.request(2);
+        assertTrue(subscriber.signals.poll(10, TimeUnit.SECONDS) instanceof Dog);
+        assertTrue(subscriber.signals.poll(10, TimeUnit.SECONDS) instanceof Dog);
+        assertNull(subscriber.signals.poll(100, TimeUnit.MILLISECONDS));
+        assertTrue(input.read.get() < body.length / 10);
+
+        subscriber.subscription.cancel();
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!input.closed.get() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(input.closed.get());
+    }
+
+    @Test
+    public void allElementsAndCompletion() throws InterruptedException {
+        RecordingSubscriber<Animal> subscriber = new RecordingSubscriber<>();
+        FlowPublishers.elements(() -> new ByteArrayInputStream(dogs(1000)), Animal.class, executor).subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(subscriber.signals.poll(10, TimeUnit.SECONDS) instanceof Dog);
+        }
+        assertEquals("complete", subscriber.signals.poll(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void byteBuffersInChunks() throws InterruptedException {
+        byte[] body = dogs(100);
+        RecordingSubscriber<ByteBuffer> subscriber = new RecordingSubscriber<>();
+        FlowPublishers.byteBuffers(() -> new ByteArrayInputStream(body), 256, executor).subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        long total = 0;
+        for (Object signal = subscriber.signals.poll(10, TimeUnit.SECONDS);
+             signal instanceof ByteBuffer;
+             signal = subscriber.signals.poll(10, TimeUnit.SECONDS)) {
+            assertTrue(((ByteBuffer) signal).remaining() <= 256);
+            total += ((ByteBuffer) signal).remaining();
+        }
+        assertEquals(body.length, total);
+    }
+
+    @Test
+    public void invalidJsonFailsThePublisher() throws InterruptedException {
+        RecordingSubscriber<Animal> subscriber = new RecordingSubscriber<>();
+        InputStream input = new ByteArrayInputStream("[{\"_type\":".getBytes(StandardCharsets.UTF_8));
+        FlowPublishers.elements(() -> input, Animal.class, executor).subscribe(subscriber);
+        subscriber.subscription.request(1);
+        assertTrue(subscriber.signals.poll(10, TimeUnit.SECONDS) instanceof IOException);
+    }
+
+    @Test
+    public void aNonPositiveRequestFailsThePublisher() throws InterruptedException {
+        RecordingSubscriber<Animal> subscriber = new RecordingSubscriber<>();
+        FlowPublishers.elements(() -> new ByteArrayInputStream(dogs(1)), Animal.class, executor).subscribe(subscriber);
+        subscriber.subscription.request(0);
+        assertTrue(subscriber.signals.poll(10, TimeUnit.SECONDS) instanceof IllegalArgumentException);
+    }
+
+    private static byte[] dogs(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            json.append(i == 0 ? "" : ",").append(DOG);
+        }
+        return json.append("]").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+
+        private final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+        private volatile Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            signals.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            signals.add(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            signals.add("complete");
+        }
+
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private final AtomicLong read = new AtomicLong();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        CountingInputStream(byte[] body) {
+            super(new ByteArrayInputStream(body));
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                read.addAndGet(count);
+            }
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed.set(true);
+            super.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,74 @@
+package io.atomicbits.scraml.stream;
+
+import io.atomicbits.raml10.Animal;
+import io.atomicbits.raml10.Cat;
+import io.atomicbits.raml10.Dog;
+import io.atomicbits.raml10.Fish;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class JsonArraysTest {
+
+    private static final String ANIMALS =
+            "[{\"_type\":\"Dog\",\"canBark\":true,\"gender\":\"female\",\"name\":\"Ziva\"}," +
+                    "{\"gender\":\"male\",\"name\":\"Duster\",\"_type\":\"Cat\"}," +
+                    "{\"_type\":\"Fish\",\"gender\":\"female\"}]";
+
+    @Test
+    public void iterateOverPolymorphicElements() throws IOException {
+        try (JsonArrayIterator<Animal> animals = JsonArrays.iterator(input(ANIMALS), Animal.class)) {
+            assertTrue(animals.hasNext());
+            assertTrue(animals.next() instanceof Dog);
+            Animal cat = animals.next();
+            assertTrue(cat instanceof Cat);
+            assertEquals("Duster", ((Cat) cat).getName());
+            assertTrue(animals.next() instanceof Fish);
+            assertFalse(animals.hasNext());
+        }
+    }
+
+    @Test
+    public void streamElements() throws IOException {
+        try (Stream<Animal> animals = JsonArrays.stream(input(ANIMALS), Animal.class)) {
+            List<String> genders = animals.map(Animal::getGender).collect(Collectors.toList());
+            assertEquals(3, genders.size());
+            assertEquals("male", genders.get(1));
+        }
+    }
+
+    @Test
+    public void forEachElement() throws IOException {
+        List<Animal> received = new ArrayList<>();
+        assertEquals(3, JsonArrays.forEach(input(ANIMALS), Animal.class, received::add));
+        assertEquals(3, received.size());
+        assertEquals(0, JsonArrays.forEach(input("[]"), Animal.class, received::add));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectNonArrayBody() throws IOException {
+        JsonArrays.iterator(input("{\"_type\":\"Fish\",\"gender\":\"female\"}"), Animal.class);
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void failOnTruncatedArray() throws IOException {
+        JsonArrayIterator<Animal> animals = JsonArrays.iterator(input("[{\"_type\":\"Fish\",\"gender\":\"female\"},"), Animal.class);
+        animals.next();
+        animals.hasNext();
+    }
+
+    private InputStream input(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,195 @@
+package io.atomicbits.scraml.upload;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.ning.http.client.AsyncHttpClient;
+import com.ning.http.client.Body;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.scraml.stream.FlowPublishers;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.Assert.*;
+
+public class ChannelUploaderTest {
+
+    private static int port = 8284;
+    private static String host = "localhost";
+    private static WireMockServer wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().port(port));
+    private static AsyncHttpClient httpClient;
+
+    @BeforeClass
+    public static void setUpClass() {
+        wireMockServer.start();
+        WireMock.configureFor(host, port);
+        httpClient = new AsyncHttpClient();
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        httpClient.close();
+        wireMockServer.stop();
+    }
+
+    @Before
+    public void setUp() {
+        WireMock.reset();
+    }
+
+    @Test
+    public void chunkedChannelUpload() throws UnsupportedEncodingException {
+
+        stubFor(
+                post(urlEqualTo("/rest/animals/datafile/upload"))
+                        .withHeader("Content-Type", equalTo("application/octet-stream"))
+                        .withRequestBody(equalTo(new String(binaryData(), "UTF-8")))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("{\"received\":\"OK\"}")
+                                        .withStatus(200)
+                        )
+        );
+
+        try {
+            Response<String> response =
+                    new ChannelUploader(httpClient)
+                            .upload(
+                                    "http://" + host + ":" + port + "/rest/animals/datafile/upload",
+                                    new ByteArrayInputStream(binaryData()),
+                                    100
+                            )
+                            .get(10, TimeUnit.SECONDS);
+            assertEquals(200, response.getStatus());
+            assertEquals("{\"received\":\"OK\"}", response.getBody());
+            verify(postRequestedFor(urlEqualTo("/rest/animals/datafile/upload"))
+                    .withHeader("Transfer-Encoding", equalTo("chunked")));
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void chunkedPublisherUpload() throws UnsupportedEncodingException {
+
+        stubFor(
+                post(urlEqualTo("/rest/animals/datafile/upload"))
+                        .withHeader("Content-Type", equalTo("application/octet-stream"))
+                        .withRequestBody(equalTo(new String(binaryData(), "UTF-8")))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("{\"received\":\"OK\"}")
+                                        .withStatus(200)
+                        )
+        );
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            Response<String> response =
+                    new ChannelUploader(httpClient)
+                            .upload(
+                                    "http://" + host + ":" + port + "/rest/animals/datafile/upload",
+                                    FlowPublishers.byteBuffers(() -> new ByteArrayInputStream(binaryData()), 100, executor)
+                            )
+                            .get(10, TimeUnit.SECONDS);
+            assertEquals(200, response.getStatus());
+            verify(postRequestedFor(urlEqualTo("/rest/animals/datafile/upload"))
+                    .withHeader("Transfer-Encoding", equalTo("chunked")));
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void failingPublisherFailsTheUpload() throws InterruptedException, TimeoutException {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            new ChannelUploader(httpClient)
+                    .upload(
+                            "http://" + host + ":" + port + "/rest/animals/datafile/upload",
+                            FlowPublishers.byteBuffers(() -> {
+                                throw new IOException("The data file is gone");
+                            }, executor)
+                    )
+                    .get(10, TimeUnit.SECONDS);
+            fail("Expected the upload to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void publishedBuffersAreRequestedAsTheyAreRead() throws IOException {
+        AtomicLong requested = new AtomicLong();
+        List<Flow.Subscriber<? super ByteBuffer>> subscribers = new ArrayList<>();
+        PublisherBodyGenerator generator = new PublisherBodyGenerator(subscriber -> {
+            subscribers.add(subscriber);
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    requested.addAndGet(n);
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        });
+
+        Body body = generator.createBody();
+        assertEquals(PublisherBodyGenerator.PREFETCH, requested.get());
+        subscribers.get(0).onNext(ByteBuffer.wrap(new byte[100]));
+        subscribers.get(0).onNext(ByteBuffer.wrap(new byte[100]));
+        assertEquals(PublisherBodyGenerator.PREFETCH, requested.get());
+
+        assertEquals(100L, body.read(ByteBuffer.allocate(8192)));
+        assertEquals(PublisherBodyGenerator.PREFETCH + 1, requested.get());
+        assertEquals(100L, body.read(ByteBuffer.allocate(8192)));
+        assertEquals(0L, body.read(ByteBuffer.allocate(8192)));
+        assertEquals(PublisherBodyGenerator.PREFETCH + 2, requested.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectNonBlockingChannels() throws IOException {
+        Pipe.SourceChannel source = Pipe.open().source();
+        source.configureBlocking(false);
+        new ChannelBodyGenerator(source);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectEmptyChunks() {
+        new ChannelBodyGenerator(Channels.newChannel(new ByteArrayInputStream(binaryData())), 0);
+    }
+
+    private byte[] binaryData() {
+        byte[] data = new byte[1024];
+        for (int i = 0; i < 1024; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+
+}
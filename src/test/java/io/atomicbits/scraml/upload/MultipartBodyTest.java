@@ -0,0 +1,134 @@
+package io.atomicbits.scraml.upload;
+
+import io.atomicbits.raml10.dsl.javajackson.BodyPart;
+import io.atomicbits.raml10.dsl.javajackson.StringPart;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MultipartBodyTest {
+
+    @Test
+    public void contentLengthIsKnownBeforeReading() throws IOException {
+        Path file = dataFile(10000);
+        MultipartBody multipart = MultipartBody.of(parts(file));
+
+        byte[] read = readFully(multipart.open());
+        assertEquals(multipart.getContentLength(), read.length);
+
+        String body = new String(read, StandardCharsets.ISO_8859_1);
+        String boundary = multipart.getBoundary();
+        assertTrue(body.startsWith("--" + boundary + "\r\n" +
+                "Content-Disposition: form-data; name=\"attachment\"; filename=\"" + file.getFileName() + "\"\r\n" +
+                "Content-Type: application/octet-stream\r\n\r\n"));
+        assertTrue(body.contains("\r\n--" + boundary + "\r\n" +
+                "Content-Disposition: form-data; name=\"note\"\r\n" +
+                "Content-Type: text/plain\r\n\r\nstreamed note"));
+        assertTrue(body.endsWith("\r\n--" + boundary + "--\r\n"));
+        assertEquals("multipart/form-data; boundary=" + boundary, multipart.getContentType());
+    }
+
+    @Test
+    public void transferWritesTheSameBytesAsRead() throws IOException {
+        MultipartBody multipart = MultipartBody.of(parts(dataFile(100000)));
+
+        ByteArrayOutputStream transferred = new ByteArrayOutputStream();
+        try (MultipartChannel channel = multipart.open()) {
+            channel.transferTo(Channels.newChannel(transferred));
+            assertEquals(multipart.getContentLength(), channel.position());
+        }
+        assertArrayEquals(readFully(multipart.open()), transferred.toByteArray());
+    }
+
+    @Test
+    public void unknownSizesMakeTheLengthUnknown() throws IOException {
+        List<BodyPart> parts = Collections.singletonList(
+                new ChannelStreamPart("note", null, null, -1, () -> Channels.newChannel(new ByteArrayInputStream(new byte[10])))
+        );
+        MultipartBody multipart = MultipartBody.of(parts);
+        assertEquals(-1L, multipart.getContentLength());
+        assertTrue(readFully(multipart.open()).length > 10);
+    }
+
+    @Test(expected = IOException.class)
+    public void partsMustProduceTheirDeclaredSize() throws IOException {
+        List<BodyPart> parts = Collections.singletonList(
+                new ChannelStreamPart("note", null, null, 20, () -> Channels.newChannel(new ByteArrayInputStream(new byte[10])))
+        );
+        readFully(MultipartBody.of(parts).open());
+    }
+
+    @Test(expected = IOException.class)
+    public void partsMustNotExceedTheirDeclaredSize() throws IOException {
+        List<BodyPart> parts = Collections.singletonList(
+                new ChannelStreamPart("note", null, null, 10, () -> Channels.newChannel(new ByteArrayInputStream(new byte[20])))
+        );
+        readFully(MultipartBody.of(parts).open());
+    }
+
+    @Test(expected = IOException.class)
+    public void filesMustNotGrowBeyondTheirDeclaredSize() throws IOException {
+        Path file = dataFile(1000);
+        MultipartBody multipart = MultipartBody.of(Collections.singletonList(new FileStreamPart("attachment", file, null)));
+        Files.write(file, new byte[2000]);
+        try (MultipartChannel channel = multipart.open()) {
+            channel.transferTo(Channels.newChannel(new ByteArrayOutputStream()));
+        }
+    }
+
+    @Test
+    public void generatedPartsAreStreamedWithTheirSize() throws IOException {
+        MultipartBody multipart = MultipartBody.of(Collections.singletonList(new StringPart("test", "string part value")));
+
+        byte[] read = readFully(multipart.open());
+        assertEquals(multipart.getContentLength(), read.length);
+        assertTrue(new String(read, StandardCharsets.UTF_8).contains(
+                "Content-Disposition: form-data; name=\"test\"\r\n\r\nstring part value\r\n--" + multipart.getBoundary() + "--"));
+    }
+
+    static List<BodyPart> parts(Path file) {
+        byte[] note = "streamed note".getBytes(StandardCharsets.UTF_8);
+        return Arrays.asList(
+                new FileStreamPart("attachment", file, "application/octet-stream"),
+                new ChannelStreamPart("note", null, "text/plain", note.length, () -> Channels.newChannel(new ByteArrayInputStream(note)))
+        );
+    }
+
+    static Path dataFile(int size) throws IOException {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) i;
+        }
+        Path file = Files.createTempFile("multipart", ".bin");
+        file.toFile().deleteOnExit();
+        return Files.write(file, data);
+    }
+
+    private static byte[] readFully(MultipartChannel channel) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(1000);
+        try {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                out.write(buffer.array(), 0, buffer.limit());
+                buffer.clear();
+            }
+        } finally {
+            channel.close();
+        }
+        return out.toByteArray();
+    }
+
+}
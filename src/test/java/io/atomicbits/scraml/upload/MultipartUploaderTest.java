@@ -0,0 +1,124 @@
+package io.atomicbits.scraml.upload;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.ning.http.client.AsyncHttpClient;
+import io.atomicbits.raml10.RamlTestClient;
+import io.atomicbits.raml10.dsl.javajackson.BodyPart;
+import io.atomicbits.raml10.dsl.javajackson.Response;
+import io.atomicbits.raml10.dsl.javajackson.client.ClientConfig;
+import io.atomicbits.scraml.client.jdk.JdkHttpClientFactory;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.Assert.*;
+
+public class MultipartUploaderTest {
+
+    private static int port = 8292;
+    private static String host = "localhost";
+    private static WireMockServer wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().port(port));
+    private static AsyncHttpClient httpClient;
+
+    @BeforeClass
+    public static void setUpClass() {
+        wireMockServer.start();
+        WireMock.configureFor(host, port);
+        httpClient = new AsyncHttpClient();
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        httpClient.close();
+        wireMockServer.stop();
+    }
+
+    @Before
+    public void setUp() {
+        WireMock.reset();
+        stubFor(
+                post(urlEqualTo("/rest/user/upload"))
+                        .withHeader("Content-Type", containing("multipart/form-data; boundary="))
+                        .withRequestBody(containing("Content-Disposition: form-data; name=\"note\""))
+                        .withRequestBody(containing("streamed note"))
+                        .willReturn(
+                                aResponse()
+                                        .withBody("Post OK")
+                                        .withStatus(200)
+                        )
+        );
+    }
+
+    @Test
+    public void streamedMultipartUpload() throws IOException {
+        List<BodyPart> parts = MultipartBodyTest.parts(MultipartBodyTest.dataFile(100000));
+        long contentLength = MultipartBody.of(parts).getContentLength();
+
+        try {
+            Response<String> response =
+                    new MultipartUploader(httpClient)
+                            .upload("http://" + host + ":" + port + "/rest/user/upload", parts)
+                            .get(10, TimeUnit.SECONDS);
+            assertEquals(200, response.getStatus());
+            assertEquals("Post OK", response.getBody());
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        }
+        verify(postRequestedFor(urlEqualTo("/rest/user/upload")).withHeader("Content-Length", equalTo(String.valueOf(contentLength))));
+    }
+
+    @Test
+    public void partsOfUnknownSizeAreUploadedChunked() {
+        byte[] note = "streamed note".getBytes(StandardCharsets.UTF_8);
+        List<BodyPart> parts = Collections.singletonList(
+                new ChannelStreamPart("note", null, "text/plain", -1, () -> Channels.newChannel(new ByteArrayInputStream(note)))
+        );
+
+        try {
+            Response<String> response =
+                    new MultipartUploader(httpClient)
+                            .upload("http://" + host + ":" + port + "/rest/user/upload", parts)
+                            .get(10, TimeUnit.SECONDS);
+            assertEquals(200, response.getStatus());
+            assertEquals("Post OK", response.getBody());
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        }
+        verify(postRequestedFor(urlEqualTo("/rest/user/upload")).withHeader("Transfer-Encoding", equalTo("chunked")));
+    }
+
+    @Test
+    public void streamedMultipartUploadThroughTheGeneratedClient() throws IOException {
+        ClientConfig config = new ClientConfig();
+        config.setRequestCharset(Charset.forName("UTF-8"));
+        RamlTestClient client = new RamlTestClient(host, port, "http", null, config, new HashMap<>(), new JdkHttpClientFactory());
+
+        try {
+            Response<String> response =
+                    client.rest.user.upload.post(MultipartBodyTest.parts(MultipartBodyTest.dataFile(100000))).get(10, TimeUnit.SECONDS);
+            assertEquals(200, response.getStatus());
+            assertEquals("Post OK", response.getBody());
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            fail("Did not expect exception: " + e.getMessage());
+        } finally {
+            client.close();
+        }
+    }
+
+}